@@ -22,6 +22,7 @@ import plus.kat.chain.*;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.UnpooledHeapByteBuf;
 
 import static plus.kat.flow.Stream.*;
@@ -169,6 +170,43 @@ public final class ByteBufStream extends UnpooledHeapByteBuf {
         }
     }
 
+    /**
+     * Returns a {@link CompositeByteBuf} of the chunks,
+     * whose components are the pages of the chunks without copying
+     *
+     * <pre>{@code
+     *  Chunks chunks = ...
+     *  ByteBuf buffer = ByteBufStream.of(chunks);
+     *  chunks.close();
+     *  // use buffer here
+     *  buffer.release(); // finally, call #release
+     * }</pre>
+     *
+     * @param chunks the specified chunks for reading
+     */
+    @NotNull
+    public static CompositeByteBuf of(
+        @NotNull Chunks chunks
+    ) {
+        int n = chunks.count();
+        Bucket bucket = chunks.clean();
+
+        CompositeByteBuf buffer =
+            ALLOC.compositeHeapBuffer(
+                Math.max(n, 2)
+            );
+        for (int i = 0; i < n; i++) {
+            buffer.addComponent(
+                true, new ByteBufStream(
+                    chunks.page(i), bucket
+                ).writerIndex(
+                    chunks.size(i)
+                )
+            );
+        }
+        return buffer;
+    }
+
     /**
      * Resumes the specified old array to the default bucket
      *
@@ -1,6 +1,7 @@
 package plus.kat.netty.flow;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import org.junit.jupiter.api.Test;
 
 import plus.kat.*;
@@ -114,6 +115,26 @@ public class ByteBufStreamTest {
         }
     }
 
+    @Test
+    public void test_of_Chunks() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        Chunks chunks = new Chunks();
+        for (int i = 0; i < 3; i++) {
+            String text = "kat.plus." + i;
+            chunks.write(
+                text.getBytes(UTF_8), 0, text.length()
+            );
+            sb.append(text);
+        }
+
+        ByteBuf buf = ByteBufStream.of(chunks);
+        chunks.close();
+
+        assertEquals(3, ((CompositeByteBuf) buf).numComponents());
+        assertEquals(sb.toString(), buf.toString(UTF_8));
+        assertTrue(buf.release());
+    }
+
     static class Cache implements Bucket {
 
         boolean status;
@@ -0,0 +1,1004 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.*;
+import javax.tools.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * An annotation processor that generates a concrete spare for each
+ * {@code @Magus} bean at compile time, the generated spare accesses
+ * the properties directly, looks up them by the precomputed hashes
+ * and is registered as a {@code plus.kat.spare.Provider} service, so
+ * that no member of the bean is scanned with reflection at runtime
+ * <p>
+ * A bean that the generated code can't handle as the reflection does,
+ * such as a private property, a constructor with arguments or an agent,
+ * is skipped with a note and is still resolved with the reflection
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+@SupportedAnnotationTypes(
+    MagusProcessor.MAGUS
+)
+public class MagusProcessor extends AbstractProcessor {
+
+    static final String MAGUS = "plus.kat.actor.Magus";
+    static final String MAGIC = "plus.kat.actor.Magic";
+    static final String TRANSIENT = "java.beans.Transient";
+    static final String METADATA = "kotlin.Metadata";
+
+    static final String SERVICE = "META-INF/services/plus.kat.spare.Provider";
+    static final String SUFFIX = "_KatSpare";
+
+    static final long FNV_PRIME = 0x100000001B3L;
+    static final long FNV_BASIS = 0xCBF29CE484222325L;
+
+    private Types types;
+    private Elements elements;
+    private Messager messager;
+
+    private final Set<String> providers = new TreeSet<>();
+    private final List<Element> origins = new ArrayList<>();
+
+    @Override
+    public synchronized void init(
+        ProcessingEnvironment env
+    ) {
+        super.init(env);
+        types = env.getTypeUtils();
+        elements = env.getElementUtils();
+        messager = env.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(
+        Set<? extends TypeElement> annotations,
+        RoundEnvironment round
+    ) {
+        if (round.processingOver()) {
+            if (!providers.isEmpty()) {
+                service();
+            }
+            return false;
+        }
+
+        TypeElement magus = elements.getTypeElement(MAGUS);
+        if (magus == null) {
+            return false;
+        }
+
+        for (Element e : round.getElementsAnnotatedWith(magus)) {
+            if (e.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement type = (TypeElement) e;
+            try {
+                Bean bean = new Bean(type);
+                bean.resolve();
+                generate(bean);
+            } catch (Skip s) {
+                messager.printMessage(
+                    Diagnostic.Kind.NOTE, "Resolve " + type.getQualifiedName()
+                        + " with reflection, because " + s.getMessage(), type
+                );
+            } catch (IOException x) {
+                messager.printMessage(
+                    Diagnostic.Kind.ERROR, "Failed to generate the spare of "
+                        + type.getQualifiedName() + ": " + x, type
+                );
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the service file of the generated providers,
+     * keeps the ones of the previous compilation still present
+     */
+    private void service() {
+        Filer filer = processingEnv.getFiler();
+        Set<String> all = new TreeSet<>(providers);
+        try {
+            FileObject old = filer.getResource(
+                StandardLocation.CLASS_OUTPUT, "", SERVICE
+            );
+            try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(
+                    old.openInputStream(), StandardCharsets.UTF_8
+                )
+            )) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && elements.getTypeElement(
+                        line.replace('$', '.')) != null) {
+                        all.add(line);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // No previous service file
+        }
+
+        try {
+            FileObject file = filer.createResource(
+                StandardLocation.CLASS_OUTPUT, "", SERVICE,
+                origins.toArray(new Element[0])
+            );
+            try (Writer writer = new OutputStreamWriter(
+                file.openOutputStream(), StandardCharsets.UTF_8
+            )) {
+                for (String name : all) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(
+                Diagnostic.Kind.ERROR, "Failed to write " + SERVICE + ": " + e
+            );
+        }
+    }
+
+    /**
+     * Writes the source of the spare of the specified bean
+     */
+    private void generate(
+        Bean bean
+    ) throws IOException {
+        TypeElement type = bean.type;
+        String pkg = elements.getPackageOf(type)
+            .getQualifiedName().toString();
+        String binary = elements.getBinaryName(type).toString();
+        String simple = (pkg.isEmpty() ? binary : binary
+            .substring(pkg.length() + 1)).replace('$', '_') + SUFFIX;
+        String qualified = pkg.isEmpty() ? simple : pkg + '.' + simple;
+        String self = type.getQualifiedName().toString();
+
+        StringBuilder sb = new StringBuilder(4096);
+        if (!pkg.isEmpty()) {
+            sb.append("package ").append(pkg).append(";\n\n");
+        }
+
+        sb.append("/**\n * The spare of {@link ").append(self)
+            .append("} generated by the kat-processor\n */\n")
+            .append("@SuppressWarnings(\"all\")\n")
+            .append("public final class ").append(simple)
+            .append(" extends plus.kat.spare.MagusSpare<").append(self).append("> {\n\n");
+
+        for (Slot s : bean.slots) {
+            sb.append("    private final Slot s").append(s.index).append(";\n");
+        }
+
+        sb.append("\n    public ").append(simple).append("(\n")
+            .append("        plus.kat.spare.Context context\n")
+            .append("    ) {\n")
+            .append("        super(\n            ").append(literal(bean.space))
+            .append(", ").append(self).append(".class, context\n        );\n");
+        for (Slot s : bean.slots) {
+            sb.append("        s").append(s.index).append(" = new Slot(\n            ")
+                .append(s.index).append(", ").append(literal(s.name)).append(", ")
+                .append(s.generic).append(", context\n        );\n");
+        }
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n    public ").append(self).append(" apply() {\n")
+            .append("        return new ").append(self).append("();\n    }\n\n");
+
+        table(sb, "setter", bean.setters);
+        table(sb, "getter", bean.getters);
+
+        sb.append("    @Override\n    public void write(\n")
+            .append("        plus.kat.Chan chan,\n        Object value\n")
+            .append("    ) throws java.io.IOException {\n");
+        if (!bean.writers.isEmpty()) {
+            sb.append("        ").append(self).append(" b = (").append(self).append(") value;\n")
+                .append("        if (chan instanceof plus.kat.flow.Stream) {\n");
+            writer(sb, bean.writers, "label");
+            sb.append("        } else {\n");
+            writer(sb, bean.writers, "name");
+            sb.append("        }\n");
+        }
+        sb.append("    }\n\n");
+
+        sb.append("    /**\n     * The members of ").append(self).append("\n     */\n")
+            .append("    static final class Slot extends plus.kat.spare.MagusSpare.Member {\n\n")
+            .append("        Slot(\n            int index, String name,\n")
+            .append("            java.lang.reflect.Type type,\n")
+            .append("            plus.kat.spare.Context context\n")
+            .append("        ) {\n            super(index, name, type, context);\n        }\n\n");
+
+        sb.append("        @Override\n        public Object apply(\n")
+            .append("            Object bean\n        ) {\n")
+            .append("            ").append(self).append(" b = (").append(self).append(") bean;\n")
+            .append("            try {\n                switch (index) {\n");
+        for (Slot s : bean.slots) {
+            if (s.read != null) {
+                sb.append("                    case ").append(s.index)
+                    .append(":\n                        return ").append(s.read).append(";\n");
+            }
+        }
+        sb.append("                }\n            } catch (Throwable e) {\n")
+            .append("                throw new IllegalStateException(\n")
+            .append("                    name + \" call 'invoke' failed\", e\n")
+            .append("                );\n            }\n")
+            .append("            throw new IllegalStateException(\n")
+            .append("                name + \" is not readable\"\n            );\n        }\n\n");
+
+        sb.append("        @Override\n        public boolean accept(\n")
+            .append("            Object bean,\n            Object value\n        ) {\n")
+            .append("            // Not operate when value is null\n")
+            .append("            if (value == null) {\n                return false;\n            }\n")
+            .append("            ").append(self).append(" b = (").append(self).append(") bean;\n")
+            .append("            try {\n                switch (index) {\n");
+        for (Slot s : bean.slots) {
+            if (s.write != null) {
+                sb.append("                    case ").append(s.index).append(":\n")
+                    .append("                        ").append(s.write).append(";\n")
+                    .append("                        return true;\n");
+            }
+        }
+        sb.append("                }\n            } catch (Throwable e) {\n")
+            .append("                throw new IllegalStateException(\n")
+            .append("                    name + \" call 'invoke' failed\", e\n")
+            .append("                );\n            }\n")
+            .append("            throw new IllegalStateException(\n")
+            .append("                name + \" is not writable\"\n            );\n        }\n    }\n\n");
+
+        sb.append("    /**\n     * The provider of ").append(simple).append("\n     */\n")
+            .append("    public static final class Loader implements plus.kat.spare.Provider {\n\n")
+            .append("        @Override\n        public plus.kat.Spare<?> search(\n")
+            .append("            java.lang.reflect.Type type,\n")
+            .append("            plus.kat.chain.Space name,\n")
+            .append("            plus.kat.spare.Context context\n        ) {\n")
+            .append("            if (type == ").append(self).append(".class) {\n")
+            .append("                plus.kat.Spare<?> spare =\n")
+            .append("                    new ").append(simple).append("(context);\n")
+            .append("                context.active(type, spare);\n")
+            .append("                return spare;\n            }\n")
+            .append("            return null;\n        }\n    }\n}\n");
+
+        JavaFileObject file = processingEnv.getFiler()
+            .createSourceFile(qualified, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(sb.toString());
+        }
+
+        origins.add(type);
+        providers.add(qualified + "$Loader");
+    }
+
+    /**
+     * Appends the lookup of the specified table, which switches on
+     * the folded hash and then compares the full hash
+     */
+    private static void table(
+        StringBuilder sb, String kind, Map<Long, Slot> table
+    ) {
+        Map<Integer, List<Long>> cases = new TreeMap<>();
+        for (Long hash : table.keySet()) {
+            cases.computeIfAbsent(
+                (int) (hash ^ hash >>> 32), k -> new ArrayList<>()
+            ).add(hash);
+        }
+
+        sb.append("    @Override\n    protected plus.kat.Subject.Segment ")
+            .append(kind).append("(\n        long hash\n    ) {\n");
+        if (!cases.isEmpty()) {
+            sb.append("        switch ((int) (hash ^ hash >>> 32)) {\n");
+            for (Map.Entry<Integer, List<Long>> e : cases.entrySet()) {
+                sb.append("            case ").append(e.getKey()).append(": {\n");
+                for (Long hash : e.getValue()) {
+                    sb.append("                if (hash == ")
+                        .append(String.format("0x%016XL", hash))
+                        .append(") {\n                    return s")
+                        .append(table.get(hash).index).append(";\n                }\n");
+                }
+                sb.append("                break;\n            }\n");
+            }
+            sb.append("        }\n");
+        }
+        sb.append("        return null;\n    }\n\n");
+    }
+
+    /**
+     * Appends the writing of the specified properties
+     */
+    private static void writer(
+        StringBuilder sb, List<Slot> writers, String key
+    ) {
+        for (Slot s : writers) {
+            String v = s.fetch ? "s" + s.index + ".apply(b)" : s.read;
+            sb.append("            chan.set(\n                s").append(s.index)
+                .append('.').append(key).append(", s").append(s.index)
+                .append(".coder, ").append(v).append("\n            );\n");
+        }
+    }
+
+    /**
+     * Returns the java literal of the specified string
+     */
+    static String literal(
+        String text
+    ) {
+        StringBuilder sb = new StringBuilder(
+            text.length() + 2
+        );
+        sb.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7E) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Returns the FNV-1a hash of the specified name, the same as
+     * the hash of the spares for a name of type {@link String}
+     */
+    static long hash(
+        String name
+    ) {
+        long h = FNV_BASIS;
+        for (int i = 0; i < name.length(); i++) {
+            h = (name.charAt(i) ^ h) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * Returns the annotation of the specified name on the element
+     */
+    static AnnotationMirror mirror(
+        Element element, String name
+    ) {
+        for (AnnotationMirror m : element.getAnnotationMirrors()) {
+            TypeElement t = (TypeElement) m
+                .getAnnotationType().asElement();
+            if (t.getQualifiedName().contentEquals(name)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of the specified member of the annotation
+     */
+    Object value(
+        AnnotationMirror mirror, String member
+    ) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e :
+            elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals(member)) {
+                return e.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the names of the specified magic or magus
+     */
+    String[] names(
+        AnnotationMirror mirror
+    ) {
+        List<?> list = (List<?>) value(mirror, "value");
+        if (list == null) {
+            return new String[0];
+        }
+        String[] names = new String[list.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = (String) ((AnnotationValue) list.get(i)).getValue();
+        }
+        return names;
+    }
+
+    /**
+     * Checks that the specified magic or magus has no agent
+     */
+    void agent(
+        AnnotationMirror mirror, Element element
+    ) throws Skip {
+        if (mirror != null) {
+            Object agent = value(mirror, "agent");
+            if (agent instanceof TypeMirror &&
+                ((TypeMirror) agent).getKind() != TypeKind.VOID) {
+                throw new Skip(
+                    element + " specifies an agent"
+                );
+            }
+        }
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Skip extends Exception {
+        Skip(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Slot {
+        int index;
+        int order;
+        int grade;
+
+        String name;
+        String generic;
+
+        String read;
+        String write;
+        boolean fetch;
+        Slot mate;
+    }
+
+    /**
+     * The model of a bean, which is resolved by the same rules
+     * as the {@code ReflectSpare} resolves the class at runtime
+     *
+     * @author kraity
+     * @since 0.0.6
+     */
+    final class Bean {
+
+        final TypeElement type;
+        final DeclaredType self;
+        final PackageElement pkg;
+
+        String space;
+        int grade;
+        Slot head, tail;
+
+        final List<Slot> slots = new ArrayList<>();
+        final List<Slot> writers = new ArrayList<>();
+        final Map<Long, Slot> setters = new LinkedHashMap<>();
+        final Map<Long, Slot> getters = new LinkedHashMap<>();
+
+        Bean(
+            TypeElement type
+        ) {
+            this.type = type;
+            this.self = (DeclaredType) type.asType();
+            this.pkg = elements.getPackageOf(type);
+        }
+
+        void resolve() throws Skip {
+            Set<Modifier> mods = type.getModifiers();
+            if (mods.contains(Modifier.ABSTRACT)) {
+                throw new Skip("it is abstract");
+            }
+            if (!type.getTypeParameters().isEmpty()) {
+                throw new Skip("it declares type parameters");
+            }
+            if (mirror(type, METADATA) != null) {
+                throw new Skip("it is a kotlin class");
+            }
+
+            for (Element e = type; e instanceof TypeElement;
+                 e = e.getEnclosingElement()) {
+                TypeElement t = (TypeElement) e;
+                switch (t.getNestingKind()) {
+                    case LOCAL:
+                    case ANONYMOUS: {
+                        throw new Skip("it is a local class");
+                    }
+                    case MEMBER: {
+                        if (!t.getModifiers().contains(Modifier.STATIC) &&
+                            t.getKind() == ElementKind.CLASS) {
+                            throw new Skip("it is an inner class");
+                        }
+                    }
+                }
+                if (t.getModifiers().contains(Modifier.PRIVATE)) {
+                    throw new Skip("it is not accessible");
+                }
+            }
+
+            AnnotationMirror magus = mirror(type, MAGUS);
+            agent(magus, type);
+            String[] names = names(magus);
+            space = names.length != 0 ? names[0]
+                : elements.getBinaryName(type).toString();
+
+            boolean loader = false;
+            for (ExecutableElement c : ElementFilter
+                .constructorsIn(type.getEnclosedElements())) {
+                if (!c.getParameters().isEmpty()) {
+                    throw new Skip("it has a constructor with arguments");
+                }
+                if (c.getModifiers().contains(Modifier.PRIVATE)) {
+                    throw new Skip("its constructor is private");
+                }
+                loader = true;
+            }
+            if (!loader) {
+                throw new Skip("it has no constructor");
+            }
+
+            TypeElement klass = type;
+            while (true) {
+                fields(klass);
+                methods(klass);
+                grade++;
+
+                TypeMirror parent = klass.getSuperclass();
+                if (parent.getKind() != TypeKind.DECLARED) {
+                    break;
+                }
+                klass = (TypeElement) ((DeclaredType) parent).asElement();
+                String name = klass.getQualifiedName().toString();
+                if (name.equals("java.lang.Object")) {
+                    break;
+                }
+                if (name.equals("java.lang.reflect.Proxy")) {
+                    throw new Skip("it is a proxy class");
+                }
+            }
+
+            for (Slot s = head; s != null; s = s.mate) {
+                writers.add(s);
+            }
+        }
+
+        void fields(
+            TypeElement klass
+        ) throws Skip {
+            for (VariableElement field : ElementFilter
+                .fieldsIn(klass.getEnclosedElements())) {
+                Set<Modifier> mods = field.getModifiers();
+                if (mods.contains(Modifier.STATIC) ||
+                    mods.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+
+                AnnotationMirror magic = mirror(field, MAGIC);
+                if (magic == null &&
+                    !mods.contains(Modifier.PUBLIC)) {
+                    continue;
+                }
+
+                agent(magic, field);
+                access(field);
+                if (mods.contains(Modifier.FINAL)) {
+                    throw new Skip(field + " is final");
+                }
+
+                String name;
+                String[] more = null;
+
+                int order = -1;
+                if (magic == null) {
+                    name = field.getSimpleName().toString();
+                } else {
+                    more = names(magic);
+                    order = (Integer) value(magic, "index");
+                    name = more.length != 0 ? more[0]
+                        : field.getSimpleName().toString();
+                }
+
+                TypeMirror member = types.asMemberOf(self, field);
+                Slot slot = slot(name, member, field);
+                slot.read = "b." + field.getSimpleName();
+                slot.write = "b." + field.getSimpleName()
+                    + " = " + cast(member) + "value";
+
+                long hash = hash(name);
+                if (setters.containsKey(hash) ||
+                    getters.containsKey(hash)) {
+                    throw new Skip(
+                        "the property<" + name + "> already exists"
+                    );
+                }
+
+                setters.put(hash, slot);
+                show(slot, order);
+                getters.put(hash, slot);
+                if (more != null) {
+                    for (int i = 1; i < more.length; i++) {
+                        if (setters.putIfAbsent(
+                            hash(more[i]), slot) != null) {
+                            throw new Skip(
+                                "the reader<" + more[i] + "> already exists"
+                            );
+                        }
+                    }
+                }
+            }
+        }
+
+        void methods(
+            TypeElement klass
+        ) throws Skip {
+            for (ExecutableElement method : ElementFilter
+                .methodsIn(klass.getEnclosedElements())) {
+                Set<Modifier> mods = method.getModifiers();
+                if (mods.contains(Modifier.STATIC) ||
+                    mods.contains(Modifier.ABSTRACT)) {
+                    continue;
+                }
+
+                AnnotationMirror magic = mirror(method, MAGIC);
+                if (magic == null &&
+                    !mods.contains(Modifier.PUBLIC)) {
+                    continue;
+                }
+
+                AnnotationMirror hidden = mirror(method, TRANSIENT);
+                if (hidden != null &&
+                    Boolean.TRUE.equals(value(hidden, "value"))) {
+                    continue;
+                }
+
+                List<? extends VariableElement> params = method.getParameters();
+                int flag = params.size();
+                if (flag > 1) {
+                    continue;
+                }
+
+                String name;
+                int order = -1;
+                String[] more = null;
+
+                if (magic != null) {
+                    more = names(magic);
+                    order = (Integer) value(magic, "index");
+                }
+
+                if (more != null && more.length != 0) {
+                    name = more[0];
+                } else {
+                    name = property(
+                        method, flag
+                    );
+                    if (name == null) {
+                        continue;
+                    }
+                }
+
+                long hash = hash(name);
+                if (flag == 0 ? getters.containsKey(hash)
+                    : setters.containsKey(hash)) {
+                    continue;
+                }
+
+                agent(magic, method);
+                access(method);
+
+                ExecutableType member = (ExecutableType)
+                    types.asMemberOf(self, method);
+                String call = "b." + method.getSimpleName();
+
+                if (flag == 1) {
+                    TypeMirror arg = member.getParameterTypes().get(0);
+                    Slot slot = slot(name, arg, method);
+                    slot.write = call + "(" + cast(arg) + "value)";
+                    setters.put(hash, slot);
+                    if (more != null) {
+                        for (int i = 1; i < more.length; i++) {
+                            if (setters.putIfAbsent(
+                                hash(more[i]), slot) != null) {
+                                throw new Skip(
+                                    "the reader<" + more[i] + "> already exists"
+                                );
+                            }
+                        }
+                    }
+                } else {
+                    TypeMirror ret = member.getReturnType();
+                    if (ret.getKind() == TypeKind.VOID) {
+                        continue;
+                    }
+                    Slot slot = slot(name, ret, method);
+                    slot.read = call + "()";
+                    slot.fetch = !method.getThrownTypes().isEmpty();
+                    show(slot, order);
+                    getters.put(hash, slot);
+                    if (more != null) {
+                        for (int i = 1; i < more.length; i++) {
+                            if (getters.putIfAbsent(
+                                hash(more[i]), slot) != null) {
+                                throw new Skip(
+                                    "the writer<" + more[i] + "> already exists"
+                                );
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the property name of the specified getter or setter,
+         * or null if the name of the method is not a property
+         */
+        String property(
+            ExecutableElement method, int flag
+        ) {
+            String name = method
+                .getSimpleName().toString();
+            int i = 1, m = name.length();
+            char c1 = name.charAt(0);
+
+            if (c1 == 's') {
+                if (flag == 0 || m < 4 ||
+                    name.charAt(i++) != 'e' ||
+                    name.charAt(i++) != 't') {
+                    return null;
+                }
+            } else if (c1 == 'g') {
+                if (flag != 0 || m < 4 ||
+                    name.charAt(i++) != 'e' ||
+                    name.charAt(i++) != 't') {
+                    return null;
+                }
+            } else if (c1 == 'i') {
+                if (flag != 0 || m < 3 ||
+                    name.charAt(i++) != 's') {
+                    return null;
+                }
+                TypeMirror ret = method.getReturnType();
+                if (ret.getKind() != TypeKind.BOOLEAN &&
+                    !ret.toString().equals("java.lang.Boolean")) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+
+            c1 = name.charAt(i++);
+            if (c1 < 'A' || 'Z' < c1) {
+                return null;
+            }
+
+            if (i == m) {
+                c1 += 0x20;
+            } else {
+                char c2 = name.charAt(i);
+                if (c2 < 'A' || 'Z' < c2) {
+                    c1 += 0x20;
+                }
+            }
+            return c1 + name.substring(i);
+        }
+
+        /**
+         * Checks that the specified member is accessible
+         * from the generated spare in the package of the bean
+         */
+        void access(
+            Element member
+        ) throws Skip {
+            Set<Modifier> mods = member.getModifiers();
+            if (mods.contains(Modifier.PUBLIC)) {
+                return;
+            }
+            if (!mods.contains(Modifier.PRIVATE) &&
+                elements.getPackageOf(member).equals(pkg)) {
+                return;
+            }
+            throw new Skip(
+                member + " is not accessible"
+            );
+        }
+
+        Slot slot(
+            String name, TypeMirror type, Element member
+        ) throws Skip {
+            Slot slot = new Slot();
+            slot.index = slots.size();
+            slot.name = name;
+            slot.grade = grade;
+            slot.generic = generic(type, member);
+            slots.add(slot);
+            return slot;
+        }
+
+        /**
+         * Returns the cast of a value to the specified type
+         */
+        String cast(
+            TypeMirror type
+        ) {
+            if (type.getKind().isPrimitive()) {
+                return "(" + types.boxedClass(
+                    (PrimitiveType) type).getQualifiedName() + ") ";
+            }
+            return "(" + name(type) + ") ";
+        }
+
+        /**
+         * Returns the canonical name of the erasure of the specified type
+         */
+        String name(
+            TypeMirror type
+        ) {
+            switch (type.getKind()) {
+                case ARRAY: {
+                    return name(((ArrayType) type).getComponentType()) + "[]";
+                }
+                case DECLARED: {
+                    return ((TypeElement) ((DeclaredType) type)
+                        .asElement()).getQualifiedName().toString();
+                }
+                case TYPEVAR: {
+                    return name(types.erasure(type));
+                }
+            }
+            if (type.getKind().isPrimitive()) {
+                return types.getPrimitiveType(type.getKind()).toString();
+            }
+            return "Object";
+        }
+
+        /**
+         * Returns the expression of the reflect type of the specified type
+         */
+        String generic(
+            TypeMirror type, Element member
+        ) throws Skip {
+            switch (type.getKind()) {
+                case BOOLEAN:
+                case BYTE:
+                case SHORT:
+                case INT:
+                case LONG:
+                case CHAR:
+                case FLOAT:
+                case DOUBLE:
+                case ARRAY: {
+                    return name(type) + ".class";
+                }
+                case DECLARED: {
+                    DeclaredType d = (DeclaredType) type;
+                    String raw = ((TypeElement) d.asElement())
+                        .getQualifiedName() + ".class";
+                    List<? extends TypeMirror> args = d.getTypeArguments();
+                    if (args.isEmpty()) {
+                        return raw;
+                    }
+                    StringBuilder sb = new StringBuilder(
+                        "generic(" + raw
+                    );
+                    for (TypeMirror arg : args) {
+                        sb.append(", ");
+                        if (arg.getKind() == TypeKind.WILDCARD) {
+                            TypeMirror bound = ((WildcardType) arg).getExtendsBound();
+                            sb.append(bound == null ? "Object.class" : generic(bound, member));
+                        } else {
+                            sb.append(generic(arg, member));
+                        }
+                    }
+                    return sb.append(')').toString();
+                }
+            }
+            throw new Skip(
+                "the type of " + member + " is " + type
+            );
+        }
+
+        /**
+         * Links the specified getter into the writers,
+         * ordered by the index and grade as the reflection
+         */
+        void show(
+            Slot node, int i
+        ) {
+            node.order = i;
+            int g = grade;
+            Slot n = null, m = head;
+
+            if (i == -1 && g == 0) {
+                if (m == null) {
+                    head = node;
+                    tail = node;
+                    return;
+                }
+
+                if (m.order < -1) {
+                    head = node;
+                    tail = node;
+                    node.mate = m;
+                } else {
+                    n = tail;
+                    tail = node;
+                    if (n == null) {
+                        do {
+                            n = m;
+                            m = m.mate;
+                        } while (
+                            m != null
+                        );
+                    } else {
+                        node.mate = n.mate;
+                    }
+                    n.mate = node;
+                }
+            } else {
+                if (m == null) {
+                    head = node;
+                    return;
+                }
+
+                if (i < 0) {
+                    int c;
+                    if (i != -1) {
+                        m = tail;
+                        if (m == null) m = head;
+                    }
+                    do {
+                        if ((c = m.order) < i ||
+                            (c == i && g > m.grade)) {
+                            if (n == null) {
+                                head = node;
+                            } else {
+                                n.mate = node;
+                            }
+                            node.mate = m;
+                            return;
+                        }
+                    } while (
+                        (m = (n = m).mate) != null
+                    );
+                } else {
+                    do {
+                        int c = m.order;
+                        if ((c < 0 || i < c) ||
+                            (c == i && g > m.grade)) {
+                            if (n == null) {
+                                head = node;
+                            } else {
+                                n.mate = node;
+                            }
+                            node.mate = m;
+                            return;
+                        }
+                    } while (
+                        (m = (n = m).mate) != null
+                    );
+                }
+                n.mate = node;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package plus.kat.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.spare.*;
+
+import javax.tools.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.*;
+
+/**
+ * @author kraity
+ */
+public class MagusProcessorTest {
+
+    static final String USER = "package demo;\n" +
+        "import plus.kat.actor.*;\n" +
+        "import java.util.List;\n" +
+        "@Magus(\"User\")\n" +
+        "public class User {\n" +
+        "    @Magic(value = {\"id\", \"uid\"}, index = 0)\n" +
+        "    public int id;\n" +
+        "    public String name;\n" +
+        "    public boolean blocked;\n" +
+        "    private List<String> tags;\n" +
+        "    public List<String> getTags() {\n" +
+        "        return tags;\n" +
+        "    }\n" +
+        "    public void setTags(List<String> tags) {\n" +
+        "        this.tags = tags;\n" +
+        "    }\n" +
+        "}\n";
+
+    static final String SECRET = "package demo;\n" +
+        "import plus.kat.actor.*;\n" +
+        "@Magus\n" +
+        "public class Secret {\n" +
+        "    @Magic(\"key\")\n" +
+        "    private String key;\n" +
+        "}\n";
+
+    static String path(
+        Class<?> klass
+    ) throws Exception {
+        return Paths.get(
+            klass.getProtectionDomain().getCodeSource().getLocation().toURI()
+        ).toString();
+    }
+
+    static JavaFileObject source(
+        String name, String code
+    ) {
+        return new SimpleJavaFileObject(
+            URI.create("string:///demo/" + name + ".java"), JavaFileObject.Kind.SOURCE
+        ) {
+            @Override
+            public CharSequence getCharContent(boolean ignore) {
+                return code;
+            }
+        };
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_generate(
+        @TempDir Path dir
+    ) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter log = new StringWriter();
+        List<String> options = Arrays.asList(
+            "-d", dir.toString(), "-classpath",
+            path(Spare.class) + File.pathSeparator + path(Magus.class)
+        );
+
+        JavaCompiler.CompilationTask task = compiler.getTask(
+            log, null, null, options, null, Arrays.asList(
+                source("User", USER), source("Secret", SECRET)
+            )
+        );
+        task.setProcessors(
+            Collections.singletonList(new MagusProcessor())
+        );
+        assertTrue(task.call(), log.toString());
+
+        assertTrue(Files.exists(dir.resolve("demo/User_KatSpare.class")));
+        assertFalse(Files.exists(dir.resolve("demo/Secret_KatSpare.class")));
+        assertTrue(log.toString().contains("demo.Secret with reflection"));
+        assertEquals(
+            "demo.User_KatSpare$Loader\n", new String(
+                Files.readAllBytes(dir.resolve(
+                    "META-INF/services/plus.kat.spare.Provider"
+                )), UTF_8
+            )
+        );
+
+        try (URLClassLoader loader = new URLClassLoader(
+            new URL[]{dir.toUri().toURL()}, getClass().getClassLoader()
+        )) {
+            Class<Object> user = (Class<Object>) loader.loadClass("demo.User");
+            Provider provider = (Provider) loader.loadClass(
+                "demo.User_KatSpare$Loader"
+            ).getConstructor().newInstance();
+
+            Supplier supplier = new Supplier.Vendor();
+            Spare<Object> spare = (Spare<Object>)
+                provider.search(user, supplier);
+            assertInstanceOf(MagusSpare.class, spare);
+            assertEquals("User", spare.getSpace());
+            assertSame(spare, supplier.assign(user));
+            assertNull(provider.search(String.class, supplier));
+
+            Object bean = spare.read(
+                Flow.of("{uid=1,name=kraity,blocked=true,tags=[a,b]}")
+            );
+            assertNotNull(bean);
+            assertEquals(1, user.getField("id").get(bean));
+            assertEquals("kraity", user.getField("name").get(bean));
+            assertEquals(true, user.getField("blocked").get(bean));
+            assertEquals(Arrays.asList("a", "b"), user.getMethod("getTags").invoke(bean));
+
+            Subject<Object> subject = (Subject<Object>) spare;
+            assertTrue(subject.set("name").accept(bean, "kat"));
+            assertEquals("kat", subject.get("name").apply(bean));
+            assertNull(subject.set("unknown"));
+            assertThrows(
+                IllegalStateException.class,
+                () -> subject.set("id").accept(bean, "kat")
+            );
+
+            Spare<Object> reflect = new ReflectSpare<>(
+                null, user, supplier
+            );
+            try (Chan c1 = spare.write(bean);
+                 Chan c2 = reflect.write(bean)) {
+                assertEquals(c2.toString(), c1.toString());
+            }
+            try (Chan c1 = spare.serial(bean);
+                 Chan c2 = reflect.serial(bean)) {
+                assertEquals(c2.toString(), c1.toString());
+            }
+        }
+    }
+}
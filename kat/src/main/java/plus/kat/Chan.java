@@ -111,6 +111,90 @@ public interface Chan extends Flag, Closeable {
         @Nullable Object value
     ) throws IOException;
 
+    /**
+     * Encodes the specified alias and {@code int} value with
+     * {@link IntSpare#INSTANCE} at the current hierarchy, by default
+     * it boxes the value for {@link #set(Object, Coder, Object)}
+     *
+     * <pre>{@code
+     *  Chan chan = ...
+     *  chan.setInt("id", 1);
+     * }</pre>
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    default boolean setInt(
+        @Nullable Object alias, int value
+    ) throws IOException {
+        return set(
+            alias, IntSpare.INSTANCE, value
+        );
+    }
+
+    /**
+     * Encodes the specified alias and {@code long} value with
+     * {@link LongSpare#INSTANCE} at the current hierarchy, by default
+     * it boxes the value for {@link #set(Object, Coder, Object)}
+     *
+     * <pre>{@code
+     *  Chan chan = ...
+     *  chan.setLong("id", 1L);
+     * }</pre>
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    default boolean setLong(
+        @Nullable Object alias, long value
+    ) throws IOException {
+        return set(
+            alias, LongSpare.INSTANCE, value
+        );
+    }
+
+    /**
+     * Encodes the specified alias and {@code double} value with
+     * {@link DoubleSpare#INSTANCE} at the current hierarchy, by default
+     * it boxes the value for {@link #set(Object, Coder, Object)}
+     *
+     * <pre>{@code
+     *  Chan chan = ...
+     *  chan.setDouble("ratio", 0.5D);
+     * }</pre>
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    default boolean setDouble(
+        @Nullable Object alias, double value
+    ) throws IOException {
+        return set(
+            alias, DoubleSpare.INSTANCE, value
+        );
+    }
+
+    /**
+     * Encodes the specified alias and {@code boolean} value with
+     * {@link BooleanSpare#INSTANCE} at the current hierarchy, by default
+     * it boxes the value for {@link #set(Object, Coder, Object)}
+     *
+     * <pre>{@code
+     *  Chan chan = ...
+     *  chan.setBoolean("flag", true);
+     * }</pre>
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    default boolean setBoolean(
+        @Nullable Object alias, boolean value
+    ) throws IOException {
+        return set(
+            alias, BooleanSpare.INSTANCE, value
+        );
+    }
+
     /**
      * Returns a new serialized
      * binary for this {@link Chan}
@@ -135,6 +219,22 @@ public interface Chan extends Flag, Closeable {
     @NotNull
     String toString();
 
+    /**
+     * Drains the buffered bytes to the sink of this {@link Chan},
+     * nothing will happen if this chan does not have a sink
+     *
+     * <pre>{@code
+     *  Chan chan = ...
+     *  chan.set("id", 1);
+     *  chan.flush();
+     * }</pre>
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    default void flush() throws IOException {
+        // Nothing
+    }
+
     /**
      * Returns the {@link Flux} of chan
      *
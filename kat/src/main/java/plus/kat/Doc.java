@@ -18,6 +18,7 @@ package plus.kat;
 import plus.kat.actor.NotNull;
 import plus.kat.actor.Nullable;
 
+import plus.kat.core.Swar;
 import plus.kat.flow.*;
 import plus.kat.lang.*;
 import plus.kat.spare.*;
@@ -46,6 +47,28 @@ public class Doc extends Stream implements Chan {
         AMP = '&', QUOT = '"',
         APOS = '\'', EQUAL = '=';
 
+    /**
+     * escape tables of ascii
+     */
+    static final byte[]
+        TEXT = new byte[128],
+        MARK = new byte[128];
+
+    static {
+        TEXT['<'] = MARK['<'] = 1;
+        TEXT['>'] = MARK['>'] = 1;
+        TEXT['&'] = MARK['&'] = 1;
+        MARK['"'] = MARK['/'] = 1;
+        MARK[' '] = MARK['='] = 1;
+    }
+
+    /**
+     * sieves of the escape tables
+     */
+    static final long[]
+        TEXTS = Swar.sieve(TEXT),
+        MARKS = Swar.sieve(MARK);
+
     protected Context context;
 
     /**
@@ -97,6 +120,30 @@ public class Doc extends Stream implements Chan {
         }
     }
 
+    /**
+     * Constructs a xml with the flags, specified context and sink,
+     * the buffered bytes will be drained to the sink in segments
+     *
+     * @param flags   the specified flags
+     * @param context the specified context
+     * @param sink    the specified sink
+     * @throws NullPointerException If the context or sink is null
+     */
+    public Doc(
+        @NotNull long flags,
+        @NotNull Context context,
+        @NotNull Sink sink
+    ) {
+        super(flags, sink);
+        if (context != null) {
+            this.context = context;
+        } else {
+            throw new NullPointerException(
+                "Received context is null"
+            );
+        }
+    }
+
     /**
      * Encodes the specified alias
      * and value at the current hierarchy
@@ -144,6 +191,8 @@ public class Doc extends Stream implements Chan {
         @Nullable String space,
         @Nullable Entity value
     ) throws IOException {
+        drain();
+
         if (alias == null) {
             if (space != null) {
                 alias = space;
@@ -171,29 +220,18 @@ public class Doc extends Stream implements Chan {
             }
         }
 
-        join(LT);
-        state = 1;
-        int mark1 = size;
-        if (alias instanceof String) {
-            emit((String) alias);
-        } else if (alias instanceof Binary) {
-            emit((Binary) alias);
-        } else {
-            Spare<?> spare = context.assign(
-                alias.getClass()
+        int mark1 = open(alias);
+        int mark2 = size - mark1 - 1;
+
+        byte[] tag = null;
+        if (sink != null) {
+            // the opening tag may be
+            // drained by the nested values
+            tag = new byte[mark2];
+            System.arraycopy(
+                this.value, mark1, tag, 0, mark2
             );
-            if (spare != null) {
-                spare.write((Flux) this, alias);
-            } else {
-                throw new IOException(
-                    "No spare of " + alias
-                        .getClass() + " was found"
-                );
-            }
         }
-        int mark2 = size - mark1;
-        state = 0;
-        join(GT);
 
         if (value != null) {
             value.accept(this);
@@ -222,9 +260,15 @@ public class Doc extends Stream implements Chan {
         byte[] it = grow(
             size + mark2
         );
-        System.arraycopy(
-            it, mark1, it, size, mark2
-        );
+        if (tag == null) {
+            System.arraycopy(
+                it, mark1, it, size, mark2
+            );
+        } else {
+            System.arraycopy(
+                tag, 0, it, size, mark2
+            );
+        }
         size += mark2;
         join(GT);
         return true;
@@ -243,6 +287,8 @@ public class Doc extends Stream implements Chan {
         @Nullable Coder<?> coder,
         @Nullable Object value
     ) throws IOException {
+        drain();
+
         if (value == null) {
             return set(
                 alias, "Any", null
@@ -301,29 +347,18 @@ public class Doc extends Stream implements Chan {
             }
         }
 
-        join(LT);
-        state = 1;
-        int mark1 = size;
-        if (alias instanceof String) {
-            emit((String) alias);
-        } else if (alias instanceof Binary) {
-            emit((Binary) alias);
-        } else {
-            Spare<?> spare = context.assign(
-                alias.getClass()
+        int mark1 = open(alias);
+        int mark2 = size - mark1 - 1;
+
+        byte[] tag = null;
+        if (sink != null) {
+            // the opening tag may be
+            // drained by the nested values
+            tag = new byte[mark2];
+            System.arraycopy(
+                this.value, mark1, tag, 0, mark2
             );
-            if (spare != null) {
-                spare.write((Flux) this, alias);
-            } else {
-                throw new IOException(
-                    "No spare of " + alias
-                        .getClass() + " was found"
-                );
-            }
         }
-        int mark2 = size - mark1;
-        state = 0;
-        join(GT);
 
         if (scope == null) {
             coder.write(
@@ -356,11 +391,199 @@ public class Doc extends Stream implements Chan {
         byte[] it = grow(
             size + mark2
         );
+        if (tag == null) {
+            System.arraycopy(
+                it, mark1, it, size, mark2
+            );
+        } else {
+            System.arraycopy(
+                tag, 0, it, size, mark2
+            );
+        }
+        size += mark2;
+        join(GT);
+        return true;
+    }
+
+    /**
+     * Writes the opening tag of the specified alias,
+     * and returns the index where the name of the tag begins
+     *
+     * @param alias the specified alias
+     * @throws IOException If an I/O error occurs
+     */
+    protected int open(
+        @NotNull Object alias
+    ) throws IOException {
+        join(LT);
+        state = 1;
+        int mark = size;
+        if (alias instanceof String) {
+            emit((String) alias);
+        } else if (alias instanceof Label) {
+            emit((Label) alias, 1);
+        } else if (alias instanceof Binary) {
+            emit((Binary) alias);
+        } else {
+            Spare<?> spare = context.assign(
+                alias.getClass()
+            );
+            if (spare != null) {
+                spare.write((Flux) this, alias);
+            } else {
+                throw new IOException(
+                    "No spare of " + alias
+                        .getClass() + " was found"
+                );
+            }
+        }
+        state = 0;
+        join(GT);
+        return mark;
+    }
+
+    /**
+     * Writes the indent and the opening tag of a scalar value,
+     * and returns the index where the name of the tag begins,
+     * the alias defaults to the space of the specified coder
+     *
+     * @param alias the specified alias
+     * @param coder the specified coder of the value
+     * @throws IOException If an I/O error occurs
+     */
+    protected int begin(
+        @Nullable Object alias,
+        @NotNull Coder<?> coder
+    ) throws IOException {
+        if (alias == null) {
+            alias = coder.getSpace();
+        }
+
+        int width = depth;
+        if (width > 1) {
+            byte[] it = grow(
+                size + width * 2
+            );
+            it[size++] = '\n';
+            while (--width != 0) {
+                it[size++] = ' ';
+                it[size++] = ' ';
+            }
+        }
+        return open(alias);
+    }
+
+    /**
+     * Writes the closing tag of a scalar value, whose name is
+     * still in the buffer from the specified index and length
+     *
+     * @param mark the specified index of the name
+     * @param len  the specified length of the name
+     */
+    protected void end(
+        int mark, int len
+    ) {
+        join(LT);
+        join(SOL);
+        byte[] it = grow(
+            size + len
+        );
         System.arraycopy(
-            it, mark1, it, size, mark2
+            it, mark, it, size, len
         );
-        size += mark2;
+        size += len;
         join(GT);
+    }
+
+    /**
+     * Encodes the specified alias and {@code int}
+     * value with {@link IntSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setInt(
+        @Nullable Object alias, int value
+    ) throws IOException {
+        drain();
+        int mark = begin(
+            alias, IntSpare.INSTANCE
+        );
+        int len = size - mark - 1;
+        IntSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        end(mark, len);
+        return true;
+    }
+
+    /**
+     * Encodes the specified alias and {@code long}
+     * value with {@link LongSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setLong(
+        @Nullable Object alias, long value
+    ) throws IOException {
+        drain();
+        int mark = begin(
+            alias, LongSpare.INSTANCE
+        );
+        int len = size - mark - 1;
+        LongSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        end(mark, len);
+        return true;
+    }
+
+    /**
+     * Encodes the specified alias and {@code double}
+     * value with {@link DoubleSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setDouble(
+        @Nullable Object alias, double value
+    ) throws IOException {
+        drain();
+        int mark = begin(
+            alias, DoubleSpare.INSTANCE
+        );
+        int len = size - mark - 1;
+        DoubleSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        end(mark, len);
+        return true;
+    }
+
+    /**
+     * Encodes the specified alias and {@code boolean}
+     * value with {@link BooleanSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setBoolean(
+        @Nullable Object alias, boolean value
+    ) throws IOException {
+        drain();
+        int mark = begin(
+            alias, BooleanSpare.INSTANCE
+        );
+        int len = size - mark - 1;
+        BooleanSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        end(mark, len);
         return true;
     }
 
@@ -380,6 +603,22 @@ public class Doc extends Stream implements Chan {
         return context;
     }
 
+    /**
+     * Returns the escape table of the current state
+     */
+    @Override
+    protected byte[] mask() {
+        return state == 0 ? TEXT : MARK;
+    }
+
+    /**
+     * Returns the sieve of the escape table of the current state
+     */
+    @Override
+    protected long[] sieve() {
+        return state == 0 ? TEXTS : MARKS;
+    }
+
     /**
      * Concatenates the value to this flux
      *
@@ -41,6 +41,8 @@ public interface Flag {
 
     long UNICODE = 0x2;
 
+    long EXPONENT_AS_JSON = 0x4;
+
     long ENUM_AS_INDEX = 0x10;
 
     long TIME_AS_DIGIT = 0x20;
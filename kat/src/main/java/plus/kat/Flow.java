@@ -22,6 +22,8 @@ import plus.kat.actor.*;
 import java.io.*;
 import java.nio.*;
 import java.nio.charset.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 /**
  * @author kraity
@@ -415,6 +417,47 @@ public abstract class Flow implements Flag {
         return new InputStreamFlow(text);
     }
 
+    /**
+     * Returns a {@link Flow} of the specified file, which is
+     * mapped into memory and closed when the flow is closed
+     * <p>
+     * For example
+     * <pre>{@code
+     *  Flow flow = Flow.of(
+     *      Paths.get("snapshot.json")
+     *  );
+     * }</pre>
+     *
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the specified path is null
+     */
+    public static Flow of(
+        @NotNull Path text
+    ) throws IOException {
+        return new MappedFileFlow(text);
+    }
+
+    /**
+     * Returns a {@link Flow} of the specified channel from its position,
+     * which is mapped into memory, where calling {@link FileChannel#close()}
+     * has no effect
+     * <p>
+     * For example
+     * <pre>{@code
+     *  try (FileChannel channel = ...) {
+     *     Flow flow = Flow.of(channel);
+     *  }
+     * }</pre>
+     *
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the specified channel is null
+     */
+    public static Flow of(
+        @NotNull FileChannel text
+    ) throws IOException {
+        return new MappedFileFlow(text);
+    }
+
     /**
      * Returns the {@link Flow} of the specified {@link ByteBuffer}
      *
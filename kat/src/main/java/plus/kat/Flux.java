@@ -20,6 +20,8 @@ import plus.kat.actor.*;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 /**
  * @author kraity
@@ -96,6 +98,36 @@ public interface Flux extends Flag, Closeable {
         double value
     ) throws IOException;
 
+    /**
+     * Concatenates the number to this flux
+     *
+     * @param value the specified number value
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the number is null
+     */
+    default void emit(
+        @NotNull BigInteger value
+    ) throws IOException {
+        emit(
+            value.toString()
+        );
+    }
+
+    /**
+     * Concatenates the number to this flux
+     *
+     * @param value the specified number value
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the number is null
+     */
+    default void emit(
+        @NotNull BigDecimal value
+    ) throws IOException {
+        emit(
+            value.toString()
+        );
+    }
+
     /**
      * Concatenates the value to this flux
      *
@@ -97,6 +97,41 @@ public class Json extends Stream implements Chan {
         }
     }
 
+    /**
+     * Constructs a json with the flags, specified context and sink,
+     * the buffered bytes will be drained to the sink in segments
+     *
+     * @param flags   the specified flags
+     * @param context the specified context
+     * @param sink    the specified sink
+     * @throws NullPointerException If the context or sink is null
+     */
+    public Json(
+        @NotNull long flags,
+        @NotNull Context context,
+        @NotNull Sink sink
+    ) {
+        super(flags, sink);
+        if (context != null) {
+            this.head = true;
+            this.context = context;
+        } else {
+            throw new NullPointerException(
+                "Received context is null"
+            );
+        }
+    }
+
+    /**
+     * Resets this json to be reused from the beginning,
+     * keeping its buffer, chunk and context
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        head = true;
+    }
+
     /**
      * Encodes the specified alias
      * and value at the current hierarchy
@@ -144,6 +179,8 @@ public class Json extends Stream implements Chan {
         @Nullable String space,
         @Nullable Entity value
     ) throws IOException {
+        drain();
+
         if (head) {
             head = false;
         } else {
@@ -163,7 +200,20 @@ public class Json extends Stream implements Chan {
             }
         }
 
-        if (alias != null) {
+        if (alias instanceof Label) {
+            Label label = (Label) alias;
+            if (!paste(label, 2)) {
+                int mark = size;
+                join((byte) '"');
+                emit(label.toString());
+                join((byte) '"');
+                join((byte) ':');
+                cache(label, 2, mark);
+            }
+            if (wide != 0) {
+                join((byte) ' ');
+            }
+        } else if (alias != null) {
             join((byte) '"');
             if (alias instanceof String) {
                 emit((String) alias);
@@ -244,6 +294,8 @@ public class Json extends Stream implements Chan {
         @Nullable Coder<?> coder,
         @Nullable Object value
     ) throws IOException {
+        drain();
+
         if (value == null) {
             return set(
                 alias, "Any", null
@@ -276,51 +328,9 @@ public class Json extends Stream implements Chan {
             }
         }
 
-        if (head) {
-            head = false;
-        } else {
-            join((byte) ',');
-        }
+        prefix(alias);
 
         int wide = depth;
-        if (wide > 1) {
-            int iv = wide;
-            byte[] it = grow(
-                size + iv * 2
-            );
-            it[size++] = '\n';
-            while (--iv != 0) {
-                it[size++] = ' ';
-                it[size++] = ' ';
-            }
-        }
-
-        if (alias != null) {
-            join((byte) '"');
-            if (alias instanceof String) {
-                emit((String) alias);
-            } else if (alias instanceof Binary) {
-                emit((Binary) alias);
-            } else {
-                Spare<?> spare = context.assign(
-                    alias.getClass()
-                );
-                if (spare != null) {
-                    spare.write((Flux) this, alias);
-                } else {
-                    throw new IOException(
-                        "No spare of " + alias
-                            .getClass() + " was found"
-                    );
-                }
-            }
-            join((byte) '"');
-            join((byte) ':');
-            if (wide != 0) {
-                join((byte) ' ');
-            }
-        }
-
         Border border =
             coder.getBorder(this);
         if (border == null) {
@@ -390,6 +400,151 @@ public class Json extends Stream implements Chan {
         return true;
     }
 
+    /**
+     * Writes the separator, the indent
+     * and the key before the value is written
+     *
+     * @param alias the specified alias
+     * @throws IOException If an I/O error occurs
+     */
+    protected void prefix(
+        @Nullable Object alias
+    ) throws IOException {
+        if (head) {
+            head = false;
+        } else {
+            join((byte) ',');
+        }
+
+        int wide = depth;
+        if (wide > 1) {
+            int iv = wide;
+            byte[] it = grow(
+                size + iv * 2
+            );
+            it[size++] = '\n';
+            while (--iv != 0) {
+                it[size++] = ' ';
+                it[size++] = ' ';
+            }
+        }
+
+        if (alias instanceof Label) {
+            Label label = (Label) alias;
+            if (!paste(label, 2)) {
+                int mark = size;
+                join((byte) '"');
+                emit(label.toString());
+                join((byte) '"');
+                join((byte) ':');
+                cache(label, 2, mark);
+            }
+            if (wide != 0) {
+                join((byte) ' ');
+            }
+        } else if (alias != null) {
+            join((byte) '"');
+            if (alias instanceof String) {
+                emit((String) alias);
+            } else if (alias instanceof Binary) {
+                emit((Binary) alias);
+            } else {
+                Spare<?> spare = context.assign(
+                    alias.getClass()
+                );
+                if (spare != null) {
+                    spare.write((Flux) this, alias);
+                } else {
+                    throw new IOException(
+                        "No spare of " + alias
+                            .getClass() + " was found"
+                    );
+                }
+            }
+            join((byte) '"');
+            join((byte) ':');
+            if (wide != 0) {
+                join((byte) ' ');
+            }
+        }
+    }
+
+    /**
+     * Encodes the specified alias and {@code int}
+     * value with {@link IntSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setInt(
+        @Nullable Object alias, int value
+    ) throws IOException {
+        drain();
+        prefix(alias);
+        IntSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        return true;
+    }
+
+    /**
+     * Encodes the specified alias and {@code long}
+     * value with {@link LongSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setLong(
+        @Nullable Object alias, long value
+    ) throws IOException {
+        drain();
+        prefix(alias);
+        LongSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        return true;
+    }
+
+    /**
+     * Encodes the specified alias and {@code double}
+     * value with {@link DoubleSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setDouble(
+        @Nullable Object alias, double value
+    ) throws IOException {
+        drain();
+        prefix(alias);
+        DoubleSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        return true;
+    }
+
+    /**
+     * Encodes the specified alias and {@code boolean}
+     * value with {@link BooleanSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setBoolean(
+        @Nullable Object alias, boolean value
+    ) throws IOException {
+        drain();
+        prefix(alias);
+        BooleanSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        return true;
+    }
+
     /**
      * Returns the {@link Flux} of chan
      */
@@ -97,6 +97,41 @@ public class Kat extends Stream implements Chan {
         }
     }
 
+    /**
+     * Constructs a kat with the flags, specified context and sink,
+     * the buffered bytes will be drained to the sink in segments
+     *
+     * @param flags   the specified flags
+     * @param context the specified context
+     * @param sink    the specified sink
+     * @throws NullPointerException If the context or sink is null
+     */
+    public Kat(
+        @NotNull long flags,
+        @NotNull Context context,
+        @NotNull Sink sink
+    ) {
+        super(flags, sink);
+        if (context != null) {
+            this.head = true;
+            this.context = context;
+        } else {
+            throw new NullPointerException(
+                "Received context is null"
+            );
+        }
+    }
+
+    /**
+     * Resets this kat to be reused from the beginning,
+     * keeping its buffer, chunk and context
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        head = true;
+    }
+
     /**
      * Encodes the specified alias
      * and value at the current hierarchy
@@ -144,6 +179,8 @@ public class Kat extends Stream implements Chan {
         @Nullable String space,
         @Nullable Entity value
     ) throws IOException {
+        drain();
+
         if (head) {
             head = false;
         } else {
@@ -167,6 +204,8 @@ public class Kat extends Stream implements Chan {
             state = 1;
             if (alias instanceof String) {
                 emit((String) alias);
+            } else if (alias instanceof Label) {
+                emit((Label) alias, 0);
             } else if (alias instanceof Binary) {
                 emit((Binary) alias);
             } else {
@@ -273,6 +312,8 @@ public class Kat extends Stream implements Chan {
         @Nullable Coder<?> coder,
         @Nullable Object value
     ) throws IOException {
+        drain();
+
         if (value == null) {
             return set(
                 alias, "Any", null
@@ -305,6 +346,96 @@ public class Kat extends Stream implements Chan {
             }
         }
 
+        prefix(
+            alias, coder, value.getClass()
+        );
+
+        int wide = depth;
+        Border border =
+            coder.getBorder(this);
+        if (border == null) {
+            state = 1;
+            coder.write(
+                (Flux) this, value
+            );
+            state = 0;
+            return true;
+        }
+
+        byte left, right;
+        switch (border) {
+            case QUOTE: {
+                join((byte) '"');
+                coder.write(
+                    (Flux) this, value
+                );
+                join((byte) '"');
+                return true;
+            }
+            case BRACE: {
+                left = LC;
+                right = RC;
+                break;
+            }
+            case BRACKET: {
+                left = LB;
+                right = RB;
+                break;
+            }
+            default: {
+                return false;
+            }
+        }
+
+        join(left);
+        if (wide == 0) {
+            head = true;
+            coder.write(
+                (Chan) this, value
+            );
+            head = false;
+        } else {
+            ++depth;
+            head = true;
+            coder.write(
+                (Chan) this, value
+            );
+            head = false;
+            --depth;
+            if (wide == 1) {
+                byte[] it = grow(
+                    size + 2
+                );
+                it[size++] = '\n';
+            } else {
+                byte[] it = grow(
+                    size + wide * 2
+                );
+                it[size++] = '\n';
+                while (--wide != 0) {
+                    it[size++] = ' ';
+                    it[size++] = ' ';
+                }
+            }
+        }
+        join(right);
+        return true;
+    }
+
+    /**
+     * Writes the separator, the indent, the alias and the
+     * space of the specified coder before the value is written
+     *
+     * @param alias the specified alias
+     * @param coder the specified coder of the value
+     * @param kind  the specified class of the value
+     * @throws IOException If an I/O error occurs
+     */
+    protected void prefix(
+        @Nullable Object alias,
+        @NotNull Coder<?> coder,
+        @NotNull Class<?> kind
+    ) throws IOException {
         if (head) {
             head = false;
         } else {
@@ -328,6 +459,8 @@ public class Kat extends Stream implements Chan {
             state = 1;
             if (alias instanceof String) {
                 emit((String) alias);
+            } else if (alias instanceof Label) {
+                emit((Label) alias, 0);
             } else if (alias instanceof Binary) {
                 emit((Binary) alias);
             } else {
@@ -357,7 +490,7 @@ public class Kat extends Stream implements Chan {
             if (name != null) {
                 emit(name);
             } else {
-                emit(value.getClass().getName());
+                emit(kind.getName());
             }
             state = 0;
             if (alias == null && (
@@ -376,75 +509,97 @@ public class Kat extends Stream implements Chan {
                 join((byte) ' ');
             }
         }
+    }
 
-        Border border =
-            coder.getBorder(this);
-        if (border == null) {
-            state = 1;
-            coder.write(
-                (Flux) this, value
-            );
-            state = 0;
-            return true;
-        }
+    /**
+     * Encodes the specified alias and {@code int}
+     * value with {@link IntSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setInt(
+        @Nullable Object alias, int value
+    ) throws IOException {
+        drain();
+        prefix(
+            alias, IntSpare.INSTANCE, Integer.class
+        );
+        state = 1;
+        IntSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        state = 0;
+        return true;
+    }
 
-        byte left, right;
-        switch (border) {
-            case QUOTE: {
-                join((byte) '"');
-                coder.write(
-                    (Flux) this, value
-                );
-                join((byte) '"');
-                return true;
-            }
-            case BRACE: {
-                left = LC;
-                right = RC;
-                break;
-            }
-            case BRACKET: {
-                left = LB;
-                right = RB;
-                break;
-            }
-            default: {
-                return false;
-            }
-        }
+    /**
+     * Encodes the specified alias and {@code long}
+     * value with {@link LongSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setLong(
+        @Nullable Object alias, long value
+    ) throws IOException {
+        drain();
+        prefix(
+            alias, LongSpare.INSTANCE, Long.class
+        );
+        state = 1;
+        LongSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        state = 0;
+        return true;
+    }
 
-        join(left);
-        if (wide == 0) {
-            head = true;
-            coder.write(
-                (Chan) this, value
-            );
-            head = false;
-        } else {
-            ++depth;
-            head = true;
-            coder.write(
-                (Chan) this, value
-            );
-            head = false;
-            --depth;
-            if (wide == 1) {
-                byte[] it = grow(
-                    size + 2
-                );
-                it[size++] = '\n';
-            } else {
-                byte[] it = grow(
-                    size + wide * 2
-                );
-                it[size++] = '\n';
-                while (--wide != 0) {
-                    it[size++] = ' ';
-                    it[size++] = ' ';
-                }
-            }
-        }
-        join(right);
+    /**
+     * Encodes the specified alias and {@code double}
+     * value with {@link DoubleSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setDouble(
+        @Nullable Object alias, double value
+    ) throws IOException {
+        drain();
+        prefix(
+            alias, DoubleSpare.INSTANCE, Double.class
+        );
+        state = 1;
+        DoubleSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        state = 0;
+        return true;
+    }
+
+    /**
+     * Encodes the specified alias and {@code boolean}
+     * value with {@link BooleanSpare#INSTANCE} without boxing
+     *
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public boolean setBoolean(
+        @Nullable Object alias, boolean value
+    ) throws IOException {
+        drain();
+        prefix(
+            alias, BooleanSpare.INSTANCE, Boolean.class
+        );
+        state = 1;
+        BooleanSpare.INSTANCE.write(
+            (Flux) this, value
+        );
+        state = 0;
         return true;
     }
 
@@ -57,6 +57,36 @@ public interface Pipe {
         @NotNull Value value
     ) throws IOException;
 
+    /**
+     * Receives the alias, space and a view of the value, which lies
+     * unescaped inside the source buffer of the flow, the view is only
+     * valid during this call, and the flag of the value is already set,
+     * by default the view is copied into the value and passed to onNext
+     *
+     * @param alias  the alias of the current property
+     * @param space  the space of the current property
+     * @param value  the value to be used if copied
+     * @param flow   the source buffer of the view
+     * @param offset the begin index of the view
+     * @param length the length of the view
+     * @throws IOException              If a read error occurs
+     * @throws IllegalStateException    If a fatal error occurs
+     * @throws IllegalArgumentException If a params error occurs
+     * @see Value#load(byte[], int, int)
+     */
+    default void onView(
+        @NotNull Alias alias,
+        @NotNull Space space,
+        @NotNull Value value,
+        @NotNull byte[] flow, int offset, int length
+    ) throws IOException {
+        onNext(
+            alias, space, value.load(
+                flow, offset, length
+            )
+        );
+    }
+
     /**
      * Closes the transport of this pipe and returns the parent
      *
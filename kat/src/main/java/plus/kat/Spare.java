@@ -20,10 +20,16 @@ import plus.kat.actor.NotNull;
 import plus.kat.actor.Nullable;
 
 import plus.kat.chain.*;
+import plus.kat.core.Lines;
 import plus.kat.spare.*;
+import plus.kat.flow.Stream.Sink;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
 import java.lang.reflect.Type;
+import java.util.stream.StreamSupport;
 
 import static plus.kat.Algo.*;
 import static plus.kat.spare.Supplier.Vendor.*;
@@ -459,6 +465,77 @@ public interface Spare<T> extends Coder<T> {
         }
     }
 
+    /**
+     * Returns a stream of the elements of the top-level array, which are
+     * decoded lazily one by one as the consumer pulls them, and the flow
+     * is closed when the stream is closed or the elements are exhausted
+     *
+     * <pre>{@code
+     *  Spare<User> spare = ...
+     *  try (java.util.stream.Stream<User> users =
+     *           spare.stream(Algo.JSON, Flow.of(inputStream))) {
+     *      users.forEach(...);
+     *  }
+     * }</pre>
+     *
+     * @param algo the specified algo for solve
+     * @param text the specified flow to be decoded
+     * @throws IOException If the specified algo is not supported
+     * @see Streamer
+     */
+    @NotNull
+    default java.util.stream.Stream<T> stream(
+        @NotNull Algo algo,
+        @NotNull Flow text
+    ) throws IOException {
+        Parser op = Parser.apply();
+        try {
+            op.setSpare(this);
+            return new Streamer<T>(
+                algo, text, op
+            ).stream();
+        } catch (Exception e) {
+            op.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a parallel stream of the decoded records of the
+     * newline-delimited text, each record is decoded by a pooled
+     * parser of the worker over its own range of the text
+     *
+     * <pre>{@code
+     *  Spare<User> spare = ...
+     *  List<User> users = spare.lines(
+     *      Algo.JSON, Lines.of(bytes), true
+     *  ).collect(Collectors.toList());
+     * }</pre>
+     *
+     * @param algo    the specified algo for solve
+     * @param text    the specified records to be decoded
+     * @param ordered the flag that the results keep the order of records
+     * @see Lines
+     */
+    @NotNull
+    default java.util.stream.Stream<T> lines(
+        @NotNull Algo algo,
+        @NotNull Lines text,
+        boolean ordered
+    ) {
+        java.util.stream.Stream<T> stream =
+            StreamSupport.stream(text, true).map(flow -> {
+                try {
+                    return solve(
+                        algo, flow
+                    );
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        return ordered ? stream : stream.unordered();
+    }
+
     /**
      * Encodes the specified {@link T} to target stream with the flags
      *
@@ -528,6 +605,106 @@ public interface Spare<T> extends Coder<T> {
         return chan;
     }
 
+    /**
+     * Encodes the specified {@link T} to the specified stream with the flags,
+     * where calling {@link OutputStream#close()} will not be performed
+     *
+     * <pre>{@code
+     *  User user = ...
+     *  Spare<User> spare = ...
+     *
+     *  try (OutputStream out = ...) {
+     *      spare.telex(Algo.JSON, user, 0, out);
+     *  }
+     * }</pre>
+     *
+     * @param algo  the specified algo for telex
+     * @param value the specified value to be encoded
+     * @param flags the specified flags for serialization
+     * @param sink  the specified stream to be written
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable T value, long flags,
+        @NotNull OutputStream sink
+    ) throws IOException {
+        telex(
+            algo, value, flags, Sink.of(sink)
+        );
+    }
+
+    /**
+     * Encodes the specified {@link T} to the specified channel with the flags,
+     * where calling {@link WritableByteChannel#close()} will not be performed
+     *
+     * @param algo  the specified algo for telex
+     * @param value the specified value to be encoded
+     * @param flags the specified flags for serialization
+     * @param sink  the specified channel to be written
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable T value, long flags,
+        @NotNull WritableByteChannel sink
+    ) throws IOException {
+        telex(
+            algo, value, flags, Sink.of(sink)
+        );
+    }
+
+    /**
+     * Encodes the specified {@link T} to the specified sink with the flags,
+     * the buffered bytes are drained to the sink in segments
+     *
+     * @param algo  the specified algo for telex
+     * @param value the specified value to be encoded
+     * @param flags the specified flags for serialization
+     * @param sink  the specified sink to be written
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable T value, long flags,
+        @NotNull Sink sink
+    ) throws IOException {
+        Chan chan;
+        switch (algo.hashCode()) {
+            case kat: {
+                chan = new Kat(
+                    flags, getContext(), sink
+                );
+                break;
+            }
+            case doc: {
+                chan = new Doc(
+                    flags, getContext(), sink
+                );
+                break;
+            }
+            case json: {
+                chan = new Json(
+                    flags, getContext(), sink
+                );
+                break;
+            }
+            default: {
+                throw new IOException(
+                    "Not supported " + algo
+                );
+            }
+        }
+        try {
+            chan.set(
+                null, this, value
+            );
+            chan.flush();
+        } finally {
+            chan.close();
+        }
+    }
+
     /**
      * Search for the spare of the specified type from the default {@link Context}
      *
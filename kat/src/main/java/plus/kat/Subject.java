@@ -158,6 +158,142 @@ public interface Subject<T> extends Spare<T> {
             @Nullable Object value
         );
 
+        /**
+         * Gets the value of this property as an int,
+         * by default it unboxes the value of {@link #apply(Object)}
+         *
+         * @return the value of property
+         * @throws IllegalStateException If failed to call this method
+         */
+        default int applyInt(
+            @NotNull Object bean
+        ) {
+            Object value = apply(bean);
+            if (value instanceof Number) {
+                return ((Number) value).intValue();
+            }
+            throw new IllegalStateException(
+                "Failed to call Property#applyInt"
+            );
+        }
+
+        /**
+         * Gets the value of this property as a long,
+         * by default it unboxes the value of {@link #apply(Object)}
+         *
+         * @return the value of property
+         * @throws IllegalStateException If failed to call this method
+         */
+        default long applyLong(
+            @NotNull Object bean
+        ) {
+            Object value = apply(bean);
+            if (value instanceof Number) {
+                return ((Number) value).longValue();
+            }
+            throw new IllegalStateException(
+                "Failed to call Property#applyLong"
+            );
+        }
+
+        /**
+         * Gets the value of this property as a double,
+         * by default it unboxes the value of {@link #apply(Object)}
+         *
+         * @return the value of property
+         * @throws IllegalStateException If failed to call this method
+         */
+        default double applyDouble(
+            @NotNull Object bean
+        ) {
+            Object value = apply(bean);
+            if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            }
+            throw new IllegalStateException(
+                "Failed to call Property#applyDouble"
+            );
+        }
+
+        /**
+         * Gets the value of this property as a boolean,
+         * by default it unboxes the value of {@link #apply(Object)}
+         *
+         * @return the value of property
+         * @throws IllegalStateException If failed to call this method
+         */
+        default boolean applyBoolean(
+            @NotNull Object bean
+        ) {
+            Object value = apply(bean);
+            if (value instanceof Boolean) {
+                return (Boolean) value;
+            }
+            throw new IllegalStateException(
+                "Failed to call Property#applyBoolean"
+            );
+        }
+
+        /**
+         * Sets the new int value of this property,
+         * by default it boxes the value for {@link #accept(Object, Object)}
+         *
+         * @return true on successful update
+         * @throws IllegalStateException If failed to call this method
+         */
+        default boolean acceptInt(
+            @NotNull Object bean, int value
+        ) {
+            return accept(
+                bean, value
+            );
+        }
+
+        /**
+         * Sets the new long value of this property,
+         * by default it boxes the value for {@link #accept(Object, Object)}
+         *
+         * @return true on successful update
+         * @throws IllegalStateException If failed to call this method
+         */
+        default boolean acceptLong(
+            @NotNull Object bean, long value
+        ) {
+            return accept(
+                bean, value
+            );
+        }
+
+        /**
+         * Sets the new double value of this property,
+         * by default it boxes the value for {@link #accept(Object, Object)}
+         *
+         * @return true on successful update
+         * @throws IllegalStateException If failed to call this method
+         */
+        default boolean acceptDouble(
+            @NotNull Object bean, double value
+        ) {
+            return accept(
+                bean, value
+            );
+        }
+
+        /**
+         * Sets the new boolean value of this property,
+         * by default it boxes the value for {@link #accept(Object, Object)}
+         *
+         * @return true on successful update
+         * @throws IllegalStateException If failed to call this method
+         */
+        default boolean acceptBoolean(
+            @NotNull Object bean, boolean value
+        ) {
+            return accept(
+                bean, value
+            );
+        }
+
         /**
          * Returns the type of this property
          *
@@ -253,7 +389,7 @@ public interface Subject<T> extends Spare<T> {
                 }
 
                 Factory member =
-                    coder.getFactory(type);
+                    getFactory(coder, type);
                 if (member != null) {
                     setter = segment;
                     return member.attach(this);
@@ -293,6 +429,11 @@ public interface Subject<T> extends Spare<T> {
                                 + ") of " + subject.getType() + " was found"
                         );
                     }
+                } else if (primitive(coder)) {
+                    accept(
+                        segment, coder, value
+                    );
+                    return;
                 }
 
                 segment.accept(
@@ -303,6 +444,115 @@ public interface Subject<T> extends Spare<T> {
             }
         }
 
+        /**
+         * Receives the alias, spare and a view of the value
+         *
+         * @param alias  the alias of the current property
+         * @param space  the space of the current property
+         * @param value  the value to be used if copied
+         * @param flow   the source buffer of the view
+         * @param offset the begin index of the view
+         * @param length the length of the view
+         */
+        @Override
+        public void onView(
+            @NotNull Alias alias,
+            @NotNull Space space,
+            @NotNull Value value,
+            @NotNull byte[] flow, int offset, int length
+        ) throws IOException {
+            Segment segment = subject.set(alias);
+
+            if (segment != null) {
+                Coder<?> coder = segment.getCoder();
+
+                if (coder == null) {
+                    Type type = getType(
+                        segment.getType()
+                    );
+                    coder = context.assign(type, space);
+
+                    if (coder == null) {
+                        throw new IOException(
+                            "No spare for property(" + alias
+                                + ") of " + subject.getType() + " was found"
+                        );
+                    }
+                } else if (primitive(coder)) {
+                    accept(
+                        segment, coder, value.load(
+                            flow, offset, length
+                        )
+                    );
+                    return;
+                }
+
+                segment.accept(
+                    bean, coder.read(
+                        this, value, flow, offset, length
+                    )
+                );
+            }
+        }
+
+        /**
+         * Returns true if the specified coder is the built-in
+         * spare of int, long, double or boolean, which can be
+         * accepted by {@link #accept(Segment, Coder, Value)}
+         */
+        protected static boolean primitive(
+            @NotNull Coder<?> coder
+        ) {
+            return coder == IntSpare.INSTANCE
+                || coder == LongSpare.INSTANCE
+                || coder == DoubleSpare.INSTANCE
+                || coder == BooleanSpare.INSTANCE;
+        }
+
+        /**
+         * Sets the value of the int, long, double or boolean property
+         * without boxing, and leaves the property untouched for an
+         * empty or `null` value
+         *
+         * @param segment the segment of the current property
+         * @param coder   the built-in spare of the property
+         * @param value   the value of the current property
+         */
+        protected void accept(
+            @NotNull Segment segment,
+            @NotNull Coder<?> coder,
+            @NotNull Value value
+        ) {
+            if (value.isNull()) {
+                return;
+            }
+            if (coder == IntSpare.INSTANCE) {
+                segment.acceptInt(
+                    bean, IntSpare.INSTANCE.readInt(
+                        this, value
+                    )
+                );
+            } else if (coder == LongSpare.INSTANCE) {
+                segment.acceptLong(
+                    bean, LongSpare.INSTANCE.readLong(
+                        this, value
+                    )
+                );
+            } else if (coder == DoubleSpare.INSTANCE) {
+                segment.acceptDouble(
+                    bean, DoubleSpare.INSTANCE.readDouble(
+                        this, value
+                    )
+                );
+            } else {
+                segment.acceptBoolean(
+                    bean, BooleanSpare.INSTANCE.readBoolean(
+                        this, value
+                    )
+                );
+            }
+        }
+
         /**
          * Receives the value of the current property
          *
@@ -421,6 +671,15 @@ public interface Subject<T> extends Spare<T> {
             bean = null;
             setter = null;
         }
+
+        /**
+         * Returns true, the bean and setter are released in
+         * {@link #onDestroy()} and the rest is fixed by the type
+         */
+        @Override
+        public boolean reset() {
+            return true;
+        }
     }
 
     /**
@@ -476,7 +735,7 @@ public interface Subject<T> extends Spare<T> {
                 }
 
                 Factory member =
-                    coder.getFactory(type);
+                    getFactory(coder, type);
                 if (member != null) {
                     setter = segment;
                     return member.attach(this);
@@ -519,6 +778,40 @@ public interface Subject<T> extends Spare<T> {
             }
         }
 
+        @Override
+        public void onView(
+            @NotNull Alias alias,
+            @NotNull Space space,
+            @NotNull Value value,
+            @NotNull byte[] flow, int offset, int length
+        ) throws IOException {
+            Segment segment = subject.arg(alias);
+
+            if (segment != null) {
+                Coder<?> coder = segment.getCoder();
+
+                if (coder == null) {
+                    Type type = getType(
+                        segment.getType()
+                    );
+                    coder = context.assign(type, space);
+
+                    if (coder == null) {
+                        throw new IOException(
+                            "No spare for argument(" + alias
+                                + ") of " + subject.getType() + " was found"
+                        );
+                    }
+                }
+
+                segment.accept(
+                    args, coder.read(
+                        this, value, flow, offset, length
+                    )
+                );
+            }
+        }
+
         @Override
         public void onNext(
             @Nullable Object value
@@ -538,7 +831,10 @@ public interface Subject<T> extends Spare<T> {
 
         @Override
         public void onDestroy() throws IOException {
-            args = null;
+            Object[] it = args;
+            for (int i = 0; i < it.length; i++) {
+                it[i] = null;
+            }
             super.onDestroy();
         }
     }
@@ -627,7 +923,7 @@ public interface Subject<T> extends Spare<T> {
                 }
 
                 Factory member =
-                    coder.getFactory(type);
+                    getFactory(coder, type);
                 if (member != null) {
                     setter = segment;
                     return member.attach(this);
@@ -687,6 +983,58 @@ public interface Subject<T> extends Spare<T> {
             }
         }
 
+        @Override
+        public void onView(
+            @NotNull Alias alias,
+            @NotNull Space space,
+            @NotNull Value value,
+            @NotNull byte[] flow, int offset, int length
+        ) throws IOException {
+            Segment segment = subject.arg(alias);
+
+            scope:
+            {
+                boolean delay = false;
+                if (segment == null) {
+                    segment = subject.set(alias);
+                    if (segment == null) {
+                        break scope;
+                    } else {
+                        delay = true;
+                    }
+                }
+
+                Coder<?> coder = segment.getCoder();
+
+                if (coder == null) {
+                    Type type = getType(
+                        segment.getType()
+                    );
+                    coder = context.assign(type, space);
+
+                    if (coder == null) {
+                        throw new IOException(
+                            "No spare for attribute(" + alias
+                                + ") of " + subject.getType() + " was found"
+                        );
+                    }
+                }
+
+                Object data = coder.read(
+                    this, value, flow, offset, length
+                );
+                if (delay) {
+                    new Cache(
+                        segment, data
+                    );
+                } else {
+                    segment.accept(
+                        args, data
+                    );
+                }
+            }
+        }
+
         @Override
         public void onNext(
             @Nullable Object value
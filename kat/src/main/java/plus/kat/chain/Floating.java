@@ -0,0 +1,393 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.chain;
+
+import java.math.BigInteger;
+
+/**
+ * Reads the correctly rounded double or float of a decimal straight
+ * from a byte array. Up to 19 significant digits are exact in a long,
+ * the result is computed by the fast path of Clinger if the digits and
+ * the power of ten are both exact, otherwise by the algorithm of Eisel
+ * and Lemire as adopted by fast_float. The rare decimals that neither
+ * can decide, such as those with more than 19 significant digits that
+ * lie near a halfway point, and any input outside the plain decimal
+ * grammar, are handed over to {@link Double#parseDouble(String)} or
+ * {@link Float#parseFloat(String)}
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+final class Floating {
+
+    static final int
+        Q_MIN = -342,
+        Q_MAX = 308;
+
+    static final long
+        MASK_32 = (1L << 32) - 1;
+
+    static final int
+        D_M = 52,
+        D_E_MIN = -1023,
+        D_E_INF = 0x7FF,
+        D_RTE_MIN = -4,
+        D_RTE_MAX = 23;
+
+    static final int
+        F_M = 23,
+        F_E_MIN = -127,
+        F_E_INF = 0xFF,
+        F_RTE_MIN = -17,
+        F_RTE_MAX = 10;
+
+    static final double[] D_POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7,
+        1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+        1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    static final float[] F_POW10 = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f,
+        1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * The 128-bit truncated powers of five from
+     * {@code 5^-342} to {@code 5^308}, normalized so that
+     * the highest bit of the high half is always set
+     */
+    static final long[] HIGH, LOW;
+
+    static {
+        int size = Q_MAX - Q_MIN + 1;
+        HIGH = new long[size];
+        LOW = new long[size];
+
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = Q_MIN; q <= Q_MAX; q++) {
+            BigInteger c;
+            if (q < 0) {
+                BigInteger p = five.pow(-q);
+                int z = p.bitLength();
+                int b = q < -27 ? 2 * z + 128 : z + 127;
+                c = BigInteger.ONE.shiftLeft(b)
+                    .divide(p).add(BigInteger.ONE);
+            } else {
+                c = five.pow(q);
+            }
+            c = c.shiftLeft(128 - c.bitLength());
+            HIGH[q - Q_MIN] = c.shiftRight(64).longValue();
+            LOW[q - Q_MIN] = c.longValue();
+        }
+    }
+
+    private Floating() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Parses the specified bytes as a double
+     *
+     * @throws NumberFormatException If the bytes are not a number
+     */
+    @SuppressWarnings("deprecation")
+    static double toDouble(
+        byte[] v, int o, int l
+    ) {
+        long bits = parse(v, o, l, false);
+        if (bits != -1L) {
+            return Double.longBitsToDouble(bits);
+        }
+        return Double.parseDouble(
+            new String(v, 0, o, l)
+        );
+    }
+
+    /**
+     * Parses the specified bytes as a float
+     *
+     * @throws NumberFormatException If the bytes are not a number
+     */
+    @SuppressWarnings("deprecation")
+    static float toFloat(
+        byte[] v, int o, int l
+    ) {
+        long bits = parse(v, o, l, true);
+        if (bits != -1L) {
+            return Float.intBitsToFloat((int) bits);
+        }
+        return Float.parseFloat(
+            new String(v, 0, o, l)
+        );
+    }
+
+    /**
+     * Returns the bits of the double or float of the specified
+     * bytes, or {@code -1} if they must be parsed by the JDK
+     */
+    static long parse(
+        byte[] v, int o, int l, boolean f
+    ) {
+        int i = o, e = o + l;
+        if (i == e) {
+            return -1L;
+        }
+
+        byte b = v[i];
+        boolean neg = b == 0x2D;
+        if (neg || b == 0x2B) {
+            i++;
+        }
+
+        long w = 0;
+        int n = 0, q = 0;
+        boolean any = false, cut = false;
+
+        while (i < e) {
+            b = v[i];
+            if (b < 0x30 || b > 0x39) {
+                break;
+            }
+            i++;
+            any = true;
+            if (n < 19) {
+                w = w * 10 + (b - 0x30);
+                if (w != 0) n++;
+            } else {
+                q++;
+                if (b != 0x30) cut = true;
+            }
+        }
+
+        if (i < e && v[i] == 0x2E) {
+            i++;
+            while (i < e) {
+                b = v[i];
+                if (b < 0x30 || b > 0x39) {
+                    break;
+                }
+                i++;
+                any = true;
+                if (n < 19) {
+                    w = w * 10 + (b - 0x30);
+                    if (w != 0) n++;
+                    q--;
+                } else {
+                    if (b != 0x30) cut = true;
+                }
+            }
+        }
+
+        if (!any) {
+            return -1L;
+        }
+
+        if (i < e && (v[i] | 0x20) == 0x65) {
+            if (++i == e) {
+                return -1L;
+            }
+            b = v[i];
+            boolean less = b == 0x2D;
+            if (less || b == 0x2B) {
+                if (++i == e) {
+                    return -1L;
+                }
+            }
+            int x = 0;
+            while (i < e) {
+                b = v[i];
+                if (b < 0x30 || b > 0x39) {
+                    return -1L;
+                }
+                i++;
+                if (x < 100000) {
+                    x = x * 10 + (b - 0x30);
+                }
+            }
+            q += less ? -x : x;
+        }
+
+        if (i != e) {
+            return -1L;
+        }
+
+        long bits;
+        if (w == 0) {
+            bits = 0;
+        } else if (f) {
+            bits = toFloat(w, q, cut);
+        } else {
+            bits = toDouble(w, q, cut);
+        }
+
+        if (bits == -1L) {
+            return -1L;
+        }
+        if (neg) {
+            bits |= f ? 1L << 31 : 1L << 63;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bits of the positive double of
+     * {@code w * 10^q}, or {@code -1} if undecided
+     */
+    static long toDouble(
+        long w, int q, boolean cut
+    ) {
+        if (!cut && -22 <= q && q <= 22 &&
+            0 <= w && w <= 1L << 53) {
+            double d = w;
+            if (q < 0) {
+                d /= D_POW10[-q];
+            } else {
+                d *= D_POW10[q];
+            }
+            return Double.doubleToRawLongBits(d);
+        }
+
+        long bits = lemire(
+            w, q, D_M, D_E_MIN, D_E_INF, D_RTE_MIN, D_RTE_MAX
+        );
+        if (cut && bits != -1L && bits != lemire(
+            w + 1, q, D_M, D_E_MIN, D_E_INF, D_RTE_MIN, D_RTE_MAX)) {
+            return -1L;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bits of the positive float of
+     * {@code w * 10^q}, or {@code -1} if undecided
+     */
+    static long toFloat(
+        long w, int q, boolean cut
+    ) {
+        if (!cut && -10 <= q && q <= 10 &&
+            0 <= w && w <= 1L << 24) {
+            float d = w;
+            if (q < 0) {
+                d /= F_POW10[-q];
+            } else {
+                d *= F_POW10[q];
+            }
+            return Float.floatToRawIntBits(d);
+        }
+
+        long bits = lemire(
+            w, q, F_M, F_E_MIN, F_E_INF, F_RTE_MIN, F_RTE_MAX
+        );
+        if (cut && bits != -1L && bits != lemire(
+            w + 1, q, F_M, F_E_MIN, F_E_INF, F_RTE_MIN, F_RTE_MAX)) {
+            return -1L;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bits of the positive binary floating-point of
+     * {@code w * 10^q} with the unsigned nonzero {@code w}, or {@code -1}
+     * if the truncated product can not decide the rounding
+     *
+     * @param m   the number of explicit mantissa bits
+     * @param min the minimum exponent
+     * @param inf the biased exponent of infinity
+     * @param lo  the minimum power of ten of ties to even
+     * @param hi  the maximum power of ten of ties to even
+     */
+    static long lemire(
+        long w, int q, int m, int min, int inf, int lo, int hi
+    ) {
+        if (q < Q_MIN) {
+            return 0L;
+        }
+        if (q > Q_MAX) {
+            return (long) inf << m;
+        }
+
+        int z = Long.numberOfLeadingZeros(w);
+        w <<= z;
+
+        int t = q - Q_MIN;
+        long high = multiplyHigh(w, HIGH[t]);
+        long low = w * HIGH[t];
+
+        long mask = -1L >>> m + 3;
+        if ((high & mask) == mask) {
+            long h = multiplyHigh(w, LOW[t]);
+            low += h;
+            if (Long.compareUnsigned(h, low) > 0) {
+                high++;
+            }
+        }
+        if (low == -1L && (q < -27 || q > 55)) {
+            return -1L;
+        }
+
+        int upper = (int) (high >>> 63);
+        int shift = upper + 64 - m - 3;
+        long mantissa = high >>> shift;
+        int power = (((152170 + 65536) * q) >> 16) + 63 + upper - z - min;
+
+        if (power <= 0) {
+            if (1 - power >= 64) {
+                return 0L;
+            }
+            mantissa >>>= 1 - power;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power = mantissa < 1L << m ? 0 : 1;
+            return mantissa | (long) power << m;
+        }
+
+        if (Long.compareUnsigned(low, 1) <= 0 &&
+            lo <= q && q <= hi && (mantissa & 3) == 1) {
+            if (mantissa << shift == high) {
+                mantissa &= ~1L;
+            }
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << m) {
+            mantissa = 1L << m;
+            power++;
+        }
+
+        mantissa &= ~(1L << m);
+        if (power >= inf) {
+            return (long) inf << m;
+        }
+        return mantissa | (long) power << m;
+    }
+
+    /**
+     * Returns the high half of the unsigned 128-bit product
+     */
+    static long multiplyHigh(
+        long a, long b
+    ) {
+        long a0 = a & MASK_32, a1 = a >>> 32;
+        long b0 = b & MASK_32, b1 = b >>> 32;
+        long p01 = a0 * b1, p10 = a1 * b0;
+        long mid = ((a0 * b0) >>> 32)
+            + (p01 & MASK_32) + (p10 & MASK_32);
+        return a1 * b1 + (p01 >>> 32)
+            + (p10 >>> 32) + (mid >>> 32);
+    }
+}
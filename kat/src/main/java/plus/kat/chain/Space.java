@@ -325,6 +325,61 @@ public class Space extends Binary {
         return false;
     }
 
+    /**
+     * Grows the internal array to at least the specified capacity,
+     * keeping the specified length of bytes, and returns the array
+     *
+     * <pre>{@code
+     *  byte[] val = value.flow();
+     *  if (z == val.length) {
+     *      val = value.grow(z, z + 1);
+     *  }
+     *  val[z++] = b;
+     * }</pre>
+     *
+     * @param length   the specified length of bytes to keep
+     * @param capacity the specified minimum capacity required
+     * @throws OutOfMemoryError If the required capacity is too large
+     */
+    public byte[] grow(
+        int length, int capacity
+    ) {
+        byte[] it = value;
+        int l = it.length;
+        if (capacity > l) {
+            if (capacity < 0) {
+                throw new OutOfMemoryError(
+                    "Required capacity is too large"
+                );
+            }
+            int n = l + (l >> 1) + 16;
+            if (n < capacity || n < 0) {
+                n = capacity;
+            }
+            byte[] data = new byte[n];
+            System.arraycopy(
+                it, 0, data, 0, length
+            );
+            value = it = data;
+        }
+        return it;
+    }
+
+    /**
+     * Shrinks the internal array back to the specified
+     * capacity if it has grown beyond it, then clears this space
+     *
+     * @param capacity the specified capacity to keep
+     */
+    public void shrink(
+        int capacity
+    ) {
+        this.clear();
+        if (value.length > capacity) {
+            value = new byte[capacity];
+        }
+    }
+
     /**
      * Resets this space to
      * make it an empty space
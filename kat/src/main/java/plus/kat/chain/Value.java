@@ -115,6 +115,26 @@ public class Value extends Space {
         return this;
     }
 
+    /**
+     * Copies the specified length of bytes of the flow from
+     * the specified offset into this {@link Value}, keeping its flag
+     *
+     * @param flow   the specified source buffer
+     * @param offset the specified begin index
+     * @param length the specified length of bytes
+     * @return this {@link Value} itself
+     */
+    public Value load(
+        byte[] flow, int offset, int length
+    ) {
+        System.arraycopy(
+            flow, offset, grow(0, length), 0, length
+        );
+        size = length;
+        hash = 0;
+        return this;
+    }
+
     /**
      * Returns {@code true} if this
      * {@link Value} contains only digit
@@ -246,6 +266,25 @@ public class Value extends Space {
         return true;
     }
 
+    /**
+     * Returns {@code true} if and only if this
+     * {@link Value} is empty or literally `null`
+     */
+    public boolean isNull() {
+        int l = size;
+        if (l != 0) {
+            if (l == 4) {
+                byte[] v = value;
+                return v[0] == 0x6E &&
+                    v[1] == 0x75 &&
+                    v[2] == 0x6C &&
+                    v[3] == 0x6C;
+            }
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Returns {@code true} if and only if this
      * {@link Value} is not blank and differs from `null`
@@ -402,6 +441,20 @@ public class Value extends Space {
      * @throws IllegalArgumentException If parsing fails
      */
     public Integer toInt(Integer def) {
+        if (isNull()) {
+            return def;
+        }
+        return toInt(0);
+    }
+
+    /**
+     * Converts this {@link Value}
+     * as a signed decimal primitive {@code int}
+     *
+     * @param def the specified default value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public int toInt(int def) {
         int l = size;
         if (l == 0) {
             return def;
@@ -721,6 +774,20 @@ public class Value extends Space {
      * @throws IllegalArgumentException If parsing fails
      */
     public Long toLong(Long def) {
+        if (isNull()) {
+            return def;
+        }
+        return toLong(0L);
+    }
+
+    /**
+     * Converts this {@link Value}
+     * as a signed decimal primitive {@code long}
+     *
+     * @param def the specified default value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public long toLong(long def) {
         int l = size;
         if (l == 0) {
             return def;
@@ -924,13 +991,10 @@ public class Value extends Space {
      *
      * @throws NumberFormatException If parsing fails
      */
-    @SuppressWarnings("deprecation")
     public float toFloat() {
         if (isNumber()) {
-            return Float.parseFloat(
-                new String(
-                    value, 0, 0, size
-                )
+            return Floating.toFloat(
+                value, 0, size
             );
         }
 
@@ -946,7 +1010,6 @@ public class Value extends Space {
      * @param def the specified value
      * @throws IllegalArgumentException If parsing fails
      */
-    @SuppressWarnings("deprecation")
     public Float toFloat(Float def) {
         int l = size;
         if (l == 0) {
@@ -1034,10 +1097,8 @@ public class Value extends Space {
                 }
             }
 
-            return Float.parseFloat(
-                new String(
-                    v, 0, 0, l
-                )
+            return Floating.toFloat(
+                v, 0, l
             );
         }
 
@@ -1052,13 +1113,10 @@ public class Value extends Space {
      *
      * @throws NumberFormatException If parsing fails
      */
-    @SuppressWarnings("deprecation")
     public double toDouble() {
         if (isNumber()) {
-            return Double.parseDouble(
-                new String(
-                    value, 0, 0, size
-                )
+            return Floating.toDouble(
+                value, 0, size
             );
         }
 
@@ -1074,8 +1132,20 @@ public class Value extends Space {
      * @param def the specified value
      * @throws IllegalArgumentException If parsing fails
      */
-    @SuppressWarnings("deprecation")
     public Double toDouble(Double def) {
+        if (isNull()) {
+            return def;
+        }
+        return toDouble(0D);
+    }
+
+    /**
+     * Converts this value as a primitive {@code double}
+     *
+     * @param def the specified value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public double toDouble(double def) {
         int l = size;
         if (l == 0) {
             return def;
@@ -1162,10 +1232,8 @@ public class Value extends Space {
                 }
             }
 
-            return Double.parseDouble(
-                new String(
-                    v, 0, 0, l
-                )
+            return Floating.toDouble(
+                v, 0, l
             );
         }
 
@@ -1180,7 +1248,6 @@ public class Value extends Space {
      *
      * @param def the specified value
      */
-    @SuppressWarnings("deprecation")
     public Number toNumber(Number def) {
         int l = size;
         if (l == 0) {
@@ -1346,10 +1413,8 @@ public class Value extends Space {
                                     if (i != l) {
                                         break stage;
                                     }
-                                    return Float.parseFloat(
-                                        new String(
-                                            v, 0, 0, l
-                                        )
+                                    return Floating.toFloat(
+                                        v, 0, l
                                     );
                                 }
                             }
@@ -1362,10 +1427,8 @@ public class Value extends Space {
                                 e ? n : -n
                             );
                         } else {
-                            return Double.parseDouble(
-                                new String(
-                                    v, 0, 0, l
-                                )
+                            return Floating.toDouble(
+                                v, 0, l
                             );
                         }
                     }
@@ -1577,6 +1640,19 @@ public class Value extends Space {
      * @throws IllegalArgumentException If parsing fails
      */
     public Boolean toBoolean(Boolean def) {
+        if (isNull()) {
+            return def;
+        }
+        return toBoolean(false);
+    }
+
+    /**
+     * Converts this value as a primitive {@code boolean}
+     *
+     * @param def the specified value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public boolean toBoolean(boolean def) {
         int l = size;
         if (l == 0) {
             return def;
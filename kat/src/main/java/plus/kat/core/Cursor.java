@@ -0,0 +1,212 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.chain.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import static plus.kat.Algo.*;
+
+/**
+ * A pull reader of a {@link Flow}, the tokens are read one by one
+ * by {@link #next()} and the alias, space and value of the current
+ * token are the views of the internal buffers, which are only valid
+ * until the next token is read
+ *
+ * <pre>{@code
+ *  try (Cursor cursor = Cursor.of(Algo.JSON, flow)) {
+ *      while (cursor.next() != Cursor.END) {
+ *          if (cursor.token() == Cursor.KEY &&
+ *              cursor.alias().equals("id")) {
+ *              cursor.next();
+ *              long id = cursor.value().toLong();
+ *          }
+ *      }
+ *  }
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public abstract class Cursor implements Closeable {
+
+    public static final int
+        END = 0,
+        START_OBJECT = 1,
+        END_OBJECT = 2,
+        START_ARRAY = 3,
+        END_ARRAY = 4,
+        KEY = 5,
+        VALUE = 6;
+
+    protected int token;
+    protected int depth;
+
+    protected final Alias alias;
+    protected final Space space;
+    protected final Value value;
+
+    /**
+     * Constructs a cursor with the specified alias, space and value
+     *
+     * @param alias the specified {@code alias} of cursor
+     * @param space the specified {@code space} of cursor
+     * @param value the specified {@code value} of cursor
+     */
+    protected Cursor(
+        @NotNull Alias alias,
+        @NotNull Space space,
+        @NotNull Value value
+    ) {
+        if (alias != null &&
+            space != null &&
+            value != null) {
+            this.alias = alias;
+            this.space = space;
+            this.value = value;
+        } else {
+            throw new NullPointerException(
+                "Received: (" + alias + ", "
+                    + space + ", " + value + ")"
+            );
+        }
+    }
+
+    /**
+     * Reads the next token and returns it,
+     * or {@link #END} if there are no more tokens
+     *
+     * @throws IOException If a read error or parsing error occurs
+     */
+    public abstract int next() throws IOException;
+
+    /**
+     * Skips the children of the current object or array and
+     * moves to its {@link #END_OBJECT} or {@link #END_ARRAY},
+     * otherwise does nothing if the current token is not a start
+     *
+     * @throws IOException If a read error or parsing error occurs
+     */
+    public void skipChildren()
+        throws IOException {
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY: {
+                int d = depth;
+                do {
+                    if (next() == END) {
+                        throw new IOException(
+                            "No more tokens before the end of depth " + d
+                        );
+                    }
+                } while (depth >= d);
+            }
+        }
+    }
+
+    /**
+     * Returns the current token
+     */
+    public int token() {
+        return token;
+    }
+
+    /**
+     * Returns the number of the objects
+     * and arrays enclosing the current position
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the alias of the current token, which is
+     * the key of the current member or empty in arrays
+     */
+    @NotNull
+    public Alias alias() {
+        return alias;
+    }
+
+    /**
+     * Returns the space of the current token,
+     * such as the bracket, quote or type name
+     */
+    @NotNull
+    public Space space() {
+        return space;
+    }
+
+    /**
+     * Returns the value of the current {@link #VALUE},
+     * which can be converted such as by {@link Value#toInt()}
+     */
+    @NotNull
+    public Value value() {
+        return value;
+    }
+
+    /**
+     * Resets the token and depth of this cursor, the subclasses
+     * must also close their flow, such as the cursors returned
+     * by {@link #of(Algo, Flow)}, so that the pooled buffers of
+     * the flow are released
+     */
+    @Override
+    public void close() {
+        token = END;
+        depth = 0;
+    }
+
+    /**
+     * Returns a cursor of the specified algo over the specified flow
+     *
+     * @param algo the specified algo of flow
+     * @param flow the specified flow to be read
+     * @throws IOException          If the specified algo is not supported
+     * @throws NullPointerException If the specified flow is null
+     */
+    @NotNull
+    public static Cursor of(
+        @NotNull Algo algo,
+        @NotNull Flow flow
+    ) throws IOException {
+        switch (algo.hashCode()) {
+            case kat: {
+                return new SolverCursor(
+                    flow, Radar.apply()
+                );
+            }
+            case doc: {
+                return new SolverCursor(
+                    flow, Podar.apply()
+                );
+            }
+            case json: {
+                return new JsonCursor(flow);
+            }
+            default: {
+                throw new IOException(
+                    "Not supported " + algo
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,492 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.chain.*;
+
+import java.io.IOException;
+
+import static plus.kat.lang.Uniform.*;
+
+/**
+ * A pull reader of json, which reads the flow incrementally
+ * and only as far as the current token, in the same dialect as {@link Sodar}
+ *
+ * <pre>{@code
+ *  {"id":1,"tags":["kat"]}
+ *
+ *  START_OBJECT
+ *  KEY(id) VALUE(1)
+ *  KEY(tags) START_ARRAY VALUE(kat) END_ARRAY
+ *  END_OBJECT
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class JsonCursor extends Cursor {
+
+    static final int
+        VALUE_NEXT = 0,
+        KEY_NEXT = 1,
+        KEY_FIRST = 2,
+        VALUE_FIRST = 3,
+        COLON = 4,
+        AFTER = 5;
+
+    protected Flow flow;
+    protected int phase;
+    protected byte[] stack;
+
+    /**
+     * Constructs a cursor with the specified flow
+     *
+     * @param flow the specified flow to be read
+     * @throws NullPointerException If the specified flow is null
+     */
+    public JsonCursor(
+        @NotNull Flow flow
+    ) {
+        this(
+            flow,
+            new Alias(
+                ALIAS_CAPACITY
+            ),
+            new Space(
+                SPACE_CAPACITY
+            ),
+            new Value(
+                VALUE_CAPACITY
+            )
+        );
+    }
+
+    /**
+     * Constructs a cursor with the specified flow, alias, space and value
+     *
+     * @param flow  the specified flow to be read
+     * @param alias the specified {@code alias} of cursor
+     * @param space the specified {@code space} of cursor
+     * @param value the specified {@code value} of cursor
+     * @throws NullPointerException If the specified flow is null
+     */
+    public JsonCursor(
+        @NotNull Flow flow,
+        @NotNull Alias alias,
+        @NotNull Space space,
+        @NotNull Value value
+    ) {
+        super(alias, space, value);
+        if (flow != null) {
+            this.flow = flow;
+            this.stack = new byte[16];
+        } else {
+            throw new NullPointerException(
+                "Received flow is null"
+            );
+        }
+    }
+
+    @Override
+    public int next() throws IOException {
+        Flow u = flow;
+        if (u == null) {
+            return token = END;
+        }
+
+        byte w = read(u);
+        int p = phase;
+        int d = depth;
+
+        if (p == AFTER) {
+            if (d == 0) {
+                if (w == 0) {
+                    return token = END;
+                }
+                throw new IOException(
+                    "Symbol: `" + w + "` after the end"
+                );
+            }
+            byte c = stack[d - 1];
+            if (w == 0x2C) {
+                p = c == 0x7B ?
+                    KEY_NEXT : VALUE_NEXT;
+                w = read(u);
+            } else if (w == c + 2) {
+                return close(w);
+            } else {
+                throw new IOException(
+                    "Symbol: `" + w + "`, expected "
+                        + "`,` or `" + (char) (c + 2) + '`'
+                );
+            }
+        }
+
+        switch (p) {
+            case KEY_FIRST: {
+                if (w == 0x7D) {
+                    return close(w);
+                }
+            }
+            case KEY_NEXT: {
+                if (w == 0x22 || w == 0x27) {
+                    string(u, w, true);
+                    phase = COLON;
+                    space.slip(0);
+                    value.slip(0);
+                    return token = KEY;
+                }
+                throw new IOException(
+                    "Symbol: `" + w + "`, expected a key"
+                );
+            }
+            case COLON: {
+                if (w != 0x3A) {
+                    throw new IOException(
+                        "Requires `:` but `" + w + "` is here"
+                    );
+                }
+                w = read(u);
+                break;
+            }
+            case VALUE_FIRST: {
+                if (w == 0x5D) {
+                    return close(w);
+                }
+            }
+        }
+
+        if (d == 0 || stack[d - 1] == 0x5B) {
+            alias.slip(0);
+        }
+
+        switch (w) {
+            case 0x7B:
+            case 0x5B: {
+                if (d == stack.length) {
+                    byte[] s = new byte[d * 2];
+                    System.arraycopy(
+                        stack, 0, s, 0, d
+                    );
+                    stack = s;
+                }
+                stack[d] = w;
+                depth = d + 1;
+                space.slip(0, w);
+                value.slip(0);
+                if (w == 0x7B) {
+                    phase = KEY_FIRST;
+                    return token = START_OBJECT;
+                } else {
+                    phase = VALUE_FIRST;
+                    return token = START_ARRAY;
+                }
+            }
+            case 0x22:
+            case 0x27: {
+                string(u, w, false);
+                phase = AFTER;
+                space.slip(0, w);
+                return token = VALUE;
+            }
+            case 0x2B:
+            case 0x2D:
+            case 0x2E:
+            case 0x30:
+            case 0x31:
+            case 0x32:
+            case 0x33:
+            case 0x34:
+            case 0x35:
+            case 0x36:
+            case 0x37:
+            case 0x38:
+            case 0x39:
+            case 0x61:
+            case 0x65:
+            case 0x66:
+            case 0x6C:
+            case 0x6E:
+            case 0x72:
+            case 0x73:
+            case 0x74:
+            case 0x75: {
+                bare(u, w);
+                phase = AFTER;
+                space.slip(0);
+                return token = VALUE;
+            }
+            case 0x00: {
+                if (d == 0 && p == VALUE_NEXT) {
+                    return token = END;
+                }
+                throw new IOException(
+                    "Missing part of data, depth: " + d
+                );
+            }
+        }
+
+        throw new IOException(
+            "Symbol: `" + w + "`, expected a value"
+        );
+    }
+
+    /**
+     * Skips the children of the current object or array by
+     * only tracking brackets, quotes and escapes, and moves
+     * to its {@link #END_OBJECT} or {@link #END_ARRAY}
+     *
+     * @throws IOException If a read error or parsing error occurs
+     */
+    @Override
+    public void skipChildren()
+        throws IOException {
+        int d = depth;
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY: {
+                close(
+                    Skipper.brace(
+                        flow, stack[d - 1], false
+                    )
+                );
+            }
+        }
+    }
+
+    /**
+     * Closes the current object or array
+     */
+    protected int close(
+        byte w
+    ) {
+        depth--;
+        phase = AFTER;
+        alias.slip(0);
+        space.slip(0, w);
+        value.slip(0);
+        return token = w == 0x7D ?
+            END_OBJECT : END_ARRAY;
+    }
+
+    /**
+     * Returns the next byte that is not a
+     * whitespace, or {@code 0} if there are no more
+     */
+    protected byte read(
+        Flow u
+    ) throws IOException {
+        while (u.i < u.l || u.load() > 0) {
+            int i = Swar.skip(
+                u.v, u.i, u.l
+            );
+            if (i < u.l) {
+                u.i = i + 1;
+                return u.v[i];
+            }
+            u.i = i;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the bare value beginning with the specified byte
+     */
+    protected void bare(
+        Flow u, byte w
+    ) throws IOException {
+        Value v = value;
+        byte[] val = v.flow();
+
+        int z = 0;
+        while (true) {
+            if (z == val.length) {
+                val = v.grow(z, z + 1);
+            }
+            val[z++] = w;
+
+            if (u.i >= u.l && u.load() <= 0) {
+                break;
+            }
+            w = u.v[u.i];
+            switch (w) {
+                case 0x2B:
+                case 0x2D:
+                case 0x2E:
+                case 0x30:
+                case 0x31:
+                case 0x32:
+                case 0x33:
+                case 0x34:
+                case 0x35:
+                case 0x36:
+                case 0x37:
+                case 0x38:
+                case 0x39:
+                case 0x61:
+                case 0x65:
+                case 0x66:
+                case 0x6C:
+                case 0x6E:
+                case 0x72:
+                case 0x73:
+                case 0x74:
+                case 0x75: {
+                    u.i++;
+                    continue;
+                }
+            }
+            break;
+        }
+        v.slip(z);
+    }
+
+    /**
+     * Reads the string closed by the specified quote
+     * into the alias if it is a key, otherwise into the value
+     */
+    protected void string(
+        Flow u, byte it, boolean key
+    ) throws IOException {
+        Value g = key ? alias : value;
+        byte[] b = g.flow();
+
+        int o = 0;
+        while (true) {
+            int j = u.i,
+                l = j,
+                k = u.l;
+            byte[] e = u.v;
+            j = Swar.scan(
+                e, j, k, it
+            );
+            while (j < k) {
+                byte w = e[j];
+                if (w != it &&
+                    w != 0x5C) {
+                    j++;
+                    continue;
+                }
+                break;
+            }
+
+            if (l < j) {
+                int r = o + j - l;
+                if (r > b.length) {
+                    b = g.grow(o, r);
+                }
+                System.arraycopy(
+                    e, l, b, o, j - l
+                );
+                o = r;
+            }
+
+            if (j < k) {
+                u.i = j + 1;
+                if (e[j] == it) {
+                    if (key) {
+                        g.slip(o);
+                    } else {
+                        g.slip(o, it);
+                    }
+                    return;
+                }
+                if (o + 4 > b.length) {
+                    b = g.grow(o, o + 4);
+                }
+                o = escape(u, b, o);
+                continue;
+            }
+
+            u.i = j;
+            if (u.load() <= 0) {
+                throw new IOException(
+                    "No more readable bytes, please " +
+                        "check whether this flow is damaged"
+                );
+            }
+        }
+    }
+
+    /**
+     * Decodes the escape after a backslash into the
+     * specified buffer, which has at least 4 bytes left
+     */
+    protected int escape(
+        Flow u, byte[] g, int o
+    ) throws IOException {
+        byte w = u.i < u.l ?
+            u.v[u.i++] : u.next();
+        switch (w) {
+            case 0x62:
+                g[o++] = '\b';
+                break;
+            case 0x66:
+                g[o++] = '\f';
+                break;
+            case 0x74:
+                g[o++] = '\t';
+                break;
+            case 0x72:
+                g[o++] = '\r';
+                break;
+            case 0x6E:
+                g[o++] = '\n';
+                break;
+            case 0x75:
+                int H, L = u.code(4);
+                if (L < 0x80) {
+                    g[o++] = (byte) L;
+                } else if (L < 0x800) {
+                    g[o++] = (byte) (L >> 6 | 0xC0);
+                    g[o++] = (byte) (L & 0x3F | 0x80);
+                } else if (L < 0xD800 || 0xDFFF < L) {
+                    g[o++] = (byte) (L >> 12 | 0xE0);
+                    g[o++] = (byte) (L >> 6 & 0x3F | 0x80);
+                    g[o++] = (byte) (L & 0x3F | 0x80);
+                } else if (0xDC40 > (L += 0x40) &&
+                    0x5C == u.next() && 0x75 == u.next() &&
+                    0xDBFF < (H = u.code(4)) && H < 0xE000) {
+                    g[o++] = (byte) (L >> 8 & 0x07 | 0xF0);
+                    g[o++] = (byte) (L >> 2 & 0x3F | 0x80);
+                    g[o++] = (byte) (L << 4 & 0x30 | H >> 6 & 0x0F | 0x80);
+                    g[o++] = (byte) (H & 0x3F | 0x80);
+                } else {
+                    throw new IOException("Illegal unicode");
+                }
+                break;
+            default: {
+                g[o++] = w;
+            }
+        }
+        return o;
+    }
+
+    /**
+     * Closes this cursor and the flow
+     */
+    @Override
+    public void close() {
+        super.close();
+        Flow u = flow;
+        if (u != null) {
+            flow = null;
+            u.close();
+        }
+    }
+}
@@ -0,0 +1,707 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import plus.kat.actor.*;
+import plus.kat.chain.*;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A json document indexed by one fast pass into a tape of longs, one entry
+ * for each object, array, key and scalar, which only records the offsets and
+ * lengths of the bytes and the links between the brackets. Nothing is decoded
+ * until it is accessed by a {@link LazyNode}, and the scalars are converted
+ * by a {@link Value} of this document, so that it is not thread-safe
+ *
+ * <pre>{@code
+ *  LazyDoc doc = LazyDoc.parse(bytes);
+ *  long id = doc.root().get("order").get("id").toLong();
+ * }</pre>
+ *
+ * <pre>{@code
+ *  entry = kind(4) | flag(1) | length or count(27) | offset or link(32)
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class LazyDoc {
+
+    public static final int
+        OBJECT = 1,
+        ARRAY = 2,
+        STRING = 3,
+        BARE = 4,
+        END = 5;
+
+    static final int SHIFT = 60;
+    static final long ESCAPED = 1L << 59;
+    static final int LIMIT = (1 << 27) - 1;
+    static final long MASK_32 = (1L << 32) - 1;
+
+    static final int
+        VALUE_NEXT = 0,
+        KEY_NEXT = 1,
+        KEY_FIRST = 2,
+        VALUE_FIRST = 3,
+        COLON = 4,
+        AFTER = 5;
+
+    protected final byte[] data;
+    protected final long[] tape;
+    protected final int size;
+
+    protected Value value;
+
+    /**
+     * Constructs a document with the specified data and tape
+     *
+     * @param data the specified source data
+     * @param tape the specified tape of the data
+     * @param size the specified number of the entries
+     */
+    protected LazyDoc(
+        byte[] data, long[] tape, int size
+    ) {
+        this.data = data;
+        this.tape = tape;
+        this.size = size;
+    }
+
+    /**
+     * Returns the root node of this document
+     */
+    @NotNull
+    public LazyNode root() {
+        return new LazyNode(this, 0);
+    }
+
+    /**
+     * Returns the number of the entries of the tape
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the source data of this document
+     */
+    @NotNull
+    public byte[] data() {
+        return data;
+    }
+
+    /**
+     * Returns the kind of the specified entry
+     */
+    public int kind(int index) {
+        return (int) (tape[index] >>> SHIFT);
+    }
+
+    /**
+     * Returns the index of the entry after the specified
+     * entry and all of its children if it is a container
+     */
+    public int skip(int index) {
+        long t = tape[index];
+        switch ((int) (t >>> SHIFT)) {
+            case OBJECT:
+            case ARRAY: {
+                return ((int) (t >>> 32) & LIMIT) + 1;
+            }
+        }
+        return index + 1;
+    }
+
+    /**
+     * Returns the number of the members of the specified
+     * object or the elements of the specified array, otherwise zero
+     */
+    public int count(int index) {
+        long t = tape[index];
+        switch ((int) (t >>> SHIFT)) {
+            case OBJECT:
+            case ARRAY: {
+                return (int) (tape[(int) (t >>> 32) & LIMIT] >>> 32) & LIMIT;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the index of the value of the specified key
+     * in the specified object, or {@code -1} if not found
+     */
+    public int find(
+        int index, @NotNull String key
+    ) {
+        long t = tape[index];
+        if ((int) (t >>> SHIFT) == OBJECT) {
+            int end = (int) (t >>> 32) & LIMIT;
+            for (int i = index + 1; i < end; ) {
+                if (equals(i, key)) {
+                    return i + 1;
+                }
+                i = skip(i + 1);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the specified element
+     * of the specified array, or {@code -1} if not found
+     */
+    public int find(
+        int index, int element
+    ) {
+        long t = tape[index];
+        if ((int) (t >>> SHIFT) == ARRAY) {
+            int end = (int) (t >>> 32) & LIMIT;
+            for (int i = index + 1; i < end; i = skip(i)) {
+                if (element-- == 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if the specified string
+     * entry is equal to the specified key
+     */
+    public boolean equals(
+        int index, @NotNull String key
+    ) {
+        long t = tape[index];
+        if ((int) (t >>> SHIFT) != STRING) {
+            return false;
+        }
+
+        byte[] b;
+        int o, l;
+        if ((t & ESCAPED) == 0) {
+            b = data;
+            o = (int) (t & MASK_32);
+            l = (int) (t >>> 32) & LIMIT;
+        } else {
+            Value v = load(index);
+            b = v.flow();
+            o = 0;
+            l = v.size();
+        }
+
+        int n = key.length();
+        if (n > l) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            char c = key.charAt(i);
+            if (c >= 0x80) {
+                byte[] k = key.getBytes(UTF_8);
+                if (k.length != l) {
+                    return false;
+                }
+                for (int j = 0; j < l; j++) {
+                    if (k[j] != b[o + j]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (b[o + i] != c) {
+                return false;
+            }
+        }
+        return n == l;
+    }
+
+    /**
+     * Loads the specified scalar entry into the value of this
+     * document, decoding the escapes of a string, and returns it
+     *
+     * @throws IllegalStateException If the entry is not a scalar
+     */
+    @NotNull
+    public Value load(int index) {
+        Value v = value;
+        if (v == null) {
+            value = v = new Value(64);
+        }
+
+        long t = tape[index];
+        int o = (int) (t & MASK_32);
+        int l = (int) (t >>> 32) & LIMIT;
+
+        switch ((int) (t >>> SHIFT)) {
+            case STRING: {
+                if ((t & ESCAPED) == 0) {
+                    v.load(data, o, l);
+                } else {
+                    decode(v, o, o + l);
+                }
+                return v.slip(
+                    v.size(), data[o - 1]
+                );
+            }
+            case BARE: {
+                v.load(data, o, l);
+                return v.slip(l, (byte) 0);
+            }
+        }
+
+        throw new IllegalStateException(
+            "The entry<" + index + "> is not a scalar"
+        );
+    }
+
+    /**
+     * Returns the raw text of the specified entry, which is
+     * the whole json of an object or array and the escaped
+     * content of a string without the quotes
+     */
+    @NotNull
+    public String raw(int index) {
+        long t = tape[index];
+        int o = (int) (t & MASK_32), l;
+        switch ((int) (t >>> SHIFT)) {
+            case OBJECT:
+            case ARRAY: {
+                long e = tape[(int) (t >>> 32) & LIMIT];
+                l = (int) (e & MASK_32) - o + 1;
+                break;
+            }
+            default: {
+                l = (int) (t >>> 32) & LIMIT;
+            }
+        }
+        return new String(
+            data, o, l, UTF_8
+        );
+    }
+
+    /**
+     * Parses the specified json into a document
+     *
+     * @param data the specified json to be indexed
+     * @throws IOException          If the json is illegal
+     * @throws NullPointerException If the specified data is null
+     */
+    @NotNull
+    public static LazyDoc parse(
+        @NotNull byte[] data
+    ) throws IOException {
+        return parse(
+            data, 0, data.length
+        );
+    }
+
+    /**
+     * Parses the specified json into a document
+     *
+     * @param data   the specified json to be indexed
+     * @param offset the specified begin index of json
+     * @param length the specified length of json
+     * @throws IOException               If the json is illegal
+     * @throws NullPointerException      If the specified data is null
+     * @throws IndexOutOfBoundsException If the offset or length is out of range
+     */
+    @NotNull
+    public static LazyDoc parse(
+        @NotNull byte[] data, int offset, int length
+    ) throws IOException {
+        if (offset < 0 || length < 0 ||
+            offset > data.length - length) {
+            throw new IndexOutOfBoundsException(
+                "Received offset(" + offset + ") and length("
+                    + length + ") are out of " + data.length
+            );
+        }
+
+        int n = 0;
+        long[] t = new long[
+            (length >> 3) + 16
+            ];
+
+        int d = 0;
+        int[] opens = new int[16];
+        int[] counts = new int[16];
+
+        int p = VALUE_NEXT;
+        int i = offset, e = offset + length;
+
+        while (true) {
+            i = Swar.skip(data, i, e);
+            if (i == e) {
+                if (d == 0 && p == AFTER) {
+                    break;
+                }
+                throw new IOException(
+                    "Missing part of data, depth: " + d
+                );
+            }
+
+            byte w = data[i++];
+            if (p == AFTER) {
+                if (d == 0) {
+                    throw new IOException(
+                        "Symbol: `" + w + "` after the end, at " + (i - 1)
+                    );
+                }
+                byte c = data[(int) (t[opens[d - 1]] & MASK_32)];
+                if (w == 0x2C) {
+                    p = c == 0x7B ?
+                        KEY_NEXT : VALUE_NEXT;
+                    continue;
+                }
+                if (w != c + 2) {
+                    throw new IOException(
+                        "Symbol: `" + w + "`, expected `,` or `"
+                            + (char) (c + 2) + "`, at " + (i - 1)
+                    );
+                }
+            }
+
+            switch (p) {
+                case KEY_FIRST: {
+                    if (w == 0x7D) {
+                        break;
+                    }
+                }
+                case KEY_NEXT: {
+                    if (w == 0x22 || w == 0x27) {
+                        if (n == t.length) {
+                            t = grow(t);
+                        }
+                        counts[d - 1]++;
+                        i = string(data, t, n++, i, e, w);
+                        p = COLON;
+                        continue;
+                    }
+                    throw new IOException(
+                        "Symbol: `" + w + "`, expected a key, at " + (i - 1)
+                    );
+                }
+                case COLON: {
+                    if (w == 0x3A) {
+                        p = VALUE_NEXT;
+                        continue;
+                    }
+                    throw new IOException(
+                        "Requires `:` but `" + w + "` is here, at " + (i - 1)
+                    );
+                }
+                case VALUE_FIRST: {
+                    if (w == 0x5D) {
+                        break;
+                    }
+                }
+                case VALUE_NEXT: {
+                    if (n == t.length) {
+                        t = grow(t);
+                    }
+                    if (d != 0 && data[(int) (
+                        t[opens[d - 1]] & MASK_32)] == 0x5B) {
+                        counts[d - 1]++;
+                    }
+                    switch (w) {
+                        case 0x7B:
+                        case 0x5B: {
+                            if (d == opens.length) {
+                                int[] o = new int[d * 2];
+                                int[] c = new int[d * 2];
+                                System.arraycopy(opens, 0, o, 0, d);
+                                System.arraycopy(counts, 0, c, 0, d);
+                                opens = o;
+                                counts = c;
+                            }
+                            opens[d] = n;
+                            counts[d++] = 0;
+                            t[n++] = (long) (w == 0x7B ? OBJECT : ARRAY) << SHIFT | (i - 1);
+                            p = w == 0x7B ? KEY_FIRST : VALUE_FIRST;
+                            continue;
+                        }
+                        case 0x22:
+                        case 0x27: {
+                            i = string(data, t, n++, i, e, w);
+                            p = AFTER;
+                            continue;
+                        }
+                        case 0x2B:
+                        case 0x2D:
+                        case 0x2E:
+                        case 0x30:
+                        case 0x31:
+                        case 0x32:
+                        case 0x33:
+                        case 0x34:
+                        case 0x35:
+                        case 0x36:
+                        case 0x37:
+                        case 0x38:
+                        case 0x39:
+                        case 0x61:
+                        case 0x65:
+                        case 0x66:
+                        case 0x6C:
+                        case 0x6E:
+                        case 0x72:
+                        case 0x73:
+                        case 0x74:
+                        case 0x75: {
+                            int o = i - 1;
+                            i = bare(data, i, e);
+                            if (i - o > LIMIT) {
+                                throw new IOException(
+                                    "The value at " + o + " is too long"
+                                );
+                            }
+                            t[n++] = (long) BARE << SHIFT | (long) (i - o) << 32 | o;
+                            p = AFTER;
+                            continue;
+                        }
+                    }
+                    throw new IOException(
+                        "Symbol: `" + w + "`, expected a value, at " + (i - 1)
+                    );
+                }
+            }
+
+            // close the current container
+            if (n == t.length) {
+                t = grow(t);
+            }
+            if (n > LIMIT) {
+                throw new IOException(
+                    "The number of entries is out of " + LIMIT
+                );
+            }
+            int open = opens[--d];
+            t[open] |= (long) n << 32;
+            t[n++] = (long) END << SHIFT | (long) counts[d] << 32 | (i - 1);
+            p = AFTER;
+        }
+
+        return new LazyDoc(
+            data, t, n
+        );
+    }
+
+    /**
+     * Grows the specified tape
+     */
+    static long[] grow(
+        long[] t
+    ) {
+        int l = t.length;
+        long[] o = new long[l + (l >> 1) + 16];
+        System.arraycopy(
+            t, 0, o, 0, l
+        );
+        return o;
+    }
+
+    /**
+     * Records the string whose content begins at the specified
+     * index, and returns the index after the closing quote
+     */
+    static int string(
+        byte[] b, long[] t, int n,
+        int i, int e, byte it
+    ) throws IOException {
+        int o = i;
+        long f = 0;
+        while (true) {
+            i = Swar.scan(
+                b, i, e, it
+            );
+            while (i < e) {
+                byte w = b[i];
+                if (w != it &&
+                    w != 0x5C) {
+                    i++;
+                    continue;
+                }
+                break;
+            }
+            if (i >= e) {
+                throw new IOException(
+                    "The string at " + (o - 1) + " is not closed"
+                );
+            }
+            if (b[i] == it) {
+                break;
+            }
+            f = ESCAPED;
+            i += 2;
+        }
+        if (i - o > LIMIT) {
+            throw new IOException(
+                "The string at " + (o - 1) + " is too long"
+            );
+        }
+        t[n] = (long) STRING << SHIFT | f | (long) (i - o) << 32 | o;
+        return i + 1;
+    }
+
+    /**
+     * Returns the index after the bare value
+     */
+    static int bare(
+        byte[] b, int i, int e
+    ) {
+        while (i < e) {
+            switch (b[i]) {
+                case 0x2B:
+                case 0x2D:
+                case 0x2E:
+                case 0x30:
+                case 0x31:
+                case 0x32:
+                case 0x33:
+                case 0x34:
+                case 0x35:
+                case 0x36:
+                case 0x37:
+                case 0x38:
+                case 0x39:
+                case 0x61:
+                case 0x65:
+                case 0x66:
+                case 0x6C:
+                case 0x6E:
+                case 0x72:
+                case 0x73:
+                case 0x74:
+                case 0x75: {
+                    i++;
+                    continue;
+                }
+            }
+            break;
+        }
+        return i;
+    }
+
+    /**
+     * Decodes the escaped string between the specified
+     * indexes into the specified value
+     */
+    protected void decode(
+        Value v, int i, int e
+    ) {
+        byte[] b = data;
+        byte[] g = v.grow(
+            0, e - i
+        );
+
+        int o = 0;
+        while (i < e) {
+            byte w = b[i++];
+            if (w != 0x5C) {
+                g[o++] = w;
+                continue;
+            }
+            switch (w = b[i++]) {
+                case 0x62:
+                    g[o++] = '\b';
+                    break;
+                case 0x66:
+                    g[o++] = '\f';
+                    break;
+                case 0x74:
+                    g[o++] = '\t';
+                    break;
+                case 0x72:
+                    g[o++] = '\r';
+                    break;
+                case 0x6E:
+                    g[o++] = '\n';
+                    break;
+                case 0x75: {
+                    int H, L = hex(b, i);
+                    i += 4;
+                    if (L < 0x80) {
+                        g[o++] = (byte) L;
+                    } else if (L < 0x800) {
+                        g[o++] = (byte) (L >> 6 | 0xC0);
+                        g[o++] = (byte) (L & 0x3F | 0x80);
+                    } else if (L < 0xD800 || 0xDFFF < L) {
+                        g[o++] = (byte) (L >> 12 | 0xE0);
+                        g[o++] = (byte) (L >> 6 & 0x3F | 0x80);
+                        g[o++] = (byte) (L & 0x3F | 0x80);
+                    } else if (0xDC40 > (L += 0x40) && i + 6 <= e &&
+                        b[i] == 0x5C && b[i + 1] == 0x75 &&
+                        0xDBFF < (H = hex(b, i + 2)) && H < 0xE000) {
+                        i += 6;
+                        g[o++] = (byte) (L >> 8 & 0x07 | 0xF0);
+                        g[o++] = (byte) (L >> 2 & 0x3F | 0x80);
+                        g[o++] = (byte) (L << 4 & 0x30 | H >> 6 & 0x0F | 0x80);
+                        g[o++] = (byte) (H & 0x3F | 0x80);
+                    } else {
+                        throw new IllegalStateException(
+                            "Illegal unicode at " + (i - 6)
+                        );
+                    }
+                    break;
+                }
+                default: {
+                    g[o++] = w;
+                }
+            }
+        }
+        v.slip(o);
+    }
+
+    /**
+     * Reads the hex-code of 4 bytes at the specified index
+     */
+    static int hex(
+        byte[] b, int i
+    ) {
+        int n = 0, e = i + 4;
+        if (e > b.length) {
+            throw new IllegalStateException(
+                "Missing hex-code at " + i
+            );
+        }
+        for (; i < e; i++) {
+            int w = b[i];
+            if (w > 0x2F) {
+                if (w < 0x3A) {
+                    n = n << 4 | (w - 0x30);
+                    continue;
+                }
+                if (w > 0x60 && w < 0x67) {
+                    n = n << 4 | (w - 0x57);
+                    continue;
+                }
+                if (w > 0x40 && w < 0x47) {
+                    n = n << 4 | (w - 0x37);
+                    continue;
+                }
+            }
+            throw new IllegalStateException(
+                "Illegal hex-code: " + w
+            );
+        }
+        return n;
+    }
+}
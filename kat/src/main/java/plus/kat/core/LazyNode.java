@@ -0,0 +1,224 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import plus.kat.actor.*;
+import plus.kat.chain.*;
+
+import static plus.kat.core.LazyDoc.*;
+
+/**
+ * A handle of an entry of a {@link LazyDoc}, which holds
+ * nothing but the index and is only created when navigated
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class LazyNode {
+
+    private final int index;
+    private final LazyDoc doc;
+
+    /**
+     * Constructs a node of the specified entry
+     *
+     * @param doc   the specified document
+     * @param index the specified index of the entry
+     */
+    LazyNode(
+        LazyDoc doc, int index
+    ) {
+        this.doc = doc;
+        this.index = index;
+    }
+
+    /**
+     * Returns the document of this node
+     */
+    @NotNull
+    public LazyDoc doc() {
+        return doc;
+    }
+
+    /**
+     * Returns the index of the entry of this node
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Returns the kind of this node, such as {@link LazyDoc#OBJECT}
+     */
+    public int kind() {
+        return doc.kind(index);
+    }
+
+    /**
+     * Returns {@code true} if this node is an object
+     */
+    public boolean isObject() {
+        return doc.kind(index) == OBJECT;
+    }
+
+    /**
+     * Returns {@code true} if this node is an array
+     */
+    public boolean isArray() {
+        return doc.kind(index) == ARRAY;
+    }
+
+    /**
+     * Returns {@code true} if this node is a string
+     */
+    public boolean isString() {
+        return doc.kind(index) == STRING;
+    }
+
+    /**
+     * Returns {@code true} if this node is the literal null
+     */
+    public boolean isNull() {
+        return doc.kind(index) == BARE &&
+            doc.load(index).isNothing();
+    }
+
+    /**
+     * Returns the number of the members of this object
+     * or the elements of this array, otherwise zero
+     */
+    public int size() {
+        return doc.count(index);
+    }
+
+    /**
+     * Returns the value of the specified key
+     * if this node is an object, otherwise null
+     *
+     * @param key the specified key
+     */
+    @Nullable
+    public LazyNode get(
+        @NotNull String key
+    ) {
+        int i = doc.find(index, key);
+        return i < 0 ? null : new LazyNode(doc, i);
+    }
+
+    /**
+     * Returns the specified element
+     * if this node is an array, otherwise null
+     *
+     * @param element the specified index of element
+     */
+    @Nullable
+    public LazyNode get(
+        int element
+    ) {
+        int i = doc.find(index, element);
+        return i < 0 ? null : new LazyNode(doc, i);
+    }
+
+    /**
+     * Returns the node of the specified path of keys
+     * and elements from this node, or null if not found
+     *
+     * <pre>{@code
+     *  node.at("order", "items", 0, "sku")
+     * }</pre>
+     *
+     * @param path the specified keys or indexes
+     */
+    @Nullable
+    public LazyNode at(
+        @NotNull Object... path
+    ) {
+        int i = index;
+        for (Object key : path) {
+            if (key instanceof Integer) {
+                i = doc.find(i, (int) key);
+            } else {
+                i = doc.find(i, key.toString());
+            }
+            if (i < 0) {
+                return null;
+            }
+        }
+        return new LazyNode(doc, i);
+    }
+
+    /**
+     * Returns the value of this scalar, which is
+     * shared by the document until the next access
+     *
+     * @throws IllegalStateException If this node is not a scalar
+     */
+    @NotNull
+    public Value value() {
+        return doc.load(index);
+    }
+
+    /**
+     * Returns the int value of this scalar
+     *
+     * @throws IllegalArgumentException If this node is not an int
+     */
+    public int toInt() {
+        return doc.load(index).toInt();
+    }
+
+    /**
+     * Returns the long value of this scalar
+     *
+     * @throws IllegalArgumentException If this node is not a long
+     */
+    public long toLong() {
+        return doc.load(index).toLong();
+    }
+
+    /**
+     * Returns the double value of this scalar
+     *
+     * @throws IllegalArgumentException If this node is not a double
+     */
+    public double toDouble() {
+        return doc.load(index).toDouble(0D);
+    }
+
+    /**
+     * Returns the boolean value of this scalar
+     *
+     * @throws IllegalArgumentException If this node is not a boolean
+     */
+    public boolean toBoolean() {
+        return doc.load(index).toBoolean();
+    }
+
+    /**
+     * Returns the decoded string of this scalar,
+     * or the raw json if this node is a container
+     */
+    @Override
+    public String toString() {
+        switch (doc.kind(index)) {
+            case STRING:
+            case BARE: {
+                return doc.load(index).toString();
+            }
+        }
+        return doc.raw(index);
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.flow.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} of the records of a newline-delimited text,
+ * such as ndjson and line-delimited kat, each record is a flow over a
+ * disjoint range of the source without copying, and the text is split
+ * at the record boundaries so that the records can be decoded in parallel
+ *
+ * <pre>{@code
+ *  Stream<User> users = StreamSupport.stream(
+ *      Lines.of(path), true
+ *  ).map(flow -> spare.parse(flow));
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class Lines implements Spliterator<Flow> {
+
+    /**
+     * The window of a mapping, a record can't cross it
+     */
+    static final int WINDOW = 1 << 30;
+
+    /**
+     * The size of a range that is no longer split
+     */
+    static final int BLOCK = 1 << 14;
+
+    protected final ByteBuffer[] parts;
+    protected int part, last;
+    protected int index, limit;
+
+    /**
+     * Constructs the lines of the specified parts,
+     * each of which ends at a record boundary
+     *
+     * @param parts the specified parts of the text
+     * @throws NullPointerException If the specified parts is null
+     */
+    public Lines(
+        @NotNull ByteBuffer... parts
+    ) {
+        this(
+            parts, 0, parts.length
+        );
+    }
+
+    /**
+     * Constructs the lines of the specified range of parts
+     */
+    protected Lines(
+        ByteBuffer[] parts, int part, int last
+    ) {
+        this.parts = parts;
+        this.part = part;
+        this.last = last;
+        if (part < last) {
+            ByteBuffer b = parts[part];
+            index = b.position();
+            limit = b.limit();
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(
+        @NotNull Consumer<? super Flow> action
+    ) {
+        while (part < last) {
+            ByteBuffer b = parts[part];
+            while (index < limit) {
+                int i = index;
+                int j = index(b, i, limit);
+                index = j + 1;
+
+                // trims the carriage return and spaces
+                int k = j;
+                while (k > i &&
+                    (b.get(k - 1) & 0xFF) <= 0x20) {
+                    k--;
+                }
+                while (i < k &&
+                    (b.get(i) & 0xFF) <= 0x20) {
+                    i++;
+                }
+                if (i < k) {
+                    action.accept(
+                        flow(b, i, k - i)
+                    );
+                    return true;
+                }
+            }
+            if (++part < last) {
+                b = parts[part];
+                index = b.position();
+                limit = b.limit();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<Flow> trySplit() {
+        int n = last - part;
+        if (n > 1) {
+            int m = part + n / 2;
+            Lines prefix = new Lines(
+                parts, part, m
+            );
+            prefix.index = index;
+            prefix.limit = limit;
+
+            ByteBuffer b = parts[part = m];
+            index = b.position();
+            limit = b.limit();
+            return prefix;
+        }
+
+        if (n == 1 &&
+            limit - index > BLOCK) {
+            ByteBuffer b = parts[part];
+            int j = index(
+                b, index + (limit - index) / 2, limit
+            );
+            if (j < limit - 1) {
+                Lines prefix = new Lines(
+                    parts, part, part + 1
+                );
+                prefix.index = index;
+                prefix.limit = j + 1;
+                index = j + 1;
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = limit - index;
+        for (int i = part + 1; i < last; i++) {
+            size += parts[i].remaining();
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Returns the flow of the specified record
+     */
+    protected Flow flow(
+        ByteBuffer b, int i, int l
+    ) {
+        if (b.hasArray()) {
+            return new ByteFlow(
+                b.array(), b.arrayOffset() + i, l
+            );
+        }
+        ByteBuffer d = b.duplicate();
+        d.limit(i + l);
+        d.position(i);
+        return new ByteBufferFlow(d);
+    }
+
+    /**
+     * Returns the index of the first line feed between the specified
+     * begin index and end index, otherwise returns the end index
+     */
+    static int index(
+        ByteBuffer b, int j, int k
+    ) {
+        if (b.hasArray()) {
+            int o = b.arrayOffset();
+            return Swar.index(
+                b.array(), o + j, o + k, (byte) 0x0A
+            ) - o;
+        }
+
+        if (b.order() == ByteOrder.LITTLE_ENDIAN) {
+            for (int e = k - 8; j <= e; j += 8) {
+                long t = Swar.equal(
+                    b.getLong(j), Swar.LF
+                );
+                if (t != 0) {
+                    return j + (Long.numberOfTrailingZeros(t) >>> 3);
+                }
+            }
+        }
+        for (; j < k; j++) {
+            if (b.get(j) == 0x0A) {
+                return j;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Returns the lines of the specified text
+     *
+     * @param text the specified text
+     * @throws NullPointerException If the specified text is null
+     */
+    @NotNull
+    public static Lines of(
+        @NotNull byte[] text
+    ) {
+        return new Lines(
+            ByteBuffer.wrap(text)
+        );
+    }
+
+    /**
+     * Returns the lines of the specified range of the text
+     *
+     * @param text   the specified text
+     * @param index  the start index of the text
+     * @param length the specified length of the text
+     * @throws NullPointerException      If the specified text is null
+     * @throws IndexOutOfBoundsException If the range is out of the text
+     */
+    @NotNull
+    public static Lines of(
+        @NotNull byte[] text, int index, int length
+    ) {
+        return new Lines(
+            ByteBuffer.wrap(text, index, length)
+        );
+    }
+
+    /**
+     * Returns the lines of the specified file, which
+     * is mapped into memory instead of being read
+     *
+     * @param path the specified path of the file
+     * @throws IOException If an I/O error occurs
+     */
+    @NotNull
+    public static Lines of(
+        @NotNull Path path
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+            path, StandardOpenOption.READ
+        )) {
+            return of(channel);
+        }
+    }
+
+    /**
+     * Returns the lines of the specified channel from its position,
+     * which is mapped into memory by windows of at most 1 GiB
+     *
+     * @param channel the specified channel of the file
+     * @throws IOException If an I/O error occurs or a record exceeds a window
+     */
+    @NotNull
+    public static Lines of(
+        @NotNull FileChannel channel
+    ) throws IOException {
+        long pos = channel.position();
+        long end = channel.size();
+
+        List<ByteBuffer> parts = new ArrayList<>();
+        while (pos < end) {
+            long size = Math.min(
+                end - pos, WINDOW
+            );
+            MappedByteBuffer b = channel.map(
+                FileChannel.MapMode.READ_ONLY, pos, size
+            );
+            b.order(
+                ByteOrder.LITTLE_ENDIAN
+            );
+
+            int n = (int) size;
+            if (pos + size < end) {
+                // ends the window at the last line feed
+                while (n > 0 &&
+                    b.get(n - 1) != 0x0A) {
+                    n--;
+                }
+                if (n == 0) {
+                    throw new IOException(
+                        "Record at " + pos + " exceeds " + WINDOW + " bytes"
+                    );
+                }
+                b.limit(n);
+            }
+            parts.add(b);
+            pos += n;
+        }
+
+        return new Lines(
+            parts.toArray(new ByteBuffer[0])
+        );
+    }
+}
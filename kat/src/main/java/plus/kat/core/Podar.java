@@ -125,11 +125,17 @@ public class Podar implements Solver {
                                 }
                             }
                             case 0x0: {
+                                if (x == key.length) {
+                                    key = a.grow(x, x + 1);
+                                }
                                 key[x++] = w;
                                 continue;
                             }
                             case 0x1:
                             case 0x3: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = w;
                                 continue;
                             }
@@ -194,6 +200,9 @@ public class Podar implements Solver {
                         switch (i) {
                             case 0x1:
                             case 0x3: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = w;
                                 continue;
                             }
@@ -217,6 +226,9 @@ public class Podar implements Solver {
                         switch (i) {
                             case 0x1:
                             case 0x3: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = w;
                                 continue;
                             }
@@ -246,12 +258,18 @@ public class Podar implements Solver {
                                             w = u.i < u.l ?
                                                 u.v[u.i++] : u.next();
                                             if (w != ']') {
+                                                if (z == val.length) {
+                                                    val = v.grow(z, z + 1);
+                                                }
                                                 val[z++] = w;
                                                 continue;
                                             }
 
                                             if ((j = u.next()) != ']' &
                                                 (k = u.next()) != GT) {
+                                                if (z + 3 > val.length) {
+                                                    val = v.grow(z, z + 3);
+                                                }
                                                 val[z++] = w;
                                                 val[z++] = j;
                                                 val[z++] = k;
@@ -272,11 +290,17 @@ public class Podar implements Solver {
                     case 0x26: {
                         switch (i) {
                             case 0x0: {
+                                if (x == key.length) {
+                                    key = a.grow(x, x + 1);
+                                }
                                 key[x++] = code(u);
                                 continue;
                             }
                             case 0x1:
                             case 0x3: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = code(u);
                                 continue;
                             }
@@ -291,6 +315,9 @@ public class Podar implements Solver {
                         switch (i) {
                             case 0x1:
                             case 0x3: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = w;
                                 continue;
                             }
@@ -318,6 +345,9 @@ public class Podar implements Solver {
                             }
                             case 0x1:
                             case 0x3: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = w;
                                 continue;
                             }
@@ -343,9 +373,15 @@ public class Podar implements Solver {
                     case 0x20: {
                         switch (i) {
                             case 0x1: {
+                                u.i = Swar.skip(
+                                    u.v, u.i, u.l
+                                );
                                 continue;
                             }
                             case 0x3: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = w;
                                 continue;
                             }
@@ -399,10 +435,16 @@ public class Podar implements Solver {
                                         }
                                     }
 
+                                    if (x == key.length) {
+                                        key = a.grow(x, x + 1);
+                                    }
                                     key[x++] = w;
                                     while (true) {
                                         w = u.next();
                                         if (w != '=') {
+                                            if (x == key.length) {
+                                                key = a.grow(x, x + 1);
+                                            }
                                             key[x++] = w;
                                             continue;
                                         }
@@ -414,6 +456,9 @@ public class Podar implements Solver {
                                                 if (w == QUOT) {
                                                     break;
                                                 } else {
+                                                    if (z == val.length) {
+                                                        val = v.grow(z, z + 1);
+                                                    }
                                                     val[z++] = w;
                                                 }
                                             }
@@ -439,6 +484,9 @@ public class Podar implements Solver {
                         switch (i) {
                             case 0x1:
                             case 0x3: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = w;
                                 continue;
                             }
@@ -626,54 +674,44 @@ public class Podar implements Solver {
 
         Scope:
         while (true) {
-            byte w = u.next();
-            if (w == '<') {
-                switch (u.next()) {
-                    default: {
-                        while (true) {
-                            w = u.next();
-                            if (w != '>') {
-                                continue;
-                            }
-                            i++;
-                            continue Scope;
-                        }
+            Skipper.seek(u, (byte) '<');
+            switch (u.next()) {
+                default: {
+                    // a self-closing tag is not nested
+                    if (Skipper.seek(u, (byte) '>') != '/') {
+                        i++;
                     }
-                    case '/': {
-                        while (true) {
-                            w = u.next();
-                            if (w != '>') {
-                                continue;
-                            }
-                            if ((--i) == 0) {
-                                return;
-                            } else {
-                                continue Scope;
-                            }
-                        }
+                    continue;
+                }
+                case '/': {
+                    Skipper.seek(u, (byte) '>');
+                    if ((--i) == 0) {
+                        return;
+                    } else {
+                        continue;
                     }
-                    case '!': {
-                        w = u.next();
-                        switch (w) {
-                            case '[': {
-                                w = ']';
-                            }
-                            case '-': {
-                                while (true) {
-                                    if (u.next() != w) {
-                                        continue;
-                                    }
-                                    if (u.next() != w) {
-                                        continue;
-                                    }
-                                    if (u.next() == '>') {
-                                        continue Scope;
-                                    }
+                }
+                case '!': {
+                    byte w = u.next();
+                    switch (w) {
+                        case '[': {
+                            w = ']';
+                        }
+                        case '-': {
+                            while (true) {
+                                if (u.next() != w) {
+                                    continue;
+                                }
+                                if (u.next() != w) {
+                                    continue;
+                                }
+                                if (u.next() == '>') {
+                                    continue Scope;
                                 }
                             }
                         }
-                        throw new IOException();
                     }
+                    throw new IOException();
                 }
             }
         }
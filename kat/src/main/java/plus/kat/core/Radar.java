@@ -223,7 +223,7 @@ public class Radar implements Solver {
                         switch (i) {
                             case 0x20: {
                                 i = 0x60;
-                                continue;
+                                break;
                             }
                             case 0x21: {
                                 i = 0x01;
@@ -233,21 +233,28 @@ public class Radar implements Solver {
                             case 0x41:
                             case 0x60:
                             case 0x81: {
-                                continue;
+                                break;
                             }
                             case 0x00: {
                                 if (x != 0) i = 0x40;
-                                continue;
+                                break;
                             }
                             case 0x01: {
                                 if (z != 0) i = 0x41;
-                                continue;
+                                break;
+                            }
+                            default: {
+                                throw new IOException(
+                                    "Symbol: `" + w + "`, iv: "
+                                        + Integer.toBinaryString(i)
+                                );
                             }
                         }
-                        throw new IOException(
-                            "Symbol: `" + w + "`, iv: "
-                                + Integer.toBinaryString(i)
+                        // skip the rest of whitespace
+                        u.i = Swar.skip(
+                            u.v, u.i, u.l
                         );
+                        continue;
                     }
                     case 0x22:
                     case 0x27: {
@@ -294,7 +301,7 @@ public class Radar implements Solver {
                             case 0x20:
                             case 0x21: {
                                 o = y;
-                                g = key;
+                                g = kat;
                                 break;
                             }
                             default: {
@@ -313,6 +320,9 @@ public class Radar implements Solver {
                                     l = j,
                                     k = u.l;
                                 byte[] e = u.v;
+                                j = Swar.scan(
+                                    e, j, k, it
+                                );
                                 while (true) {
                                     if (j < k) {
                                         w = e[j];
@@ -323,7 +333,32 @@ public class Radar implements Solver {
                                         }
                                     }
 
+                                    if (j < k && w == it &&
+                                        o == 0 && i == 0x01) {
+                                        // unescaped and inside
+                                        // the buffer, no copying
+                                        u.i = j + 1;
+                                        n.onView(
+                                            a.slip(x),
+                                            s.slip(y, w),
+                                            v.slip(0, w),
+                                            e, l, j - l
+                                        );
+                                        // the view may have been loaded
+                                        // into the chains and grown them
+                                        key = a.flow();
+                                        val = v.flow();
+                                        i = 0x81;
+                                        x = y = 0;
+                                        continue Radar;
+                                    }
+
                                     if (l < j) {
+                                        int r = o + j - l;
+                                        if (r > g.length) {
+                                            g = i == 0 ? (key = a.grow(o, r)) :
+                                                i == 1 ? (val = v.grow(o, r)) : (kat = s.grow(o, r));
+                                        }
                                         System.arraycopy(
                                             e, l, g,
                                             o, j - l
@@ -368,6 +403,11 @@ public class Radar implements Solver {
                             }
 
                             while (true) {
+                                if (o + 4 > g.length) {
+                                    int r = o + 4;
+                                    g = i == 0 ? (key = a.grow(o, r)) :
+                                        i == 1 ? (val = v.grow(o, r)) : (kat = s.grow(o, r));
+                                }
                                 w = u.i < u.l ?
                                     u.v[u.i++] : u.next();
                                 switch (w) {
@@ -566,15 +606,24 @@ public class Radar implements Solver {
                     default: {
                         switch (i) {
                             case 0x00: {
+                                if (x == key.length) {
+                                    key = a.grow(x, x + 1);
+                                }
                                 key[x++] = w;
                                 continue;
                             }
                             case 0x01: {
+                                if (z == val.length) {
+                                    val = v.grow(z, z + 1);
+                                }
                                 val[z++] = w;
                                 continue;
                             }
                             case 0x20:
                             case 0x21: {
+                                if (y == kat.length) {
+                                    kat = s.grow(y, y + 1);
+                                }
                                 kat[y++] = w;
                                 continue;
                             }
@@ -613,6 +662,9 @@ public class Radar implements Solver {
                                             case 0x0A:
                                             case 0x0D:
                                             case 0x20: {
+                                                u.i = Swar.skip(
+                                                    u.v, u.i, u.l
+                                                );
                                                 continue;
                                             }
                                             case 0x5D:
@@ -663,59 +715,7 @@ public class Radar implements Solver {
         @NotNull Flow u,
         @NotNull byte w
     ) throws IOException {
-        int m = w >> 5 ^ 3 | 2;
-        Scope:
-        while (true) {
-            w = u.i < u.l ?
-                u.v[u.i++] : u.next();
-            switch (w) {
-                case 0x7B:
-                case 0x5B: {
-                    if ((m <<= 1) > 0) {
-                        m |= w >> 5 ^ 3;
-                        continue;
-                    }
-                    throw new IOException(
-                        Integer.toBinaryString(m)
-                    );
-                }
-                case 0x23: {
-                    while (true) {
-                        switch (u.next()) {
-                            case 0x0A:
-                            case 0x0D:
-                            case 0x23: {
-                                continue Scope;
-                            }
-                        }
-                    }
-                }
-                case 0x22: {
-                    while (true) {
-                        switch (u.next()) {
-                            case 0x5C: {
-                                u.next();
-                                continue;
-                            }
-                            case 0x22: {
-                                continue Scope;
-                            }
-                        }
-                    }
-                }
-                case 0x5D:
-                case 0x7D: {
-                    if ((m & 1 | 2) != w >> 5) {
-                        if ((m >>= 1) != 1) {
-                            continue;
-                        } else break Scope;
-                    }
-                    throw new IOException(
-                        Integer.toBinaryString(m)
-                    );
-                }
-            }
-        }
+        Skipper.brace(u, w, true);
     }
 
     /**
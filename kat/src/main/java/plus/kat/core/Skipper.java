@@ -0,0 +1,209 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import plus.kat.*;
+
+import java.io.IOException;
+
+/**
+ * Skips a subtree of the flow without decoding anything, which
+ * only tracks the depth of brackets and the state of strings, and
+ * jumps over the other bytes eight at a time by {@link Swar}
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+final class Skipper {
+
+    private Skipper() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Skips the rest of the object or array opened by
+     * the specified bracket and returns the closing bracket
+     *
+     * @param u    the specified flow
+     * @param w    the specified opening bracket
+     * @param note the flag that the number sign opens a comment
+     * @throws IOException If the flow is damaged or unpaired
+     */
+    static byte brace(
+        Flow u, byte w, boolean note
+    ) throws IOException {
+        long m = w >> 5 ^ 3 | 2;
+        while (true) {
+            if (u.i >= u.l) {
+                if (u.load() <= 0) {
+                    throw new IOException(
+                        "No more readable bytes, please " +
+                            "check whether this flow is damaged"
+                    );
+                }
+            }
+
+            int j = Swar.brace(
+                u.v, u.i, u.l
+            );
+            if (j == u.l) {
+                u.i = j;
+                continue;
+            }
+
+            u.i = j + 1;
+            switch (w = u.v[j]) {
+                case 0x7B:
+                case 0x5B: {
+                    if ((m <<= 1) > 0) {
+                        m |= w >> 5 ^ 3;
+                        continue;
+                    }
+                    throw new IOException(
+                        "Reach the limit depth of skipping"
+                    );
+                }
+                case 0x22:
+                case 0x27: {
+                    string(u, w);
+                    continue;
+                }
+                case 0x23: {
+                    if (note) {
+                        comment(u);
+                    }
+                    continue;
+                }
+                default: {
+                    if ((m & 1 | 2) != w >> 5) {
+                        if ((m >>= 1) != 1) {
+                            continue;
+                        }
+                        return w;
+                    }
+                    throw new IOException(
+                        "Terminator: `" + (char) w + "` is unpaired"
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Skips the rest of the string closed by the specified quote
+     *
+     * @param u  the specified flow
+     * @param it the specified quote
+     * @throws IOException If the flow is damaged
+     */
+    static void string(
+        Flow u, byte it
+    ) throws IOException {
+        while (true) {
+            int k = u.l;
+            byte[] e = u.v;
+            int j = Swar.scan(
+                e, u.i, k, it
+            );
+            while (j < k) {
+                byte w = e[j];
+                if (w != it &&
+                    w != 0x5C) {
+                    j++;
+                    continue;
+                }
+                break;
+            }
+
+            if (j < k) {
+                u.i = j + 1;
+                if (e[j] == it) {
+                    return;
+                }
+                if (u.i < k) {
+                    u.i++;
+                } else {
+                    u.next();
+                }
+                continue;
+            }
+
+            u.i = j;
+            if (u.load() <= 0) {
+                throw new IOException(
+                    "No more readable bytes, please " +
+                        "check whether this flow is damaged"
+                );
+            }
+        }
+    }
+
+    /**
+     * Skips the rest of the comment, which is closed
+     * by a line break or another number sign
+     *
+     * @param u the specified flow
+     * @throws IOException If the flow is damaged
+     */
+    static void comment(
+        Flow u
+    ) throws IOException {
+        while (true) {
+            switch (u.next()) {
+                case 0x0A:
+                case 0x0D:
+                case 0x23: {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Skips the flow up to and including the specified byte,
+     * and returns the byte before it, or zero if unknown
+     *
+     * @param u  the specified flow
+     * @param it the specified byte to be found
+     * @throws IOException If the flow is damaged
+     */
+    static byte seek(
+        Flow u, byte it
+    ) throws IOException {
+        byte w = 0;
+        while (true) {
+            int i = u.i, k = u.l;
+            if (i < k) {
+                byte[] e = u.v;
+                int j = Swar.index(
+                    e, i, k, it
+                );
+                if (j < k) {
+                    u.i = j + 1;
+                    return j > i ? e[j - 1] : w;
+                }
+                w = e[k - 1];
+                u.i = k;
+            }
+            if (u.load() <= 0) {
+                throw new IOException(
+                    "No more readable bytes, please " +
+                        "check whether this flow is damaged"
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,574 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.flow.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import static plus.kat.Algo.*;
+
+/**
+ * Slices the elements of the top-level array of a {@link Flow} one
+ * by one into a reusable buffer, the kat and json are sliced by the
+ * brackets and the doc by the children of the root element, so that
+ * the memory only depends on the largest element
+ *
+ * <pre>{@code
+ *  try (Slicer slicer = Slicer.of(Algo.JSON, flow)) {
+ *      while (slicer.next()) {
+ *          User user = spare.parse(
+ *              slicer.slice()
+ *          );
+ *      }
+ *  }
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class Slicer implements Closeable {
+
+    protected Flow flow;
+    protected int state;
+
+    protected int size;
+    protected byte[] value;
+
+    protected final boolean markup;
+    protected final boolean note;
+
+    /**
+     * Constructs a slicer with the specified flow
+     *
+     * @param flow   the specified flow to be sliced
+     * @param markup the flag that the flow is a doc
+     * @param note   the flag that the number sign opens a comment
+     * @throws NullPointerException If the specified flow is null
+     */
+    protected Slicer(
+        @NotNull Flow flow,
+        boolean markup, boolean note
+    ) {
+        if (flow != null) {
+            this.markup = markup;
+            this.note = note;
+            this.flow = flow;
+            this.value = new byte[128];
+        } else {
+            throw new NullPointerException(
+                "Received flow is null"
+            );
+        }
+    }
+
+    /**
+     * Slices the next element into the buffer,
+     * returns {@code false} if there are no more
+     *
+     * @throws IOException If a read error or parsing error occurs
+     */
+    public boolean next()
+        throws IOException {
+        Flow u = flow;
+        if (u == null || state < 0) {
+            return false;
+        }
+
+        size = 0;
+        if (state == 0) {
+            state = 1;
+            if (!(markup ? root(u) : array(u))) {
+                state = -1;
+                return false;
+            }
+        }
+
+        if (markup ? element(u) : item(u)) {
+            return true;
+        }
+        state = -1;
+        return false;
+    }
+
+    /**
+     * Returns the number of bytes of the current element
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the internal buffer of the current element,
+     * which is only valid until the next element is sliced
+     */
+    @NotNull
+    public byte[] flow() {
+        return value;
+    }
+
+    /**
+     * Returns a flow of the current element with the flags of
+     * the source flow, which is only valid until the next element
+     */
+    @NotNull
+    public Flow slice() {
+        Flow s = new ByteFlow(
+            value, 0, size
+        );
+        Flow u = flow;
+        if (u != null) {
+            s.f = u.f;
+        }
+        return s;
+    }
+
+    /**
+     * Reads the header up to the opening bracket of the array
+     */
+    protected boolean array(
+        Flow u
+    ) throws IOException {
+        while (true) {
+            byte w = u.i < u.l ?
+                u.v[u.i++] : u.next();
+            switch (w) {
+                case 0x5B: {
+                    return true;
+                }
+                case 0x09:
+                case 0x0A:
+                case 0x0D:
+                case 0x20: {
+                    continue;
+                }
+                case 0x23: {
+                    if (note) {
+                        Skipper.comment(u);
+                        continue;
+                    }
+                    break;
+                }
+                case 0x22:
+                case 0x27:
+                case 0x7B: {
+                    break;
+                }
+                default: {
+                    // the space of the array
+                    if (note) continue;
+                }
+            }
+            throw new IOException(
+                "Symbol: `" + (char) w + "`, expected an array"
+            );
+        }
+    }
+
+    /**
+     * Slices the next element of the array, returns
+     * {@code false} if the array is closed without one
+     */
+    protected boolean item(
+        Flow u
+    ) throws IOException {
+        int d = 0;
+        while (true) {
+            if (d != 0 && u.i < u.l) {
+                int i = u.i, k = u.l;
+                int j = Swar.brace(
+                    u.v, i, k
+                );
+                if (j != i) {
+                    write(u.v, i, j - i);
+                    u.i = j;
+                }
+            }
+
+            byte w = u.i < u.l ?
+                u.v[u.i++] : u.next();
+            switch (w) {
+                case 0x7B:
+                case 0x5B: {
+                    d++;
+                    break;
+                }
+                case 0x7D:
+                case 0x5D: {
+                    if (d != 0) {
+                        d--;
+                        break;
+                    }
+                    if (w == 0x5D) {
+                        state = -1;
+                        trim();
+                        return size != 0;
+                    }
+                    throw new IOException(
+                        "Terminator: `}` is unpaired"
+                    );
+                }
+                case 0x2C: {
+                    if (d != 0) {
+                        break;
+                    }
+                    trim();
+                    if (size != 0) {
+                        return true;
+                    }
+                    throw new IOException(
+                        "Missing an element before the comma"
+                    );
+                }
+                case 0x22:
+                case 0x27: {
+                    write(w);
+                    string(u, w);
+                    continue;
+                }
+                case 0x23: {
+                    if (note) {
+                        Skipper.comment(u);
+                        continue;
+                    }
+                    break;
+                }
+                case 0x09:
+                case 0x0A:
+                case 0x0D:
+                case 0x20: {
+                    if (size == 0) {
+                        continue;
+                    }
+                }
+            }
+            write(w);
+        }
+    }
+
+    /**
+     * Copies the rest of the string closed by the specified quote
+     */
+    protected void string(
+        Flow u, byte it
+    ) throws IOException {
+        while (true) {
+            int i = u.i, k = u.l;
+            byte[] e = u.v;
+            int j = Swar.scan(
+                e, i, k, it
+            );
+            while (j < k) {
+                byte w = e[j];
+                if (w != it &&
+                    w != 0x5C) {
+                    j++;
+                    continue;
+                }
+                break;
+            }
+
+            if (j != i) {
+                write(e, i, j - i);
+            }
+            if (j < k) {
+                byte w = e[j];
+                u.i = j + 1;
+                write(w);
+                if (w == it) {
+                    return;
+                }
+                write(
+                    u.i < u.l ? u.v[u.i++] : u.next()
+                );
+                continue;
+            }
+
+            u.i = j;
+            if (u.load() <= 0) {
+                throw new IOException(
+                    "No more readable bytes, please " +
+                        "check whether this flow is damaged"
+                );
+            }
+        }
+    }
+
+    /**
+     * Reads the prolog and the open tag of the root element,
+     * returns {@code false} if the root element is self-closing
+     */
+    protected boolean root(
+        Flow u
+    ) throws IOException {
+        while (true) {
+            Skipper.seek(u, (byte) '<');
+            switch (u.next()) {
+                case '?': {
+                    Skipper.seek(u, (byte) '>');
+                    continue;
+                }
+                case '!': {
+                    skip(u);
+                    continue;
+                }
+                case '/': {
+                    throw new IOException(
+                        "Missing the root element"
+                    );
+                }
+            }
+            return Skipper.seek(u, (byte) '>') != '/';
+        }
+    }
+
+    /**
+     * Slices the next child of the root element, returns
+     * {@code false} if the root element is closed
+     */
+    protected boolean element(
+        Flow u
+    ) throws IOException {
+        byte w;
+        while (true) {
+            Skipper.seek(u, (byte) '<');
+            switch (w = u.next()) {
+                case '/': {
+                    Skipper.seek(u, (byte) '>');
+                    return false;
+                }
+                case '?': {
+                    Skipper.seek(u, (byte) '>');
+                    continue;
+                }
+                case '!': {
+                    skip(u);
+                    continue;
+                }
+            }
+            break;
+        }
+
+        write((byte) '<');
+        write(w);
+
+        int d = copy(u, (byte) '>') != '/' ? 1 : 0;
+        while (d != 0) {
+            copy(u, (byte) '<');
+            write(w = u.next());
+            switch (w) {
+                case '/': {
+                    copy(u, (byte) '>');
+                    d--;
+                    continue;
+                }
+                case '?': {
+                    copy(u, (byte) '>');
+                    continue;
+                }
+                case '!': {
+                    write(w = u.next());
+                    if (w == '-' || w == '[') {
+                        byte c = w == '-'
+                            ? (byte) '-' : (byte) ']';
+                        do {
+                            copy(u, (byte) '>');
+                        } while (
+                            value[size - 2] != c ||
+                                value[size - 3] != c
+                        );
+                    } else if (w != '>') {
+                        copy(u, (byte) '>');
+                    }
+                    continue;
+                }
+            }
+            if (copy(u, (byte) '>') != '/') {
+                d++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips the rest of a comment or a declaration
+     */
+    protected void skip(
+        Flow u
+    ) throws IOException {
+        byte w = u.next();
+        if (w == '-' || w == '[') {
+            byte c = w == '-'
+                ? (byte) '-' : (byte) ']';
+            for (int n = 0; ; ) {
+                w = u.next();
+                if (w == c) {
+                    n++;
+                } else if (w == '>' && n > 1) {
+                    return;
+                } else {
+                    n = 0;
+                }
+            }
+        } else if (w != '>') {
+            Skipper.seek(u, (byte) '>');
+        }
+    }
+
+    /**
+     * Copies the flow up to and including the specified byte,
+     * and returns the byte before it
+     */
+    protected byte copy(
+        Flow u, byte it
+    ) throws IOException {
+        while (true) {
+            int i = u.i, k = u.l;
+            if (i < k) {
+                byte[] e = u.v;
+                int j = Swar.index(
+                    e, i, k, it
+                );
+                if (j < k) {
+                    write(e, i, j - i + 1);
+                    u.i = j + 1;
+                    return size > 1 ? value[size - 2] : 0;
+                }
+                write(e, i, k - i);
+                u.i = k;
+            }
+            if (u.load() <= 0) {
+                throw new IOException(
+                    "No more readable bytes, please " +
+                        "check whether this flow is damaged"
+                );
+            }
+        }
+    }
+
+    /**
+     * Removes the trailing whitespaces of the current element
+     */
+    protected void trim() {
+        int n = size;
+        byte[] it = value;
+        while (n != 0 &&
+            (it[n - 1] & 0xFF) <= 0x20) {
+            n--;
+        }
+        size = n;
+    }
+
+    /**
+     * Appends the specified byte to the buffer
+     */
+    protected void write(
+        byte b
+    ) {
+        byte[] it = value;
+        if (size == it.length) {
+            it = grow(size + 1);
+        }
+        it[size++] = b;
+    }
+
+    /**
+     * Appends the specified bytes to the buffer
+     */
+    protected void write(
+        byte[] b, int i, int l
+    ) {
+        byte[] it = value;
+        if (size + l > it.length) {
+            it = grow(size + l);
+        }
+        System.arraycopy(
+            b, i, it, size, l
+        );
+        size += l;
+    }
+
+    /**
+     * Grows the buffer to at least the specified capacity
+     */
+    protected byte[] grow(
+        int min
+    ) {
+        int cap = value.length;
+        cap += cap >> 1;
+        byte[] it = new byte[
+            Math.max(cap, min)
+            ];
+        System.arraycopy(
+            value, 0, it, 0, size
+        );
+        return value = it;
+    }
+
+    /**
+     * Closes this slicer and the flow
+     */
+    @Override
+    public void close() {
+        Flow u = flow;
+        if (u != null) {
+            flow = null;
+            u.close();
+        }
+        state = -1;
+        size = 0;
+    }
+
+    /**
+     * Returns a slicer of the specified algo
+     *
+     * @param algo the specified algo of the flow
+     * @param flow the specified flow to be sliced
+     * @throws IOException          If the specified algo is not supported
+     * @throws NullPointerException If the specified algo or flow is null
+     */
+    @NotNull
+    public static Slicer of(
+        @NotNull Algo algo,
+        @NotNull Flow flow
+    ) throws IOException {
+        switch (algo.hashCode()) {
+            case kat: {
+                return new Slicer(
+                    flow, false, true
+                );
+            }
+            case doc: {
+                return new Slicer(
+                    flow, true, false
+                );
+            }
+            case json: {
+                return new Slicer(
+                    flow, false, false
+                );
+            }
+            default: {
+                throw new IOException(
+                    "Not supported " + algo
+                );
+            }
+        }
+    }
+}
@@ -169,21 +169,28 @@ public class Sodar implements Solver {
                             case 0x40:
                             case 0x41:
                             case 0x81: {
-                                continue;
+                                break;
                             }
                             case 0x00: {
                                 if (x != 0) i = 0x40;
-                                continue;
+                                break;
                             }
                             case 0x01: {
                                 if (z != 0) i = 0x41;
-                                continue;
+                                break;
+                            }
+                            default: {
+                                throw new IOException(
+                                    "Symbol: `" + w + "`, iv: "
+                                        + Integer.toBinaryString(i)
+                                );
                             }
                         }
-                        throw new IOException(
-                            "Symbol: `" + w + "`, iv: "
-                                + Integer.toBinaryString(i)
+                        // skip the rest of whitespace
+                        u.i = Swar.skip(
+                            u.v, u.i, u.l
                         );
+                        continue;
                     }
                     case 0x3A: {
                         switch (i) {
@@ -255,6 +262,9 @@ public class Sodar implements Solver {
                                 l = j,
                                 k = u.l;
                             byte[] e = u.v;
+                            j = Swar.scan(
+                                e, j, k, it
+                            );
                             while (true) {
                                 if (j < k) {
                                     w = e[j];
@@ -265,7 +275,33 @@ public class Sodar implements Solver {
                                     }
                                 }
 
+                                if (j < k && w == it &&
+                                    o == 0 && i == 0x01) {
+                                    // unescaped and inside
+                                    // the buffer, no copying
+                                    u.i = j + 1;
+                                    n.onView(
+                                        a.slip(x),
+                                        s.slip(0, w),
+                                        v.slip(0, w),
+                                        e, l, j - l
+                                    );
+                                    // the view may have been loaded
+                                    // into the chains and grown them
+                                    key = a.flow();
+                                    val = v.flow();
+                                    x = 0;
+                                    i = 0x81;
+                                    continue Sodar;
+                                }
+
                                 if (l < j) {
+                                    int r = o + j - l;
+                                    if (r > g.length) {
+                                        g = i == 0 ?
+                                            (key = a.grow(o, r)) :
+                                            (val = v.grow(o, r));
+                                    }
                                     System.arraycopy(
                                         e, l, g,
                                         o, j - l
@@ -309,6 +345,11 @@ public class Sodar implements Solver {
                             }
 
                             while (true) {
+                                if (o + 4 > g.length) {
+                                    g = i == 0 ?
+                                        (key = a.grow(o, o + 4)) :
+                                        (val = v.grow(o, o + 4));
+                                }
                                 w = u.i < u.l ?
                                     u.v[u.i++] : u.next();
                                 switch (w) {
@@ -404,6 +445,9 @@ public class Sodar implements Solver {
                     case 0x74:
                     case 0x75: {
                         if (i == 0x1) {
+                            if (z == val.length) {
+                                val = v.grow(z, z + 1);
+                            }
                             val[z++] = w;
                             continue;
                         }
@@ -443,6 +487,9 @@ public class Sodar implements Solver {
                                             case 0x0A:
                                             case 0x0D:
                                             case 0x20: {
+                                                u.i = Swar.skip(
+                                                    u.v, u.i, u.l
+                                                );
                                                 continue;
                                             }
                                             case 0x5D:
@@ -493,48 +540,7 @@ public class Sodar implements Solver {
         @NotNull Flow u,
         @NotNull byte w
     ) throws IOException {
-        int m = w >> 5 ^ 3 | 2;
-        Scope:
-        while (true) {
-            w = u.i < u.l ?
-                u.v[u.i++] : u.next();
-            switch (w) {
-                case 0x7B:
-                case 0x5B: {
-                    if ((m <<= 1) > 0) {
-                        m |= w >> 5 ^ 3;
-                        continue;
-                    }
-                    throw new IOException(
-                        Integer.toBinaryString(m)
-                    );
-                }
-                case 0x22: {
-                    while (true) {
-                        switch (u.next()) {
-                            case 0x5C: {
-                                u.next();
-                                continue;
-                            }
-                            case 0x22: {
-                                continue Scope;
-                            }
-                        }
-                    }
-                }
-                case 0x5D:
-                case 0x7D: {
-                    if ((m & 1 | 2) != w >> 5) {
-                        if ((m >>= 1) != 1) {
-                            continue;
-                        } else break Scope;
-                    }
-                    throw new IOException(
-                        Integer.toBinaryString(m)
-                    );
-                }
-            }
-        }
+        Skipper.brace(u, w, false);
     }
 
     /**
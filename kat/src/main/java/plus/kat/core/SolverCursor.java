@@ -0,0 +1,318 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.chain.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static plus.kat.lang.Uniform.*;
+
+/**
+ * A cursor over the events of a push {@link Solver}, such as
+ * {@link Radar} and {@link Podar}, the flow is solved on the first
+ * {@link #next()} and its tokens are recorded into two flat buffers,
+ * then they are replayed one by one without creating any objects
+ * <p>
+ * Note that it is not incremental, the whole document is buffered
+ * before the first token is returned, so its memory grows with the
+ * size of the document, unlike the {@link JsonCursor} which reads
+ * the flow on demand, use {@link Spare} for the large documents
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class SolverCursor extends Cursor {
+
+    protected Flow flow;
+    protected Solver solver;
+
+    protected int count;
+    protected int index;
+    protected int[] metas;
+
+    protected int size;
+    protected int offset;
+    protected byte[] bytes;
+
+    /**
+     * Constructs a cursor with the specified flow and solver
+     *
+     * @param flow   the specified flow to be read
+     * @param solver the specified solver of the flow
+     * @throws NullPointerException If the specified flow or solver is null
+     */
+    public SolverCursor(
+        @NotNull Flow flow,
+        @NotNull Solver solver
+    ) {
+        super(
+            new Alias(
+                ALIAS_CAPACITY
+            ),
+            new Space(
+                SPACE_CAPACITY
+            ),
+            new Value(
+                VALUE_CAPACITY
+            )
+        );
+        if (flow != null &&
+            solver != null) {
+            this.flow = flow;
+            this.solver = solver;
+        } else {
+            throw new NullPointerException(
+                "Received: (" + flow + ", " + solver + ")"
+            );
+        }
+    }
+
+    @Override
+    public int next() throws IOException {
+        Solver s = solver;
+        if (s != null) {
+            solver = null;
+            metas = new int[64];
+            bytes = new byte[256];
+            try {
+                Flow u = flow;
+                if (u.also()) {
+                    s.solve(
+                        u, new Recorder(s)
+                    );
+                }
+            } finally {
+                s.clear();
+            }
+        }
+
+        int i = index;
+        if (i == count) {
+            return token = END;
+        }
+
+        int[] m = metas;
+        int t = m[i];
+        int o = offset;
+        byte[] b = bytes;
+
+        int l = m[i + 2];
+        alias.load(b, o, l);
+        alias.slip(l);
+        o += l;
+
+        l = m[i + 3];
+        System.arraycopy(
+            b, o, space.grow(0, l), 0, l
+        );
+        space.slip(l);
+        o += l;
+
+        l = m[i + 4];
+        value.load(b, o, l);
+        value.slip(l, (byte) m[i + 1]);
+        o += l;
+
+        offset = o;
+        index = i + 5;
+
+        switch (t) {
+            case START_OBJECT:
+            case START_ARRAY: {
+                depth++;
+                break;
+            }
+            case END_OBJECT:
+            case END_ARRAY: {
+                depth--;
+            }
+        }
+        return token = t;
+    }
+
+    /**
+     * Records the specified token
+     */
+    protected void record(
+        int token, byte flag,
+        Space alias, Space space, Space value
+    ) {
+        int n = count;
+        if (n + 5 > metas.length) {
+            int[] m = new int[metas.length * 2];
+            System.arraycopy(
+                metas, 0, m, 0, n
+            );
+            metas = m;
+        }
+
+        int a = alias == null ? 0 : alias.size();
+        int s = space == null ? 0 : space.size();
+        int v = value == null ? 0 : value.size();
+
+        int o = size;
+        int r = o + a + s + v;
+        if (r > bytes.length) {
+            int c = bytes.length;
+            c += (c >> 1) + 16;
+            byte[] b = new byte[
+                Math.max(c, r)
+                ];
+            System.arraycopy(
+                bytes, 0, b, 0, o
+            );
+            bytes = b;
+        }
+
+        if (a != 0) {
+            System.arraycopy(
+                alias.flow(), 0, bytes, o, a
+            );
+            o += a;
+        }
+        if (s != 0) {
+            System.arraycopy(
+                space.flow(), 0, bytes, o, s
+            );
+            o += s;
+        }
+        if (v != 0) {
+            System.arraycopy(
+                value.flow(), 0, bytes, o, v
+            );
+            o += v;
+        }
+
+        size = o;
+        int[] m = metas;
+        m[n] = token;
+        m[n + 1] = flag;
+        m[n + 2] = a;
+        m[n + 3] = s;
+        m[n + 4] = v;
+        count = n + 5;
+    }
+
+    /**
+     * Closes this cursor and the flow
+     */
+    @Override
+    public void close() {
+        super.close();
+        Flow u = flow;
+        if (u != null) {
+            flow = null;
+            u.close();
+        }
+        solver = null;
+        index = count = 0;
+        offset = size = 0;
+        metas = null;
+        bytes = null;
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    class Recorder implements Pipe {
+
+        final boolean doc;
+        int level;
+        long[] nest = new long[1];
+
+        Recorder(
+            Solver solver
+        ) {
+            doc = solver instanceof Podar;
+        }
+
+        @Override
+        public Pipe onOpen(
+            Alias alias,
+            Space space
+        ) throws IOException {
+            if (alias.size() != 0) {
+                record(
+                    KEY, (byte) 0, alias, null, null
+                );
+            }
+
+            // the bracket was just read from the flow
+            Flow u = flow;
+            boolean array = !doc && u.i > 0 &&
+                u.v[u.i - 1] == 0x5B;
+            // the kinds of the enclosing brackets
+            // are kept as a bit stack without limit
+            int l = level++;
+            long[] n = nest;
+            if (l >>> 6 == n.length) {
+                nest = n = Arrays.copyOf(
+                    n, n.length * 2
+                );
+            }
+            if (array) {
+                n[l >>> 6] |= 1L << l;
+            } else {
+                n[l >>> 6] &= ~(1L << l);
+            }
+
+            record(
+                array ? START_ARRAY : START_OBJECT,
+                (byte) 0, alias, space, null
+            );
+            return this;
+        }
+
+        @Override
+        public void onNext(
+            Alias alias,
+            Space space,
+            Value value
+        ) {
+            if (alias.size() != 0) {
+                record(
+                    KEY, (byte) 0, alias, null, null
+                );
+            }
+            record(
+                VALUE, value.flag(), alias, space, value
+            );
+        }
+
+        @Override
+        public Pipe onClose(
+            boolean alert,
+            boolean state
+        ) {
+            if (!state || level == 0) {
+                return null;
+            }
+            int l = --level;
+            boolean array =
+                (nest[l >>> 6] >>> l & 1L) == 1L;
+            record(
+                array ? END_ARRAY : END_OBJECT,
+                (byte) 0, null, null, null
+            );
+            return this;
+        }
+    }
+}
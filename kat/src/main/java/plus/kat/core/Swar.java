@@ -0,0 +1,261 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+/**
+ * Scans a buffer eight bytes at a time, a word being read in
+ * little-endian order so that the lowest byte is the first one
+ *
+ * <pre>{@code
+ *  "    \"name\": \"kraity\""
+ *   ^^^^ skip(..)
+ *          ^^^^ scan(.., '"')
+ *
+ *  "{\"a\": [1, 2], \"b\": 3}"
+ *      ^^^^ brace(..)
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class Swar {
+
+    static final long ONES = 0x0101010101010101L;
+    static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+    static final long HIGHS = 0x8080808080808080L;
+
+    static final long TAB = 0x09L * ONES;
+    static final long LF = 0x0AL * ONES;
+    static final long CR = 0x0DL * ONES;
+    static final long SPACE = 0x20L * ONES;
+    static final long ESCAPE = 0x5CL * ONES;
+    static final long QUOTE = 0x22L * ONES;
+    static final long APOS = 0x27L * ONES;
+    static final long BRACE = 0x7BL * ONES;
+    static final long CLOSE = 0x7DL * ONES;
+    static final long DELETE = 0x7FL * ONES;
+
+    private Swar() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the word of the specified index in little-endian order
+     */
+    static long word(
+        byte[] e, int j
+    ) {
+        return (e[j] & 0xFFL)
+            | (e[j + 1] & 0xFFL) << 8
+            | (e[j + 2] & 0xFFL) << 16
+            | (e[j + 3] & 0xFFL) << 24
+            | (e[j + 4] & 0xFFL) << 32
+            | (e[j + 5] & 0xFFL) << 40
+            | (e[j + 6] & 0xFFL) << 48
+            | (e[j + 7] & 0xFFL) << 56;
+    }
+
+    /**
+     * Returns the high bit of each byte of
+     * the word that is equal to the broadcast byte
+     */
+    static long equal(
+        long w, long c
+    ) {
+        long x = w ^ c;
+        return ~((x & LOWS) + LOWS | x | LOWS);
+    }
+
+    /**
+     * Returns the index of the first quote or backslash
+     * between the specified begin index and end index,
+     * or the index where fewer than eight bytes remain
+     *
+     * @param e  the specified buffer
+     * @param j  the specified begin index
+     * @param k  the specified end index
+     * @param it the specified quote
+     */
+    static int scan(
+        byte[] e, int j, int k, byte it
+    ) {
+        long q = (it & 0xFFL) * ONES;
+        for (int b = k - 8; j <= b; j += 8) {
+            long w = word(e, j);
+            long t = equal(w, q) | equal(w, ESCAPE);
+            if (t != 0) {
+                return j + (Long.numberOfTrailingZeros(t) >>> 3);
+            }
+        }
+        return j;
+    }
+
+    /**
+     * Returns the index of the first byte that is not a whitespace
+     * between the specified begin index and end index, or the
+     * index where fewer than eight bytes remain, then the rest
+     * is skipped byte by byte up to the end index
+     *
+     * @param e the specified buffer
+     * @param j the specified begin index
+     * @param k the specified end index
+     */
+    static int skip(
+        byte[] e, int j, int k
+    ) {
+        for (int b = k - 8; j <= b; j += 8) {
+            long w = word(e, j);
+            long t = ~(
+                equal(w, SPACE) | equal(w, LF) |
+                    equal(w, TAB) | equal(w, CR)
+            ) & HIGHS;
+            if (t != 0) {
+                return j + (Long.numberOfTrailingZeros(t) >>> 3);
+            }
+        }
+        while (j < k) {
+            switch (e[j]) {
+                case 0x09:
+                case 0x0A:
+                case 0x0D:
+                case 0x20: {
+                    j++;
+                    continue;
+                }
+            }
+            break;
+        }
+        return j;
+    }
+
+    /**
+     * Returns the index of the first bracket, brace, quote,
+     * apostrophe or number sign between the specified begin
+     * index and end index, otherwise returns the end index
+     *
+     * @param e the specified buffer
+     * @param j the specified begin index
+     * @param k the specified end index
+     */
+    static int brace(
+        byte[] e, int j, int k
+    ) {
+        for (int b = k - 8; j <= b; j += 8) {
+            long w = word(e, j);
+            // folds the brackets into the braces
+            // and the number sign into the quote
+            long c = w | SPACE;
+            long t = equal(c, BRACE) | equal(c, CLOSE) |
+                equal(w & ~ONES, QUOTE) | equal(w, APOS);
+            if (t != 0) {
+                return j + (Long.numberOfTrailingZeros(t) >>> 3);
+            }
+        }
+        for (; j < k; j++) {
+            switch (e[j]) {
+                case 0x22:
+                case 0x23:
+                case 0x27:
+                case 0x5B:
+                case 0x5D:
+                case 0x7B:
+                case 0x7D: {
+                    return j;
+                }
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Returns the index of the first specified byte between the specified
+     * begin index and end index, otherwise returns the end index
+     *
+     * @param e  the specified buffer
+     * @param j  the specified begin index
+     * @param k  the specified end index
+     * @param it the specified byte to be found
+     */
+    static int index(
+        byte[] e, int j, int k, byte it
+    ) {
+        long q = (it & 0xFFL) * ONES;
+        for (int b = k - 8; j <= b; j += 8) {
+            long t = equal(word(e, j), q);
+            if (t != 0) {
+                return j + (Long.numberOfTrailingZeros(t) >>> 3);
+            }
+        }
+        for (; j < k; j++) {
+            if (e[j] == it) {
+                return j;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Returns the printable ascii bytes flagged by the specified
+     * escape table, each broadcast to a word for {@link #escape(byte[], int, int, long[])}
+     *
+     * @param table the specified escape table of ascii
+     */
+    public static long[] sieve(
+        byte[] table
+    ) {
+        int n = 0;
+        long[] it = new long[0x5F];
+        for (int i = 0x20; i < 0x7F; i++) {
+            if (table[i] != 0) {
+                it[n++] = i * ONES;
+            }
+        }
+        long[] sieve = new long[n];
+        System.arraycopy(
+            it, 0, sieve, 0, n
+        );
+        return sieve;
+    }
+
+    /**
+     * Returns the index of the first control, delete or sieved byte
+     * between the specified begin index and end index, or the index
+     * where fewer than eight bytes remain, the bytes above ascii are
+     * never stopped at and a stop may be a control that needs no escaping
+     *
+     * @param e the specified buffer
+     * @param j the specified begin index
+     * @param k the specified end index
+     * @param s the specified sieve of the escape table
+     */
+    public static int escape(
+        byte[] e, int j, int k, long[] s
+    ) {
+        for (int b = k - 8; j <= b; j += 8) {
+            long w = word(e, j);
+            // the borrows only carry upwards,
+            // so the lowest control is exact
+            long t = (w - SPACE & ~w & HIGHS) | equal(w, DELETE);
+            for (long c : s) {
+                t |= equal(w, c);
+            }
+            if (t != 0) {
+                return j + (Long.numberOfTrailingZeros(t) >>> 3);
+            }
+        }
+        return j;
+    }
+}
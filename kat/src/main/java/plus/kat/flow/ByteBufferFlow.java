@@ -56,7 +56,11 @@ public final class ByteBufferFlow extends Flow {
         }
 
         if (v == null) {
-            if (size > 1023) {
+            if (flow.isDirect() && size > 8191) {
+                // bulk copy from the native memory,
+                // such as a mapped file, by large chunks
+                v = BUCKET.apply(null, 0, 65535);
+            } else if (size > 1023) {
                 v = BUCKET.apply(null, 0, 2048);
             } else if (size > 511) {
                 v = new byte[256];
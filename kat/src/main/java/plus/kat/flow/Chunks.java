@@ -0,0 +1,355 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import plus.kat.actor.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+import static plus.kat.lang.Uniform.*;
+import static plus.kat.flow.Stream.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A segmented sink that keeps the pages drained by a {@link Stream}
+ * as they are and hands a fresh page of the bucket back to the stream,
+ * so that a large payload is never grown and copied into one array
+ *
+ * <pre>{@code
+ *  try (Chunks chunks = new Chunks()) {
+ *      try (Chan chan = new Json(flags, context, chunks)) {
+ *          chan.set(null, value);
+ *          chan.flush();
+ *      }
+ *      channel.write(
+ *          chunks.toBuffers()
+ *      );
+ *  }
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class Chunks implements Sink, Closeable {
+
+    protected int count;
+    protected long length;
+
+    protected int[] sizes;
+    protected byte[][] pages;
+
+    protected boolean clean;
+    protected final Bucket bucket;
+
+    /**
+     * Constructs chunks with the default bucket
+     */
+    public Chunks() {
+        this(BUCKET);
+    }
+
+    /**
+     * Constructs chunks with the specified bucket
+     *
+     * @param bucket the specified bucket of pages
+     * @throws NullPointerException If the specified bucket is null
+     */
+    public Chunks(
+        @NotNull Bucket bucket
+    ) {
+        if (bucket != null) {
+            this.bucket = bucket;
+            this.sizes = new int[8];
+            this.pages = new byte[8][];
+        } else {
+            throw new NullPointerException(
+                "Received storage bucket is null"
+            );
+        }
+    }
+
+    /**
+     * Copies the bytes of the specified flow into a new page
+     *
+     * @param flow   the specified flow to be drained
+     * @param offset the specified begin index
+     * @param length the specified length of bytes
+     */
+    @Override
+    public void write(
+        @NotNull byte[] flow, int offset, int length
+    ) {
+        if (length > 0) {
+            byte[] page = bucket.apply(
+                EMPTY_BYTES, 0, length
+            );
+            System.arraycopy(
+                flow, offset, page, 0, length
+            );
+            append(page, length);
+        }
+    }
+
+    /**
+     * Keeps the specified flow as a page and
+     * returns a page of the same class from the bucket
+     *
+     * @param flow the specified flow to be drained
+     * @param size the specified size of bytes
+     */
+    @NotNull
+    @Override
+    public byte[] drain(
+        @NotNull byte[] flow, int size
+    ) {
+        if (size <= 0) {
+            return flow;
+        }
+        append(flow, size);
+        return bucket.apply(
+            EMPTY_BYTES, 0, flow.length
+        );
+    }
+
+    /**
+     * Appends the specified page of the specified size
+     */
+    protected void append(
+        byte[] page, int size
+    ) {
+        int n = count;
+        if (n == pages.length) {
+            int m = n << 1;
+            int[] s = new int[m];
+            byte[][] p = new byte[m][];
+            System.arraycopy(
+                sizes, 0, s, 0, n
+            );
+            System.arraycopy(
+                pages, 0, p, 0, n
+            );
+            sizes = s;
+            pages = p;
+        }
+        sizes[n] = size;
+        pages[n] = page;
+        count = n + 1;
+        length += size;
+    }
+
+    /**
+     * Returns the number of pages
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the total length of bytes
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the page at the specified index,
+     * its bytes are valid up to {@link #size(int)}
+     *
+     * @param i the specified index of the page
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    @NotNull
+    public byte[] page(int i) {
+        if (i < count) {
+            return pages[i];
+        }
+        throw new IndexOutOfBoundsException(
+            "Index " + i + " out of bounds for length " + count
+        );
+    }
+
+    /**
+     * Returns the size of the page at the specified index
+     *
+     * @param i the specified index of the page
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public int size(int i) {
+        if (i < count) {
+            return sizes[i];
+        }
+        throw new IndexOutOfBoundsException(
+            "Index " + i + " out of bounds for length " + count
+        );
+    }
+
+    /**
+     * Returns the buffers wrapping the pages without copying, such
+     * as for {@link GatheringByteChannel#write(ByteBuffer[])}, they
+     * are only valid until these chunks are closed
+     */
+    @NotNull
+    public ByteBuffer[] toBuffers() {
+        int n = count;
+        ByteBuffer[] buffers = new ByteBuffer[n];
+        for (int i = 0; i < n; i++) {
+            buffers[i] = ByteBuffer.wrap(
+                pages[i], 0, sizes[i]
+            );
+        }
+        return buffers;
+    }
+
+    /**
+     * Returns an input stream reading the pages without
+     * copying, it is only valid until these chunks are closed
+     */
+    @NotNull
+    public InputStream toInputStream() {
+        return new Input();
+    }
+
+    /**
+     * Returns a new binary of all the pages
+     *
+     * @throws OutOfMemoryError If the total length exceeds the array limit
+     */
+    @NotNull
+    public byte[] toBinary() {
+        if (length == 0) {
+            return EMPTY_BYTES;
+        }
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError(
+                "Required length " + length + " is too large"
+            );
+        }
+        byte[] data = new byte[(int) length];
+        for (int i = 0, o = 0; i < count; i++) {
+            int l = sizes[i];
+            System.arraycopy(
+                pages[i], 0, data, o, l
+            );
+            o += l;
+        }
+        return data;
+    }
+
+    /**
+     * Returns a new string of all the pages
+     */
+    @Override
+    public String toString() {
+        return new String(
+            toBinary(), UTF_8
+        );
+    }
+
+    /**
+     * Mark cleaned to avoid recycling
+     * the pages, handle them yourself
+     */
+    public Bucket clean() {
+        clean = true;
+        return bucket;
+    }
+
+    /**
+     * Closes these chunks and resumes
+     * the pages to the bucket unless cleaned
+     */
+    @Override
+    public void close() {
+        int n = count;
+        byte[][] p = pages;
+        if (!clean) {
+            for (int i = 0; i < n; i++) {
+                bucket.store(p[i]);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            p[i] = null;
+        }
+        count = 0;
+        length = 0;
+        clean = false;
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    class Input extends InputStream {
+
+        int index, offset;
+
+        @Override
+        public int read() {
+            while (index < count) {
+                if (offset < sizes[index]) {
+                    return pages[index][offset++] & 0xFF;
+                }
+                index++;
+                offset = 0;
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(
+            byte[] b, int off, int len
+        ) {
+            if (len == 0) {
+                return 0;
+            }
+            int total = 0;
+            while (index < count) {
+                int r = sizes[index] - offset;
+                if (r <= 0) {
+                    index++;
+                    offset = 0;
+                    continue;
+                }
+                int l = Math.min(r, len - total);
+                System.arraycopy(
+                    pages[index], offset, b, off + total, l
+                );
+                offset += l;
+                total += l;
+                if (total == len) {
+                    break;
+                }
+            }
+            return total == 0 ? -1 : total;
+        }
+
+        @Override
+        public int available() {
+            if (index < count) {
+                long r = length - offset;
+                for (int i = 0; i < index; i++) {
+                    r -= sizes[i];
+                }
+                return (int) Math.min(
+                    r, Integer.MAX_VALUE
+                );
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,635 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import java.math.BigInteger;
+
+/**
+ * Writes the shortest decimal that rounds to the specified double or float
+ * straight into a byte array, in the same format as {@link Double#toString(double)}
+ * and {@link Float#toString(float)}. The digits are computed by the Schubfach
+ * algorithm of Raffaello Giulietti, as also adopted by the JDK since 19
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+final class Decimal {
+
+    static final int
+        MASK_28 = (1 << 28) - 1;
+    static final long
+        MASK_32 = (1L << 32) - 1,
+        MASK_63 = (1L << 63) - 1;
+
+    /**
+     * The maximum length of a double
+     */
+    static final int DOUBLE_SIZE = 24;
+
+    /**
+     * The maximum length of a float
+     */
+    static final int FLOAT_SIZE = 15;
+
+    static final int
+        D_P = 53,
+        D_H = 17,
+        D_Q_MIN = -1074,
+        D_BQ_MASK = (1 << 11) - 1;
+    static final long
+        D_C_TINY = 3,
+        D_C_MIN = 1L << D_P - 1,
+        D_T_MASK = (1L << D_P - 1) - 1;
+
+    static final int
+        F_P = 24,
+        F_H = 9,
+        F_Q_MIN = -149,
+        F_C_TINY = 8,
+        F_C_MIN = 1 << F_P - 1,
+        F_T_MASK = (1 << F_P - 1) - 1,
+        F_BQ_MASK = (1 << 8) - 1;
+
+    static final int
+        K_MIN = -324,
+        K_MAX = 292;
+
+    static final long[] POW10 = {
+        1L,
+        10L,
+        100L,
+        1000L,
+        10000L,
+        100000L,
+        1000000L,
+        10000000L,
+        100000000L,
+        1000000000L,
+        10000000000L,
+        100000000000L,
+        1000000000000L,
+        10000000000000L,
+        100000000000000L,
+        1000000000000000L,
+        10000000000000000L,
+        100000000000000000L,
+        1000000000000000000L
+    };
+
+    /**
+     * For each k of [K_MIN, K_MAX], let 10^-k = beta 2^r with
+     * 2^125 <= beta < 2^126 and g = floor(beta) + 1, then g is
+     * stored in two longs, the high 63 bits and the low 63 bits
+     */
+    static final long[] G;
+
+    static {
+        int n = K_MAX - K_MIN + 1;
+        long[] g = new long[n * 2];
+
+        BigInteger ten = BigInteger.TEN;
+        BigInteger one = BigInteger.ONE;
+        for (int k = K_MIN, i = 0; k <= K_MAX; k++) {
+            BigInteger num, den;
+            if (k <= 0) {
+                num = ten.pow(-k);
+                den = one;
+            } else {
+                num = one;
+                den = ten.pow(k);
+            }
+
+            int r = flog2pow10(-k) - 125;
+            if (r < 0) {
+                num = num.shiftLeft(-r);
+            } else {
+                den = den.shiftLeft(r);
+            }
+
+            BigInteger v = num.divide(den).add(one);
+            g[i++] = v.shiftRight(63).longValue();
+            g[i++] = v.longValue() & MASK_63;
+        }
+        G = g;
+    }
+
+    private Decimal() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Writes the specified double into the array at the specified index,
+     * the array must have at least {@link #DOUBLE_SIZE} bytes remaining
+     *
+     * @param it   the specified array to be written
+     * @param i    the specified begin index
+     * @param v    the specified double value
+     * @param json the specified flag, use the exponent form like {@code 1e10}
+     * @return the index after the last written byte
+     */
+    static int write(
+        byte[] it, int i, double v, boolean json
+    ) {
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & D_T_MASK;
+        int bq = (int) (bits >>> D_P - 1) & D_BQ_MASK;
+        if (bq < D_BQ_MASK) {
+            if (bits < 0) {
+                it[i++] = '-';
+            }
+            if (bq != 0) {
+                // normal value, mq = -q
+                int mq = -D_Q_MIN + 1 - bq;
+                long c = D_C_MIN | t;
+                // integer value
+                if (0 < mq & mq < D_P) {
+                    long f = c >> mq;
+                    if (f << mq == c) {
+                        return chars(
+                            it, i, f, 0, json
+                        );
+                    }
+                }
+                return decimal(
+                    it, i, -mq, c, 0, json
+                );
+            }
+            if (t != 0) {
+                // subnormal value
+                return t < D_C_TINY ?
+                    decimal(it, i, D_Q_MIN, 10 * t, -1, json) :
+                    decimal(it, i, D_Q_MIN, t, 0, json);
+            }
+            it[i++] = '0';
+            it[i++] = '.';
+            it[i++] = '0';
+            return i;
+        }
+        return special(
+            it, i, t != 0, bits > 0
+        );
+    }
+
+    /**
+     * Writes the specified float into the array at the specified index,
+     * the array must have at least {@link #FLOAT_SIZE} bytes remaining
+     *
+     * @param it   the specified array to be written
+     * @param i    the specified begin index
+     * @param v    the specified float value
+     * @param json the specified flag, use the exponent form like {@code 1e10}
+     * @return the index after the last written byte
+     */
+    static int write(
+        byte[] it, int i, float v, boolean json
+    ) {
+        int bits = Float.floatToRawIntBits(v);
+        int t = bits & F_T_MASK;
+        int bq = (bits >>> F_P - 1) & F_BQ_MASK;
+        if (bq < F_BQ_MASK) {
+            if (bits < 0) {
+                it[i++] = '-';
+            }
+            if (bq != 0) {
+                // normal value, mq = -q
+                int mq = -F_Q_MIN + 1 - bq;
+                int c = F_C_MIN | t;
+                // integer value
+                if (0 < mq & mq < F_P) {
+                    int f = c >> mq;
+                    if (f << mq == c) {
+                        return chars(
+                            it, i, f, 0, json
+                        );
+                    }
+                }
+                return decimal(
+                    it, i, -mq, c, 0, json
+                );
+            }
+            if (t != 0) {
+                // subnormal value
+                return t < F_C_TINY ?
+                    decimal(it, i, F_Q_MIN, 10 * t, -1, json) :
+                    decimal(it, i, F_Q_MIN, t, 0, json);
+            }
+            it[i++] = '0';
+            it[i++] = '.';
+            it[i++] = '0';
+            return i;
+        }
+        return special(
+            it, i, t != 0, bits > 0
+        );
+    }
+
+    private static int special(
+        byte[] it, int i, boolean nan, boolean positive
+    ) {
+        if (nan) {
+            it[i++] = 'N';
+            it[i++] = 'a';
+            it[i++] = 'N';
+            return i;
+        }
+        if (!positive) {
+            it[i++] = '-';
+        }
+        it[i++] = 'I';
+        it[i++] = 'n';
+        it[i++] = 'f';
+        it[i++] = 'i';
+        it[i++] = 'n';
+        it[i++] = 'i';
+        it[i++] = 't';
+        it[i++] = 'y';
+        return i;
+    }
+
+    private static int decimal(
+        byte[] it, int i, int q, long c, int dk, boolean json
+    ) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != D_C_MIN | q == D_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        int n = (k - K_MIN) << 1;
+        long g1 = G[n], g0 = G[n + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            long sp10 = 10 * multiplyHigh(
+                s, 115_292_150_460_684_698L << 4
+            );
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return chars(
+                    it, i, upin ? sp10 : tp10, k, json
+                );
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return chars(
+                it, i, uin ? s : t, k + dk, json
+            );
+        }
+
+        long cmp = vb - (s + t << 1);
+        return chars(
+            it, i, cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, json
+        );
+    }
+
+    private static int decimal(
+        byte[] it, int i, int q, int c, int dk, boolean json
+    ) {
+        int out = c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != F_C_MIN | q == F_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+
+        long g = G[(k - K_MIN) << 1] + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return chars(
+                    it, i, upin ? sp10 : tp10, k, json
+                );
+            }
+        }
+
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return chars(
+                it, i, uin ? s : t, k + dk, json
+            );
+        }
+
+        int cmp = vb - (s + t << 1);
+        return chars(
+            it, i, cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, json
+        );
+    }
+
+    private static int chars(
+        byte[] it, int i, long f, int e, boolean json
+    ) {
+        // 10^(len-1) <= f < 10^len
+        int len = flog10pow2(
+            64 - Long.numberOfLeadingZeros(f)
+        );
+        if (f >= POW10[len]) {
+            len += 1;
+        }
+
+        // 10^(H-1) <= f < 10^H
+        f *= POW10[D_H - len];
+        e += len;
+
+        // h: the most significant digit
+        // m: the next 8 significant digits
+        // l: the last 8 significant digits
+        long hm = multiplyHigh(
+            f, 193_428_131_138_340_668L
+        ) >>> 20;
+        int l = (int) (f - 100_000_000L * hm);
+        int h = (int) (hm * 1_441_151_881L >>> 57);
+        int m = (int) (hm - 100_000_000 * h);
+
+        if (0 < e && e <= 7) {
+            // plain format without leading zeroes
+            it[i++] = (byte) (h + '0');
+            int y = y(m), j = 1;
+            for (; j < e; ++j) {
+                int t = 10 * y;
+                it[i++] = (byte) ((t >>> 28) + '0');
+                y = t & MASK_28;
+            }
+            it[i++] = '.';
+            for (; j <= 8; ++j) {
+                int t = 10 * y;
+                it[i++] = (byte) ((t >>> 28) + '0');
+                y = t & MASK_28;
+            }
+            if (l != 0) {
+                i = digits(it, i, l);
+            }
+            return trim(it, i);
+        }
+
+        if (-3 < e && e <= 0) {
+            // plain format with leading zeroes
+            it[i++] = '0';
+            it[i++] = '.';
+            for (; e < 0; ++e) {
+                it[i++] = '0';
+            }
+            it[i++] = (byte) (h + '0');
+            i = digits(it, i, m);
+            if (l != 0) {
+                i = digits(it, i, l);
+            }
+            return trim(it, i);
+        }
+
+        // computerized scientific notation
+        it[i++] = (byte) (h + '0');
+        it[i++] = '.';
+        i = digits(it, i, m);
+        if (l != 0) {
+            i = digits(it, i, l);
+        }
+        return exponent(
+            it, trim(it, i), e - 1, json
+        );
+    }
+
+    private static int chars(
+        byte[] it, int i, int f, int e, boolean json
+    ) {
+        // 10^(len-1) <= f < 10^len
+        int len = flog10pow2(
+            32 - Integer.numberOfLeadingZeros(f)
+        );
+        if (f >= POW10[len]) {
+            len += 1;
+        }
+
+        // 10^(H-1) <= f < 10^H
+        f *= (int) POW10[F_H - len];
+        e += len;
+
+        // h: the most significant digit
+        // l: the last 8 significant digits
+        int h = (int) (f * 1_441_151_881L >>> 57);
+        int l = f - 100_000_000 * h;
+
+        if (0 < e && e <= 7) {
+            // plain format without leading zeroes
+            it[i++] = (byte) (h + '0');
+            int y = y(l), j = 1;
+            for (; j < e; ++j) {
+                int t = 10 * y;
+                it[i++] = (byte) ((t >>> 28) + '0');
+                y = t & MASK_28;
+            }
+            it[i++] = '.';
+            for (; j <= 8; ++j) {
+                int t = 10 * y;
+                it[i++] = (byte) ((t >>> 28) + '0');
+                y = t & MASK_28;
+            }
+            return trim(it, i);
+        }
+
+        if (-3 < e && e <= 0) {
+            // plain format with leading zeroes
+            it[i++] = '0';
+            it[i++] = '.';
+            for (; e < 0; ++e) {
+                it[i++] = '0';
+            }
+            it[i++] = (byte) (h + '0');
+            return trim(
+                it, digits(it, i, l)
+            );
+        }
+
+        // computerized scientific notation
+        it[i++] = (byte) (h + '0');
+        it[i++] = '.';
+        i = digits(it, i, l);
+        return exponent(
+            it, trim(it, i), e - 1, json
+        );
+    }
+
+    /**
+     * Writes the 8 digits of the specified value
+     * from left to right, including leading zeroes
+     */
+    private static int digits(
+        byte[] it, int i, int m
+    ) {
+        int y = y(m);
+        for (int j = 0; j < 8; ++j) {
+            int t = 10 * y;
+            it[i++] = (byte) ((t >>> 28) + '0');
+            y = t & MASK_28;
+        }
+        return i;
+    }
+
+    /**
+     * Removes the trailing zeroes, except
+     * the one directly to the right of the point
+     */
+    private static int trim(
+        byte[] it, int i
+    ) {
+        while (it[i - 1] == '0') {
+            --i;
+        }
+        if (it[i - 1] == '.') {
+            ++i;
+        }
+        return i;
+    }
+
+    private static int exponent(
+        byte[] it, int i, int e, boolean json
+    ) {
+        if (json) {
+            if (it[i - 1] == '0' &&
+                it[i - 2] == '.') {
+                i -= 2;
+            }
+            it[i++] = 'e';
+        } else {
+            it[i++] = 'E';
+        }
+        if (e < 0) {
+            it[i++] = '-';
+            e = -e;
+        }
+        if (e < 10) {
+            it[i++] = (byte) (e + '0');
+            return i;
+        }
+        int d;
+        if (e >= 100) {
+            // floor(e / 100)
+            d = e * 1_311 >>> 17;
+            it[i++] = (byte) (d + '0');
+            e -= 100 * d;
+        }
+        // floor(e / 10)
+        d = e * 103 >>> 10;
+        it[i++] = (byte) (d + '0');
+        it[i++] = (byte) (e - 10 * d + '0');
+        return i;
+    }
+
+    /**
+     * Returns floor((a + 1) 2^28 / 10^8) - 1
+     */
+    private static int y(int a) {
+        return (int) (multiplyHigh(
+            (long) (a + 1) << 28,
+            193_428_131_138_340_668L
+        ) >>> 20) - 1;
+    }
+
+    private static long rop(
+        long g1, long g0, long cp
+    ) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int rop(
+        long g, long cp
+    ) {
+        long x1 = multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    /**
+     * Returns floor(q log10(2))
+     */
+    static int flog10pow2(int q) {
+        return (int) (q * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * Returns floor(q log10(3/4 2))
+     */
+    static int flog10threeQuartersPow2(int q) {
+        return (int) (q * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * Returns floor(e log2(10))
+     */
+    static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * Returns the high 64 bits of
+     * the 128-bit product of two longs
+     */
+    static long multiplyHigh(
+        long x, long y
+    ) {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Writes integers straight into a byte array, the digit count is
+ * computed up front and two digits are written per step from a table
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+final class Digits {
+
+    /**
+     * The maximum length of an int
+     */
+    static final int INT_SIZE = 11;
+
+    /**
+     * The maximum length of a long
+     */
+    static final int LONG_SIZE = 20;
+
+    /**
+     * The digit pairs from 00 to 99
+     */
+    static final byte[] PAIRS = new byte[200];
+
+    static {
+        for (int i = 0, n = 0; i < 100; i++) {
+            PAIRS[n++] = (byte) (i / 10 + '0');
+            PAIRS[n++] = (byte) (i % 10 + '0');
+        }
+    }
+
+    static final long E18 = 1_000_000_000_000_000_000L;
+    static final BigInteger
+        BIG_E18 = BigInteger.valueOf(E18);
+
+    private Digits() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the digit count of the specified non-negative int
+     */
+    static int size(int v) {
+        if (v < 100000) {
+            if (v < 100) {
+                return v < 10 ? 1 : 2;
+            }
+            if (v < 10000) {
+                return v < 1000 ? 3 : 4;
+            }
+            return 5;
+        }
+        if (v < 10000000) {
+            return v < 1000000 ? 6 : 7;
+        }
+        if (v < 1000000000) {
+            return v < 100000000 ? 8 : 9;
+        }
+        return 10;
+    }
+
+    /**
+     * Returns the digit count of the specified non-negative long
+     */
+    static int size(long v) {
+        if (v <= Integer.MAX_VALUE) {
+            return size((int) v);
+        }
+        long p = 10000000000L;
+        for (int n = 10; n < 19; n++) {
+            if (v < p) {
+                return n;
+            }
+            p *= 10;
+        }
+        return 19;
+    }
+
+    /**
+     * Writes the specified int into the array at the specified index,
+     * the array must have at least {@link #INT_SIZE} bytes remaining
+     *
+     * @return the index after the last written byte
+     */
+    static int write(
+        byte[] it, int i, int v
+    ) {
+        if (v < 0) {
+            if (v == Integer.MIN_VALUE) {
+                return write(
+                    it, i, (long) v
+                );
+            }
+            it[i++] = '-';
+            v = -v;
+        }
+        int n = i + size(v);
+        digits(it, n, v);
+        return n;
+    }
+
+    /**
+     * Writes the specified long into the array at the specified index,
+     * the array must have at least {@link #LONG_SIZE} bytes remaining
+     *
+     * @return the index after the last written byte
+     */
+    static int write(
+        byte[] it, int i, long v
+    ) {
+        if (v < 0) {
+            it[i++] = '-';
+            if (v == Long.MIN_VALUE) {
+                // 9223372036854775808
+                digits(it, i + 19, 223372036854775808L);
+                it[i] = '9';
+                return i + 19;
+            }
+            v = -v;
+        }
+        int n = i + size(v);
+        digits(it, n, v);
+        return n;
+    }
+
+    /**
+     * Writes the digits of the specified non-negative
+     * int backwards, ending before the specified index
+     */
+    static void digits(
+        byte[] it, int e, int v
+    ) {
+        byte[] pair = PAIRS;
+        while (v >= 100) {
+            int q = v / 100;
+            int r = (v - q * 100) << 1;
+            v = q;
+            it[--e] = pair[r + 1];
+            it[--e] = pair[r];
+        }
+        if (v < 10) {
+            it[--e] = (byte) (v + '0');
+        } else {
+            int r = v << 1;
+            it[--e] = pair[r + 1];
+            it[--e] = pair[r];
+        }
+    }
+
+    /**
+     * Writes the digits of the specified non-negative
+     * long backwards, ending before the specified index
+     */
+    static void digits(
+        byte[] it, int e, long v
+    ) {
+        byte[] pair = PAIRS;
+        while (v > Integer.MAX_VALUE) {
+            long q = v / 100;
+            int r = (int) (v - q * 100) << 1;
+            v = q;
+            it[--e] = pair[r + 1];
+            it[--e] = pair[r];
+        }
+        digits(
+            it, e, (int) v
+        );
+    }
+
+    /**
+     * Writes exactly 18 digits of the specified non-negative
+     * long backwards with leading zeros, ending before the index
+     */
+    static void digits18(
+        byte[] it, int e, long v
+    ) {
+        byte[] pair = PAIRS;
+        for (int k = 0; k < 9; k++) {
+            long q = v / 100;
+            int r = (int) (v - q * 100) << 1;
+            v = q;
+            it[--e] = pair[r + 1];
+            it[--e] = pair[r];
+        }
+    }
+
+    /**
+     * Splits the magnitude of the specified
+     * integer into the groups of 18 digits, the
+     * most significant group comes last
+     */
+    static long[] groups(
+        BigInteger v
+    ) {
+        if (v.signum() < 0) {
+            v = v.negate();
+        }
+        int n = 0;
+        long[] group = new long[
+            v.bitLength() / 59 + 1
+            ];
+        while (v.bitLength() > 63) {
+            BigInteger[] qr =
+                v.divideAndRemainder(BIG_E18);
+            group[n++] = qr[1].longValue();
+            v = qr[0];
+        }
+        group[n++] = v.longValue();
+        if (n == group.length) {
+            return group;
+        }
+        long[] data = new long[n];
+        System.arraycopy(
+            group, 0, data, 0, n
+        );
+        return data;
+    }
+
+    /**
+     * Returns the digit count of the specified groups
+     */
+    static int size(
+        long[] group
+    ) {
+        int n = group.length - 1;
+        return n * 18 + size(group[n]);
+    }
+
+    /**
+     * Writes the digits of the specified groups
+     * backwards, ending before the specified index
+     */
+    static void digits(
+        byte[] it, int e, long[] group
+    ) {
+        int n = group.length - 1;
+        for (int k = 0; k < n; k++) {
+            digits18(
+                it, e, group[k]
+            );
+            e -= 18;
+        }
+        digits(
+            it, e, group[n]
+        );
+    }
+
+    /**
+     * Returns the maximum length of the specified integer
+     */
+    static int size(
+        BigInteger v
+    ) {
+        // log10(2) < 0.30103
+        return (int) (v.bitLength() * 0.30103D) + 2;
+    }
+
+    /**
+     * Writes the specified integer into the array at the specified index,
+     * the array must have at least {@link #size(BigInteger)} bytes remaining
+     *
+     * @return the index after the last written byte
+     */
+    static int write(
+        byte[] it, int i, BigInteger v
+    ) {
+        if (v.bitLength() < 64) {
+            return write(
+                it, i, v.longValue()
+            );
+        }
+        if (v.signum() < 0) {
+            it[i++] = '-';
+        }
+        long[] group = groups(v);
+        int n = i + size(group);
+        digits(it, n, group);
+        return n;
+    }
+
+    /**
+     * Returns the maximum length of the specified decimal
+     */
+    static int size(
+        BigDecimal v
+    ) {
+        // sign, point, leading zeros and exponent
+        return size(v.unscaledValue()) + 20;
+    }
+
+    /**
+     * Writes the specified decimal into the array at the specified index
+     * in the same form as {@link BigDecimal#toString()}, the array must
+     * have at least {@link #size(BigDecimal)} bytes remaining
+     *
+     * @return the index after the last written byte
+     */
+    static int write(
+        byte[] it, int i, BigDecimal v
+    ) {
+        int scale = v.scale();
+        BigInteger unscaled = v.unscaledValue();
+        if (scale == 0) {
+            return write(
+                it, i, unscaled
+            );
+        }
+
+        if (unscaled.signum() < 0) {
+            it[i++] = '-';
+        }
+
+        // coefficient digits
+        int len;
+        long[] group = null;
+        long small = 0;
+        // Long.MIN_VALUE has a bit length of 63
+        // and has no positive counterpart in long
+        if (unscaled.bitLength() < 63) {
+            small = Math.abs(
+                unscaled.longValue()
+            );
+            len = size(small);
+        } else {
+            group = groups(unscaled);
+            len = size(group);
+        }
+
+        long adjusted = -(long) scale + (len - 1);
+        if (scale >= 0 && adjusted >= -6) {
+            // plain notation
+            int pad = scale - len;
+            if (pad >= 0) {
+                it[i++] = '0';
+                it[i++] = '.';
+                while (pad-- > 0) {
+                    it[i++] = '0';
+                }
+                i += len;
+                if (group == null) {
+                    digits(it, i, small);
+                } else {
+                    digits(it, i, group);
+                }
+            } else {
+                int n = i + len + 1;
+                if (group == null) {
+                    digits(it, n, small);
+                } else {
+                    digits(it, n, group);
+                }
+                // move the integer part one
+                // byte left to insert the point
+                int m = len - scale;
+                System.arraycopy(
+                    it, i + 1, it, i, m
+                );
+                it[i + m] = '.';
+                i = n;
+            }
+            return i;
+        }
+
+        // scientific notation
+        int n = i + len + 1;
+        if (group == null) {
+            digits(it, n, small);
+        } else {
+            digits(it, n, group);
+        }
+        it[i] = it[i + 1];
+        if (len > 1) {
+            it[i + 1] = '.';
+            i = n;
+        } else {
+            i += 1;
+        }
+
+        it[i++] = 'E';
+        if (adjusted > 0) {
+            it[i++] = '+';
+        }
+        return write(
+            it, i, adjusted
+        );
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import java.lang.invoke.*;
+import java.lang.ref.*;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static plus.kat.lang.Uniform.*;
+import static plus.kat.flow.Stream.*;
+
+/**
+ * A size-classed and bounded bucket, whose arrays are sized
+ * {@code (capacity << k) - 1} for each class {@code k} up to the ceiling,
+ * the smallest classes are cached per platform thread in front of the shared
+ * stripes, but not per virtual thread, which is usually too short-lived to
+ * reuse them, and the bytes retained by both never exceed the limit
+ *
+ * <pre>{@code
+ *  capacity = 8192, ceiling = 1048576
+ *  k = 0 -> 8191
+ *  k = 1 -> 16383
+ *  ...
+ *  k = 7 -> 1048575
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+@SuppressWarnings("unchecked")
+public class KatBucket implements Bucket {
+
+    protected final int bits;
+    protected final int mask;
+    protected final int shift;
+    protected final int grade;
+    protected final int local;
+
+    protected final long limit;
+    protected final long period;
+
+    protected final KatBuffer<byte[]>[] table;
+    protected final ThreadLocal<Local> cache;
+
+    protected final Set<Local> locals;
+    protected final ReferenceQueue<Thread> queue;
+
+    protected final AtomicLong deadline;
+    protected final AtomicLong retained;
+    protected final AtomicIntegerArray usage;
+
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a bucket with the specified arguments
+     *
+     * @param group    the specified number of stripes of each class, the power of 2
+     * @param capacity the specified length plus one of the smallest class, the power of 2
+     * @param ceiling  the specified length plus one of the largest class, the power of 2
+     * @param local    the specified number of the smallest classes cached per thread
+     * @param limit    the specified maximum of bytes retained by the stripes and threads
+     * @param idle     the specified milliseconds after which unused classes are evicted
+     * @throws IllegalArgumentException If the group, capacity or ceiling is illegal
+     */
+    public KatBucket(
+        int group, int capacity, int ceiling,
+        int local, long limit, long idle
+    ) {
+        if (group < 1 || (group & (group - 1)) != 0) {
+            throw new IllegalArgumentException(
+                "Received group(" + group + ") must be the power of 2"
+            );
+        }
+        if (capacity < 1 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException(
+                "Received capacity(" + capacity + ") must be the power of 2"
+            );
+        }
+        if (ceiling < capacity || (ceiling & (ceiling - 1)) != 0) {
+            throw new IllegalArgumentException(
+                "Received ceiling(" + ceiling + ") must be the power of 2 and not less than " + capacity
+            );
+        }
+
+        this.mask = group - 1;
+        this.bits = Integer.numberOfTrailingZeros(group);
+        this.shift = Integer.numberOfTrailingZeros(capacity);
+        this.grade = Integer.numberOfTrailingZeros(ceiling) - shift + 1;
+        this.local = Math.max(0, Math.min(local, grade));
+        this.limit = limit;
+        this.period = idle * 1000_000L;
+
+        int size = grade * group;
+        table = new KatBuffer[size];
+        do {
+            table[--size] = new KatBuffer<>();
+        } while (size > 0);
+
+        int l = this.local;
+        queue = new ReferenceQueue<>();
+        locals = ConcurrentHashMap.newKeySet();
+        cache = ThreadLocal.withInitial(() -> {
+            Local zone = new Local(
+                Thread.currentThread(), queue, l
+            );
+            locals.add(zone);
+            return zone;
+        });
+        usage = new AtomicIntegerArray(grade);
+        retained = new AtomicLong();
+        deadline = new AtomicLong(
+            System.nanoTime() + period
+        );
+    }
+
+    /**
+     * Returns the class of the minimum capacity,
+     * which may be beyond the largest pooled class
+     */
+    protected int classOf(int capacity) {
+        return 32 - Integer.numberOfLeadingZeros(
+            capacity >>> shift
+        );
+    }
+
+    /**
+     * Returns the pooled class of the specified array,
+     * or {@code -1} if the array does not belong to this bucket
+     */
+    protected int classOf(byte[] flow) {
+        int n = flow.length + 1;
+        if ((n & (n - 1)) == 0) {
+            int k = Integer.numberOfTrailingZeros(n) - shift;
+            if (k >= 0 && k < grade) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a stripe by the probe of the current thread
+     */
+    protected int stripe() {
+        return mask & KatBuffer.probe();
+    }
+
+    @Override
+    public byte[] store(byte[] flow) {
+        if (flow == null) {
+            return null;
+        }
+
+        int k = classOf(flow);
+        if (k < 0) {
+            return flow;
+        }
+
+        if (period > 0) {
+            long now = System.nanoTime();
+            long due = deadline.get();
+            if (now - due >= 0 &&
+                deadline.compareAndSet(due, now + period)) {
+                trim();
+            }
+        }
+
+        long r;
+        int l = flow.length;
+        do {
+            r = retained.get();
+            if (r + l > limit) {
+                return flow;
+            }
+        } while (
+            !retained.compareAndSet(r, r + l)
+        );
+
+        if (k < local && !virtual()) {
+            byte[][] zone = cache.get().zone;
+            if (zone[k] == null) {
+                zone[k] = flow;
+                return EMPTY_BYTES;
+            }
+        }
+
+        int i = k << bits, s = stripe();
+        if (table[i | s].resume(flow) ||
+            table[i | (s + 1 & mask)].resume(flow)) {
+            return EMPTY_BYTES;
+        }
+
+        retained.addAndGet(-l);
+        return flow;
+    }
+
+    @Override
+    public byte[] apply(byte[] flow, int size, int capacity) {
+        byte[] data = null;
+        int k = classOf(capacity);
+
+        if (k < grade) {
+            if (usage.get(k) == 0) {
+                usage.lazySet(k, 1);
+            }
+            if (k < local && !virtual()) {
+                byte[][] zone = cache.get().zone;
+                if ((data = zone[k]) != null) {
+                    zone[k] = null;
+                }
+            }
+            if (data == null) {
+                int i = k << bits, s = stripe();
+                if ((data = table[i | s].borrow()) == null) {
+                    data = table[i | (s + 1 & mask)].borrow();
+                }
+            }
+            if (data != null) {
+                retained.addAndGet(-data.length);
+            }
+        }
+
+        if (data != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            long n = (1L << (shift + k)) - 1;
+            data = new byte[
+                n < Integer.MAX_VALUE - 8 ? (int) n : capacity
+                ];
+        }
+
+        if (flow != null && flow.length != 0) {
+            System.arraycopy(
+                flow, 0, data, 0, size
+            );
+            store(flow);
+        }
+
+        return data;
+    }
+
+    /**
+     * Evicts the arrays of the classes that have not been applied
+     * since the last trim, and releases the arrays cached by the
+     * threads that have terminated
+     */
+    public void trim() {
+        Reference<?> ref;
+        while ((ref = queue.poll()) != null) {
+            Local zone = (Local) ref;
+            if (locals.remove(zone)) {
+                for (byte[] data : zone.zone) {
+                    if (data != null) {
+                        retained.addAndGet(-data.length);
+                    }
+                }
+            }
+        }
+        for (int k = 0; k < grade; k++) {
+            if (usage.getAndSet(k, 0) == 0) {
+                for (int i = k << bits, e = i + mask; i <= e; i++) {
+                    evict(table[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts all the arrays retained by the stripes
+     */
+    public void clear() {
+        for (KatBuffer<byte[]> node : table) {
+            evict(node);
+        }
+    }
+
+    /**
+     * Evicts all the arrays of the specified stripe
+     */
+    protected void evict(
+        KatBuffer<byte[]> node
+    ) {
+        byte[] data;
+        while ((data = node.borrow()) != null) {
+            retained.addAndGet(-data.length);
+        }
+    }
+
+    /**
+     * Returns the number of applications served by the pool
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of applications that allocated a new array
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the bytes currently retained by the stripes
+     * and the threads, including the arrays cached by the
+     * terminated threads until they are released by {@link #trim()}
+     */
+    public long retained() {
+        return retained.get();
+    }
+
+    private static final MethodHandle IS_VIRTUAL;
+
+    static {
+        MethodHandle mh = null;
+        try {
+            mh = MethodHandles.publicLookup().findVirtual(
+                Thread.class, "isVirtual", MethodType.methodType(boolean.class)
+            );
+        } catch (Throwable e) {
+            // before java 19
+        }
+        IS_VIRTUAL = mh;
+    }
+
+    /**
+     * Returns true if the current thread is virtual
+     */
+    protected static boolean virtual() {
+        MethodHandle mh = IS_VIRTUAL;
+        if (mh != null) {
+            try {
+                return (boolean) mh.invokeExact(
+                    Thread.currentThread()
+                );
+            } catch (Throwable e) {
+                // Nothing
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the statistics of this bucket
+     */
+    @Override
+    public String toString() {
+        return "KatBucket{hits=" + hits() +
+            ", misses=" + misses() +
+            ", retained=" + retained() + '}';
+    }
+
+    /**
+     * The arrays cached by a thread, which are released
+     * by {@link #trim()} once the thread is collected
+     *
+     * @author kraity
+     * @since 0.0.6
+     */
+    protected static final class Local extends WeakReference<Thread> {
+
+        final byte[][] zone;
+
+        Local(
+            Thread thread,
+            ReferenceQueue<Thread> queue, int size
+        ) {
+            super(thread, queue);
+            zone = new byte[size][];
+        }
+    }
+}
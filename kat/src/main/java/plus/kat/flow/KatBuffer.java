@@ -15,24 +15,28 @@
  */
 package plus.kat.flow;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.*;
 
 /**
+ * A lock-free and bounded pool, the bean is first exchanged
+ * through the fast slot of this reference, then through the
+ * fixed slots of the table by compare-and-set, so that no thread
+ * (also no virtual thread) is ever blocked or pinned by the pool
+ *
  * @author kraity
  * @since 0.0.6
  */
-@SuppressWarnings("unchecked")
 public class KatBuffer<Bean>
     extends AtomicReference<Bean> {
 
-    private int size;
-    private Object[] table;
+    private final AtomicReferenceArray<Bean> table;
 
     /**
      * Constructs an empty buffer
      */
     public KatBuffer() {
-        // Nothing
+        this(8);
     }
 
     /**
@@ -42,7 +46,7 @@ public class KatBuffer<Bean>
      */
     public KatBuffer(int size) {
         if (size > 0) {
-            table = new Object[size];
+            table = new AtomicReferenceArray<>(size);
         } else {
             throw new IllegalArgumentException(
                 "Received " + size + " is less than 1"
@@ -51,18 +55,16 @@ public class KatBuffer<Bean>
     }
 
     /**
-     * Retrieves and removes the top of the table,
+     * Retrieves and removes a bean of the table,
      * or returns {@code null} if the table is empty
      */
     public Bean acquire() {
-        synchronized (this) {
-            Object bean;
-            Object[] zone = table;
-            while (size != 0) {
-                bean = zone[--size];
+        AtomicReferenceArray<Bean> zone = table;
+        for (int i = zone.length() - 1; i >= 0; i--) {
+            if (zone.get(i) != null) {
+                Bean bean = zone.getAndSet(i, null);
                 if (bean != null) {
-                    zone[size] = null;
-                    return (Bean) bean;
+                    return bean;
                 }
             }
         }
@@ -76,15 +78,10 @@ public class KatBuffer<Bean>
      * @param bean the specified bean to release
      */
     public boolean release(Bean bean) {
-        synchronized (this) {
-            Object[] zone = table;
-            if (zone == null) {
-                table = zone =
-                    new Object[8];
-            }
-
-            if (size < zone.length) {
-                zone[size++] = bean;
+        AtomicReferenceArray<Bean> zone = table;
+        for (int i = 0, l = zone.length(); i < l; i++) {
+            if (zone.get(i) == null &&
+                zone.compareAndSet(i, null, bean)) {
                 return true;
             }
         }
@@ -113,11 +110,18 @@ public class KatBuffer<Bean>
      */
     public void close() {
         lazySet(null);
-        synchronized (this) {
-            Object[] zone = table;
-            while (size != 0) {
-                zone[--size] = null;
-            }
+        AtomicReferenceArray<Bean> zone = table;
+        for (int i = 0, l = zone.length(); i < l; i++) {
+            zone.lazySet(i, null);
         }
     }
+
+    /**
+     * Returns a random probe of the current thread for selecting
+     * a stripe, unlike the hash of the thread, it spreads evenly
+     * even across many short-lived virtual threads
+     */
+    public static int probe() {
+        return ThreadLocalRandom.current().nextInt();
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import plus.kat.actor.*;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A constant alias whose encoded bytes are cached per slot,
+ * the first time it is written by a {@link Stream}, where the
+ * slot is the dialect of the stream and whether it uses unicode
+ *
+ * <pre>{@code
+ *  0, 3 -> kat
+ *  1, 4 -> doc
+ *  2, 5 -> json
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class Label extends AtomicReferenceArray<byte[]> {
+
+    final String name;
+
+    /**
+     * Constructs a label for the specified name
+     *
+     * @param name the specified name
+     * @throws NullPointerException If the name is null
+     */
+    public Label(
+        @NotNull String name
+    ) {
+        super(6);
+        if (name != null) {
+            this.name = name;
+        } else {
+            throw new NullPointerException(
+                "Received name is null"
+            );
+        }
+    }
+
+    /**
+     * Returns the name of this label
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
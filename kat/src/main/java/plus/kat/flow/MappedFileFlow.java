@@ -0,0 +1,209 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static plus.kat.flow.Stream.*;
+
+/**
+ * A flow of a file, which is mapped into memory by windows of at
+ * most 1 GiB and read in bulk chunks of 64 KiB without any system
+ * call, the windows are unmapped as soon as they are passed over
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class MappedFileFlow extends Flow {
+
+    static final int CHUNK = 1 << 16;
+    static final long WINDOW = 1L << 30;
+
+    private static final Object UNSAFE;
+    private static final Method CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method cleaner = null;
+        try {
+            Class<?> c = Class.forName(
+                "sun.misc.Unsafe"
+            );
+            cleaner = c.getMethod(
+                "invokeCleaner", ByteBuffer.class
+            );
+            Field f = c.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            unsafe = f.get(null);
+        } catch (Throwable e) {
+            // before java 9 or restricted
+            cleaner = null;
+        }
+        UNSAFE = unsafe;
+        CLEANER = cleaner;
+    }
+
+    private FileChannel flow;
+    private final boolean owner;
+
+    private long index;
+    private final long limit;
+    private MappedByteBuffer buffer;
+
+    /**
+     * Constructs this flow for the specified channel from its
+     * position, and the channel is not closed with this flow
+     *
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the specified channel is null
+     */
+    public MappedFileFlow(
+        @NotNull FileChannel text
+    ) throws IOException {
+        this(text, false);
+    }
+
+    /**
+     * Constructs this flow for the specified file,
+     * and the file is closed with this flow
+     *
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the specified path is null
+     */
+    public MappedFileFlow(
+        @NotNull Path text
+    ) throws IOException {
+        this(
+            FileChannel.open(
+                text, StandardOpenOption.READ
+            ), true
+        );
+    }
+
+    private MappedFileFlow(
+        FileChannel text, boolean owner
+    ) throws IOException {
+        if (text != null) {
+            flow = text;
+            this.owner = owner;
+            index = text.position();
+            limit = text.size();
+        } else {
+            throw new NullPointerException();
+        }
+    }
+
+    @Override
+    public int load()
+        throws IOException {
+        MappedByteBuffer b = buffer;
+        if (b == null || !b.hasRemaining()) {
+            FileChannel c = flow;
+            long n = limit - index;
+            if (c == null || n <= 0) {
+                return l = -1;
+            }
+            if (b != null) {
+                buffer = null;
+                unmap(b);
+            }
+            long size = Math.min(n, WINDOW);
+            buffer = b = c.map(
+                FileChannel.MapMode.READ_ONLY, index, size
+            );
+            index += size;
+        }
+
+        if (v == null) {
+            v = BUCKET.apply(
+                null, 0, CHUNK - 1
+            );
+        }
+
+        int size = Math.min(
+            b.remaining(), v.length
+        );
+        b.get(
+            v, 0, size
+        );
+        i = 0;
+        return l = size;
+    }
+
+    @Override
+    public void close() {
+        MappedByteBuffer b = buffer;
+        if (b != null) {
+            buffer = null;
+            unmap(b);
+        }
+        FileChannel c = flow;
+        if (c != null) {
+            flow = null;
+            if (owner) {
+                try {
+                    c.close();
+                } catch (IOException e) {
+                    // Nothing
+                }
+            }
+        }
+        BUCKET.store(v);
+        super.close();
+    }
+
+    /**
+     * Unmaps the specified direct buffer at once instead
+     * of waiting for the garbage collector, which must
+     * not be accessed any more after this
+     *
+     * @param buffer the specified buffer to be unmapped
+     */
+    public static void unmap(
+        @Nullable ByteBuffer buffer
+    ) {
+        if (buffer != null &&
+            buffer.isDirect()) {
+            try {
+                Method m = CLEANER;
+                if (m != null) {
+                    m.invoke(UNSAFE, buffer);
+                } else {
+                    m = buffer.getClass().getMethod("cleaner");
+                    m.setAccessible(true);
+                    Object cleaner = m.invoke(buffer);
+                    if (cleaner != null) {
+                        cleaner.getClass()
+                            .getMethod("clean")
+                            .invoke(cleaner);
+                    }
+                }
+            } catch (Throwable e) {
+                // left to the garbage collector
+            }
+        }
+    }
+}
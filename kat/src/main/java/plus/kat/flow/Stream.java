@@ -17,9 +17,15 @@ package plus.kat.flow;
 
 import plus.kat.*;
 import plus.kat.lang.*;
+import plus.kat.core.Swar;
 import plus.kat.actor.*;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 import static plus.kat.lang.Uniform.*;
 
@@ -38,6 +44,9 @@ public class Stream extends Binary implements Flux {
     protected boolean clean;
     protected boolean coding;
 
+    protected Sink sink;
+    protected int valve = Integer.MAX_VALUE;
+
     /**
      * @author kraity
      * @since 0.0.6
@@ -63,76 +72,124 @@ public class Stream extends Binary implements Flux {
         byte[] apply(byte[] flow, int size, int capacity);
     }
 
-    @SuppressWarnings("unchecked")
-    public static final Bucket BUCKET = new Bucket() {
-        private final int mask, valve, scale;
-        private final KatBuffer<byte[]>[] table;
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    public interface Sink {
+        /**
+         * Writes the bytes of the specified flow from
+         * the specified offset and length to this sink
+         *
+         * @param flow   the specified flow to be drained
+         * @param offset the specified begin index
+         * @param length the specified length of bytes
+         * @throws IOException If an I/O error occurs
+         */
+        void write(
+            byte[] flow, int offset, int length
+        ) throws IOException;
 
-        {
-            int g = STREAM_GROUP;
-            int l = STREAM_CAPACITY;
-            if ((g & (mask = g - 1)) == 0 &&
-                (l & (valve = l - 1)) == 0) {
-                scale = l;
-                table = new KatBuffer[g];
-                do {
-                    table[--g] = new KatBuffer<>();
-                } while (g > 0);
+        /**
+         * Drains the specified flow of the specified size to this sink
+         * and returns the array that the stream continues to write into,
+         * by default, the bytes are written and the same flow is returned,
+         * a sink can also keep the flow itself and return another array
+         *
+         * @param flow the specified flow to be drained
+         * @param size the specified size of bytes
+         * @return the array to continue writing, must not be null
+         * @throws IOException If an I/O error occurs
+         * @see Chunks
+         */
+        @NotNull
+        default byte[] drain(
+            @NotNull byte[] flow, int size
+        ) throws IOException {
+            write(
+                flow, 0, size
+            );
+            return flow;
+        }
+
+        /**
+         * Returns a sink that writes to the specified {@link OutputStream}
+         *
+         * @param stream the specified stream to be written
+         * @throws NullPointerException If the specified stream is null
+         */
+        @NotNull
+        static Sink of(
+            @NotNull OutputStream stream
+        ) {
+            if (stream != null) {
+                return stream::write;
             } else {
-                throw new IllegalArgumentException(
-                    g + "&" + l + " must be the power of 2"
+                throw new NullPointerException(
+                    "Received stream is null"
                 );
             }
         }
 
-        @Override
-        public byte[] store(byte[] flow) {
-            if (flow != null) {
-                int i = flow.length;
-                if (i % scale == valve && (i /= scale) < 2) {
-                    int v = mask & Thread
-                        .currentThread().hashCode();
-                    if (table[i ^ v].resume(flow)) {
-                        return EMPTY_BYTES;
-                    }
-                }
+        /**
+         * Returns a sink that writes to the specified {@link WritableByteChannel}
+         *
+         * @param channel the specified channel to be written
+         * @throws NullPointerException If the specified channel is null
+         */
+        @NotNull
+        static Sink of(
+            @NotNull WritableByteChannel channel
+        ) {
+            if (channel != null) {
+                return (flow, offset, length) -> {
+                    ByteBuffer buf = ByteBuffer.wrap(
+                        flow, offset, length
+                    );
+                    do {
+                        channel.write(buf);
+                    } while (
+                        buf.hasRemaining()
+                    );
+                };
+            } else {
+                throw new NullPointerException(
+                    "Received channel is null"
+                );
             }
-            return flow;
         }
+    }
 
-        @Override
-        public byte[] apply(byte[] flow, int size, int capacity) {
-            int i = capacity / scale;
-            int v = mask & Thread
-                .currentThread().hashCode();
-
-            byte[] data;
-            if (i > 1) {
-                data = new byte[i * scale + valve];
-            } else {
-                KatBuffer<byte[]> node = table[i ^ v];
-                data = node.getAndSet(null);
-                if (data == null) {
-                    data = node.acquire();
-                    if (data == null) {
-                        data = new byte[i * scale + valve];
-                    }
-                }
-            }
+    /**
+     * escape tables of ascii
+     */
+    static final byte[]
+        VALUE = new byte[128],
+        ALIAS = new byte[128];
 
-            if (flow != null && (i = flow.length) != 0) {
-                System.arraycopy(
-                    flow, 0, data, 0, size
-                );
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            VALUE[i] = ALIAS[i] = 1;
+        }
+        VALUE[0x22] = ALIAS[0x22] = 1;
+        VALUE[0x5C] = ALIAS[0x5C] = 1;
+        VALUE[0x7F] = ALIAS[0x7F] = 1;
+        for (char c : " #,:=@[]{}".toCharArray()) {
+            ALIAS[c] = 1;
+        }
+    }
 
-                if (i % scale == valve && (i /= scale) < 2) {
-                    table[i ^ v].resume(flow);
-                }
-            }
+    /**
+     * sieves of the escape tables
+     */
+    static final long[]
+        VALUES = Swar.sieve(VALUE),
+        ALIASES = Swar.sieve(ALIAS);
 
-            return data;
-        }
-    };
+    public static final Bucket BUCKET = new KatBucket(
+        STREAM_GROUP, STREAM_CAPACITY, STREAM_CEILING,
+        STREAM_LOCAL, STREAM_LIMIT, STREAM_IDLE
+    );
 
     /**
      * Constructs a default stream
@@ -176,6 +233,30 @@ public class Stream extends Binary implements Flux {
         }
     }
 
+    /**
+     * Constructs a stream with the specified arguments, once the
+     * size of this stream reaches the high-water mark of {@link #valve},
+     * the buffered bytes will be drained to the specified sink
+     *
+     * @param flags the specified flags of {@link Flux}
+     * @param sink  the specified sink of {@link Flux}
+     * @throws NullPointerException If the specified sink is null
+     */
+    public Stream(
+        @NotNull long flags,
+        @NotNull Sink sink
+    ) {
+        this(flags, BUCKET);
+        if (sink != null) {
+            this.sink = sink;
+            this.valve = STREAM_VALVE;
+        } else {
+            throw new NullPointerException(
+                "Received sink is null"
+            );
+        }
+    }
+
     /**
      * Returns the hashCode
      * of this {@link Stream}
@@ -505,80 +586,17 @@ public class Stream extends Binary implements Flux {
     public void emit(
         int val
     ) throws IOException {
-        int iv;
         byte[] it = value;
-        if (val < 0) {
-            if (-9 <= val) {
-                iv = size + 2;
-            } else if (-99 <= val) {
-                iv = size + 3;
-            } else if (-999 <= val) {
-                iv = size + 4;
-            } else if (-9999 <= val) {
-                iv = size + 5;
-            } else if (-99999 <= val) {
-                iv = size + 6;
-            } else if (-999999 <= val) {
-                iv = size + 7;
-            } else if (-9999999 <= val) {
-                iv = size + 8;
-            } else if (-99999999 <= val) {
-                iv = size + 9;
-            } else if (-999999999 <= val) {
-                iv = size + 10;
-            } else {
-                iv = size + 11;
-            }
-
-            if (iv > it.length) {
-                value = it
-                    = bucket.apply(
-                    it, size, iv
-                );
-            }
-            it[size] = '-';
-            size = iv;
-            do {
-                it[--iv] = (byte) (
-                    0x30 - (val % 10)
-                );
-            } while ((val /= 10) != 0);
-        } else {
-            if (val <= 9) {
-                iv = size + 1;
-            } else if (val <= 99) {
-                iv = size + 2;
-            } else if (val <= 999) {
-                iv = size + 3;
-            } else if (val <= 9999) {
-                iv = size + 4;
-            } else if (val <= 99999) {
-                iv = size + 5;
-            } else if (val <= 999999) {
-                iv = size + 6;
-            } else if (val <= 9999999) {
-                iv = size + 7;
-            } else if (val <= 99999999) {
-                iv = size + 8;
-            } else if (val <= 999999999) {
-                iv = size + 9;
-            } else {
-                iv = size + 10;
-            }
-
-            if (iv > it.length) {
-                value = it
-                    = bucket.apply(
-                    it, size, iv
-                );
-            }
-            size = iv;
-            do {
-                it[--iv] = (byte) (
-                    0x30 + (val % 10)
-                );
-            } while ((val /= 10) != 0);
+        int min = size + Digits.INT_SIZE;
+        if (min > it.length) {
+            value = it
+                = bucket.apply(
+                it, size, min
+            );
         }
+        size = Digits.write(
+            it, size, val
+        );
     }
 
     /**
@@ -591,116 +609,65 @@ public class Stream extends Binary implements Flux {
     public void emit(
         long val
     ) throws IOException {
-        int iv;
         byte[] it = value;
-        if (val < 0) {
-            if (-9L <= val) {
-                iv = size + 2;
-            } else if (-99L <= val) {
-                iv = size + 3;
-            } else if (-999L <= val) {
-                iv = size + 4;
-            } else if (-9999L <= val) {
-                iv = size + 5;
-            } else if (-99999L <= val) {
-                iv = size + 6;
-            } else if (-999999L <= val) {
-                iv = size + 7;
-            } else if (-9999999L <= val) {
-                iv = size + 8;
-            } else if (-99999999L <= val) {
-                iv = size + 9;
-            } else if (-999999999L <= val) {
-                iv = size + 10;
-            } else if (-9999999999L <= val) {
-                iv = size + 11;
-            } else if (-99999999999L <= val) {
-                iv = size + 12;
-            } else if (-999999999999L <= val) {
-                iv = size + 13;
-            } else if (-9999999999999L <= val) {
-                iv = size + 14;
-            } else if (-99999999999999L <= val) {
-                iv = size + 15;
-            } else if (-999999999999999L <= val) {
-                iv = size + 16;
-            } else if (-9999999999999999L <= val) {
-                iv = size + 17;
-            } else if (-99999999999999999L <= val) {
-                iv = size + 18;
-            } else if (-999999999999999999L <= val) {
-                iv = size + 19;
-            } else {
-                iv = size + 20;
-            }
+        int min = size + Digits.LONG_SIZE;
+        if (min > it.length) {
+            value = it
+                = bucket.apply(
+                it, size, min
+            );
+        }
+        size = Digits.write(
+            it, size, val
+        );
+    }
 
-            if (iv > it.length) {
-                value = it
-                    = bucket.apply(
-                    it, size, iv
-                );
-            }
-            it[size] = '-';
-            size = iv;
-            do {
-                it[--iv] = (byte) (
-                    0x30L - (val % 10L)
-                );
-            } while ((val /= 10L) != 0L);
-        } else {
-            if (val <= 9L) {
-                iv = size + 1;
-            } else if (val <= 99L) {
-                iv = size + 2;
-            } else if (val <= 999L) {
-                iv = size + 3;
-            } else if (val <= 9999L) {
-                iv = size + 4;
-            } else if (val <= 99999L) {
-                iv = size + 5;
-            } else if (val <= 999999L) {
-                iv = size + 6;
-            } else if (val <= 9999999L) {
-                iv = size + 7;
-            } else if (val <= 99999999L) {
-                iv = size + 8;
-            } else if (val <= 999999999L) {
-                iv = size + 9;
-            } else if (val <= 9999999999L) {
-                iv = size + 10;
-            } else if (val <= 99999999999L) {
-                iv = size + 11;
-            } else if (val <= 999999999999L) {
-                iv = size + 12;
-            } else if (val <= 9999999999999L) {
-                iv = size + 13;
-            } else if (val <= 99999999999999L) {
-                iv = size + 14;
-            } else if (val <= 999999999999999L) {
-                iv = size + 15;
-            } else if (val <= 9999999999999999L) {
-                iv = size + 16;
-            } else if (val <= 99999999999999999L) {
-                iv = size + 17;
-            } else if (val <= 999999999999999999L) {
-                iv = size + 18;
-            } else {
-                iv = size + 19;
-            }
+    /**
+     * Concatenates the number to this flux
+     *
+     * @param val the specified number value
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the number is null
+     */
+    @Override
+    public void emit(
+        @NotNull BigInteger val
+    ) throws IOException {
+        byte[] it = value;
+        int min = size + Digits.size(val);
+        if (min > it.length) {
+            value = it
+                = bucket.apply(
+                it, size, min
+            );
+        }
+        size = Digits.write(
+            it, size, val
+        );
+    }
 
-            if (iv > it.length) {
-                value = it
-                    = bucket.apply(
-                    it, size, iv
-                );
-            }
-            size = iv;
-            do {
-                it[--iv] = (byte) (
-                    0x30L + (val % 10L)
-                );
-            } while ((val /= 10L) != 0L);
+    /**
+     * Concatenates the number to this flux
+     *
+     * @param val the specified number value
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the number is null
+     */
+    @Override
+    public void emit(
+        @NotNull BigDecimal val
+    ) throws IOException {
+        byte[] it = value;
+        int min = size + Digits.size(val);
+        if (min > it.length) {
+            value = it
+                = bucket.apply(
+                it, size, min
+            );
         }
+        size = Digits.write(
+            it, size, val
+        );
     }
 
     /**
@@ -722,23 +689,21 @@ public class Stream extends Binary implements Flux {
      * @param val the specified number value
      * @throws IOException If an I/O error occurs
      */
-    @SuppressWarnings("deprecation")
+    @Override
     public void emit(
         float val
     ) throws IOException {
-        String data = Float.toString(val);
-        int now = size,
-            add = data.length(),
-            min = now + add;
         byte[] it = value;
+        int min = size + Decimal.FLOAT_SIZE;
         if (min > it.length) {
             value = it
                 = bucket.apply(
                 it, size, min
             );
         }
-        size = min;
-        data.getBytes(0, add, it, now);
+        size = Decimal.write(
+            it, size, val, (flags & EXPONENT_AS_JSON) != 0
+        );
     }
 
     /**
@@ -747,23 +712,21 @@ public class Stream extends Binary implements Flux {
      * @param val the specified number value
      * @throws IOException If an I/O error occurs
      */
-    @SuppressWarnings("deprecation")
+    @Override
     public void emit(
         double val
     ) throws IOException {
-        String data = Double.toString(val);
-        int now = size,
-            add = data.length(),
-            min = now + add;
         byte[] it = value;
+        int min = size + Decimal.DOUBLE_SIZE;
         if (min > it.length) {
             value = it
                 = bucket.apply(
                 it, size, min
             );
         }
-        size = min;
-        data.getBytes(0, add, it, now);
+        size = Decimal.write(
+            it, size, val, (flags & EXPONENT_AS_JSON) != 0
+        );
     }
 
     /**
@@ -815,7 +778,9 @@ public class Stream extends Binary implements Flux {
     public void emit(
         @NotNull byte[] val
     ) throws IOException {
-        for (byte b : val) emit(b);
+        escape(
+            val, 0, val.length
+        );
     }
 
     /**
@@ -834,9 +799,7 @@ public class Stream extends Binary implements Flux {
     ) throws IOException {
         int m = i + l;
         if (0 <= i && 0 <= l && m <= val.length) {
-            while (i < m) {
-                emit(val[i++]);
-            }
+            escape(val, i, m);
         } else {
             throw new IOException(
                 "Out of bounds, i:" + i + " l:" + l + " length:" + val.length
@@ -875,13 +838,22 @@ public class Stream extends Binary implements Flux {
         int m = i + l;
         if (0 <= i && 0 <= l && m <= val.length) {
             if (l != 0) {
+                byte[] mask = mask();
                 if (coding) {
                     byte[] hex = UPPER;
                     do {
-                        char ch = val[i++];
+                        char ch = val[i];
                         if (ch < 0x80) {
-                            emit((byte) ch);
+                            if (mask[ch] == 0) {
+                                i = escape(
+                                    val, i, m, mask
+                                );
+                            } else {
+                                i++;
+                                emit((byte) ch);
+                            }
                         } else {
+                            i++;
                             byte[] it = value;
                             int min = size + 6;
                             if (min > it.length) {
@@ -900,15 +872,25 @@ public class Stream extends Binary implements Flux {
                     } while (i < m);
                 } else {
                     do {
-                        char c1 = val[i++];
+                        char c1 = val[i];
 
                         // U+0000 ~ U+007F
                         if (c1 < 0x80) {
-                            emit((byte) c1);
+                            if (mask[c1] == 0) {
+                                i = escape(
+                                    val, i, m, mask
+                                );
+                            } else {
+                                i++;
+                                emit((byte) c1);
+                            }
+                            continue;
                         }
 
+                        i++;
+
                         // U+0080 ~ U+07FF
-                        else if (c1 < 0x800) {
+                        if (c1 < 0x800) {
                             byte[] it = value;
                             int min = size + 2;
                             if (min > it.length) {
@@ -996,11 +978,9 @@ public class Stream extends Binary implements Flux {
     ) throws IOException {
         int l = val.size();
         if (l != 0) {
-            int i = 0;
-            byte[] it = valueOf(val);
-            while (i < l) {
-                emit(it[i++]);
-            }
+            escape(
+                valueOf(val), 0, l
+            );
         }
     }
 
@@ -1020,10 +1000,9 @@ public class Stream extends Binary implements Flux {
     ) throws IOException {
         int m = i + l;
         if (0 <= i && 0 <= l && m <= val.size()) {
-            byte[] it = valueOf(val);
-            while (i < m) {
-                emit(it[i++]);
-            }
+            escape(
+                valueOf(val), i, m
+            );
         } else {
             throw new IOException(
                 "Out of bounds, i:" + i + " l:" + l + " length:" + val.size()
@@ -1081,6 +1060,7 @@ public class Stream extends Binary implements Flux {
                 }
 
                 int cap = tmp.length;
+                byte[] mask = mask();
                 if (coding) {
                     byte[] hex = UPPER;
                     do {
@@ -1089,11 +1069,19 @@ public class Stream extends Binary implements Flux {
                         val.getChars(
                             i, i += n, tmp, 0
                         );
-                        for (int j = 0; j < n; j++) {
+                        for (int j = 0; j < n; ) {
                             char ch = tmp[j];
                             if (ch < 0x80) {
-                                emit((byte) ch);
+                                if (mask[ch] == 0) {
+                                    j = escape(
+                                        tmp, j, n, mask
+                                    );
+                                } else {
+                                    j++;
+                                    emit((byte) ch);
+                                }
                             } else {
+                                j++;
                                 byte[] it = value;
                                 int min = size + 6;
                                 if (min > it.length) {
@@ -1118,16 +1106,26 @@ public class Stream extends Binary implements Flux {
                         val.getChars(
                             i, i += n, tmp, 0
                         );
-                        for (int j = 0; j < n; j++) {
+                        for (int j = 0; j < n; ) {
                             char c1 = tmp[j];
 
                             // U+0000 ~ U+007F
                             if (c1 < 0x80) {
-                                emit((byte) c1);
+                                if (mask[c1] == 0) {
+                                    j = escape(
+                                        tmp, j, n, mask
+                                    );
+                                } else {
+                                    j++;
+                                    emit((byte) c1);
+                                }
+                                continue;
                             }
 
+                            j++;
+
                             // U+0080 ~ U+07FF
-                            else if (c1 < 0x800) {
+                            if (c1 < 0x800) {
                                 byte[] it = value;
                                 int min = size + 2;
                                 if (min > it.length) {
@@ -1164,8 +1162,8 @@ public class Stream extends Binary implements Flux {
                                 }
 
                                 char c2;
-                                if (n != ++j) {
-                                    c2 = tmp[j];
+                                if (n != j) {
+                                    c2 = tmp[j++];
                                 } else {
                                     if (i != m) {
                                         c2 = val.charAt(i++);
@@ -1219,13 +1217,14 @@ public class Stream extends Binary implements Flux {
     public void emit(
         @NotNull ByteSequence val
     ) throws IOException {
-        int l = val.size();
-        if (l != 0) {
-            int i = 0;
-            while (i < l) {
-                emit(
-                    val.get(i++)
-                );
+        if (val instanceof Binary) {
+            emit(
+                (Binary) val
+            );
+        } else {
+            int l = val.size();
+            if (l != 0) {
+                escape(val, 0, l);
             }
         }
     }
@@ -1246,10 +1245,12 @@ public class Stream extends Binary implements Flux {
     ) throws IOException {
         int m = i + l;
         if (0 <= i && 0 <= l && m <= val.size()) {
-            while (i < m) {
-                emit(
-                    val.get(i++)
+            if (val instanceof Binary) {
+                escape(
+                    valueOf((Binary) val), i, m
                 );
+            } else {
+                escape(val, i, m);
             }
         } else {
             throw new IOException(
@@ -1399,6 +1400,250 @@ public class Stream extends Binary implements Flux {
         }
     }
 
+    /**
+     * Returns the escape table of the current state, where
+     * a non-zero entry means that the ascii byte must be escaped
+     * by {@link #emit(byte)}, otherwise it can be copied as it is
+     */
+    protected byte[] mask() {
+        return state == 1 ? ALIAS : VALUE;
+    }
+
+    /**
+     * Returns the sieve of the escape table of the current state,
+     * see {@link Swar#sieve(byte[])}, or null if the table is unknown
+     * and the bytes are checked one by one against {@link #mask()}
+     */
+    protected long[] sieve() {
+        byte[] mask = mask();
+        if (mask == VALUE) {
+            return VALUES;
+        }
+        if (mask == ALIAS) {
+            return ALIASES;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index of the first byte that must be escaped between
+     * the specified begin index and end index, otherwise returns the end
+     * index, the words are skipped by the sieve and only the stops and
+     * the tail bytes are checked against the escape table
+     *
+     * @param e     the specified buffer
+     * @param j     the specified begin index
+     * @param k     the specified end index
+     * @param mask  the specified escape table
+     * @param sieve the specified sieve of the table
+     */
+    static int clean(
+        byte[] e, int j, int k,
+        byte[] mask, long[] sieve
+    ) {
+        while (j < k) {
+            if (sieve != null) {
+                j = Swar.escape(
+                    e, j, k, sieve
+                );
+                if (j == k) {
+                    break;
+                }
+            }
+            byte b = e[j];
+            if (b >= 0 && mask[b] != 0) {
+                return j;
+            }
+            j++;
+        }
+        return k;
+    }
+
+    /**
+     * Concatenates the bytes of the specified array from the begin index to
+     * the end index, finds the runs that need no escaping eight bytes at a
+     * time, copies them in bulk and only hands the remaining bytes over
+     * to {@link #emit(byte)}
+     *
+     * @param val the specified sequence value
+     * @param i   the specified begin index
+     * @param m   the specified end index
+     * @throws IOException If an I/O error occurs
+     */
+    protected void escape(
+        @NotNull byte[] val, int i, int m
+    ) throws IOException {
+        int o = i;
+        byte[] mask = mask();
+        long[] sieve = sieve();
+        while ((i = clean(
+            val, i, m, mask, sieve)) < m
+        ) {
+            if (o != i) {
+                int l = i - o;
+                byte[] it = grow(size + l);
+                System.arraycopy(
+                    val, o, it, size, l
+                );
+                size += l;
+            }
+            emit(val[i]);
+            o = ++i;
+        }
+        if (o != i) {
+            int l = i - o;
+            byte[] it = grow(size + l);
+            System.arraycopy(
+                val, o, it, size, l
+            );
+            size += l;
+        }
+    }
+
+    /**
+     * Concatenates the bytes of the specified sequence from the begin
+     * index to the end index, and only hands the bytes that need
+     * escaping over to {@link #emit(byte)}
+     *
+     * @param val the specified sequence value
+     * @param i   the specified begin index
+     * @param m   the specified end index
+     * @throws IOException If an I/O error occurs
+     */
+    protected void escape(
+        @NotNull ByteSequence val, int i, int m
+    ) throws IOException {
+        byte[] mask = mask();
+        while (i < m) {
+            byte b = val.get(i++);
+            if (b < 0 || mask[b] == 0) {
+                byte[] it = value;
+                if (size != it.length) {
+                    it[size++] = b;
+                } else {
+                    grow(size + 1)[size++] = b;
+                }
+            } else {
+                emit(b);
+            }
+        }
+    }
+
+    /**
+     * Copies the run of ascii chars that need no escaping, starting
+     * at the begin index, and returns the index of the first char
+     * that is not copied, at most 256 chars are copied at a time,
+     * the ascii chars are narrowed first and then the copied bytes
+     * are checked eight at a time by {@link #clean(byte[], int, int, byte[], long[])}
+     *
+     * @param val  the specified sequence value
+     * @param i    the specified begin index
+     * @param m    the specified end index
+     * @param mask the specified escape table
+     */
+    private int escape(
+        char[] val, int i, int m, byte[] mask
+    ) {
+        int e = m - i > 256 ? i + 256 : m;
+        byte[] it = grow(size + e - i);
+        int n = size;
+        do {
+            char c = val[i];
+            if (c < 0x80) {
+                it[n++] = (byte) c;
+            } else {
+                break;
+            }
+        } while (++i < e);
+        int k = clean(
+            it, size, n, mask, sieve()
+        );
+        size = k;
+        return i - (n - k);
+    }
+
+    /**
+     * Concatenates the label to this flux, the bytes escaped in the
+     * current state are cached in the label for the specified slot
+     * the first time, and then copied in bulk next time
+     *
+     * @param label the specified label value
+     * @param slot  the specified slot of dialect
+     * @throws IOException If an I/O error occurs
+     */
+    protected void emit(
+        @NotNull Label label, int slot
+    ) throws IOException {
+        if (!paste(label, slot)) {
+            int mark = size;
+            emit(label.name);
+            cache(label, slot, mark);
+        }
+    }
+
+    /**
+     * Copies the cached bytes of the label for the
+     * specified slot, returns false if it is not cached
+     *
+     * @param label the specified label value
+     * @param slot  the specified slot of dialect
+     */
+    protected boolean paste(
+        @NotNull Label label, int slot
+    ) {
+        byte[] data = label.get(
+            coding ? slot + 3 : slot
+        );
+        if (data == null) {
+            return false;
+        }
+
+        int l = data.length;
+        byte[] it = grow(size + l);
+        System.arraycopy(
+            data, 0, it, size, l
+        );
+        size += l;
+        return true;
+    }
+
+    /**
+     * Caches the bytes written since the specified
+     * mark into the label for the specified slot
+     *
+     * @param label the specified label value
+     * @param slot  the specified slot of dialect
+     * @param mark  the specified begin index
+     */
+    protected void cache(
+        @NotNull Label label, int slot, int mark
+    ) {
+        int l = size - mark;
+        byte[] data = new byte[l];
+        System.arraycopy(
+            value, mark, data, 0, l
+        );
+        label.set(
+            coding ? slot + 3 : slot, data
+        );
+    }
+
+    /**
+     * Drains the buffered bytes of this stream to the sink,
+     * nothing will happen if this stream has no sink
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void flush() throws IOException {
+        Sink out = sink;
+        if (out != null && size != 0) {
+            value = out.drain(
+                value, size
+            );
+            size = 0;
+        }
+    }
+
     /**
      * Returns a new serialized
      * binary for this {@link Stream}
@@ -1427,6 +1672,18 @@ public class Stream extends Binary implements Flux {
         );
     }
 
+    /**
+     * Resets this stream to be reused from the beginning,
+     * the buffered bytes are discarded, but the buffer,
+     * the chunk and the sink are kept for the next use
+     */
+    public void reset() {
+        size = 0;
+        hash = 0;
+        state = 0;
+        depth = (int) (flags & PRETTY);
+    }
+
     /**
      * Closes this stream and releases
      * the resources associated with it
@@ -1453,6 +1710,19 @@ public class Stream extends Binary implements Flux {
         return bucket;
     }
 
+    /**
+     * Drains the buffered bytes to the sink if the size of this stream
+     * has reached the high-water mark, only called at the boundaries
+     * of values where no earlier bytes are referenced anymore
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    protected void drain() throws IOException {
+        if (size >= valve) {
+            flush();
+        }
+    }
+
     /**
      * Concatenates the value to this flux
      *
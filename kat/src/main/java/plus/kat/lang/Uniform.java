@@ -95,25 +95,40 @@ public final class Uniform {
      * property etc.
      */
     public static final int ALIAS_CAPACITY =
-        getProperty("katplus.alias.capacity", 512);
+        getProperty("katplus.alias.capacity", 256);
     public static final int SPACE_CAPACITY =
-        getProperty("katplus.space.capacity", 256);
+        getProperty("katplus.space.capacity", 128);
     public static final int VALUE_CAPACITY =
-        getProperty("katplus.value.capacity", 8192);
+        getProperty("katplus.value.capacity", 1024);
 
     public static final int PARSER_GROUP =
         getProperty("katplus.parser.group", 16);
+    public static final int PARSER_FACTORY =
+        getProperty("katplus.parser.factory", 16);
 
     public static final int STREAM_GROUP =
         getProperty("katplus.stream.group", 8);
     public static final int STREAM_CAPACITY =
         getProperty("katplus.stream.capacity", 8192);
+    public static final int STREAM_VALVE =
+        getProperty("katplus.stream.valve", 8192);
+    public static final int STREAM_CEILING =
+        getProperty("katplus.stream.ceiling", 1048576);
+    public static final int STREAM_LOCAL =
+        getProperty("katplus.stream.local", 2);
+    public static final int STREAM_LIMIT =
+        getProperty("katplus.stream.limit", 67108864);
+    public static final int STREAM_IDLE =
+        getProperty("katplus.stream.idle", 60000);
 
     public static final int SUPPLIER_BUFFER =
         getProperty("katplus.supplier.buffer", 64);
     public static final int SUPPLIER_CAPACITY =
         getProperty("katplus.supplier.capacity", 64);
 
+    public static final String CALLER_MODE =
+        getProperty("katplus.caller.mode", "handle");
+
     /**
      * Returns the attribute indicated by the specified key
      *
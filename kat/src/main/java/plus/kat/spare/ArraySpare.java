@@ -247,6 +247,11 @@ public class ArraySpare extends BeanSpare<Object> {
             bean = null;
             size = length = 0;
         }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
     }
 
     public static class Builder1 extends Builder0 {
@@ -340,7 +345,7 @@ public class ArraySpare extends BeanSpare<Object> {
                                 "Not found the spare of " + root
                             );
                         }
-                        child = coder.getFactory(root);
+                        child = getFactory(coder, root);
                         if (child != null) {
                             break;
                         } else {
@@ -400,6 +405,15 @@ public class ArraySpare extends BeanSpare<Object> {
         public Type getType() {
             return root;
         }
+
+        /**
+         * Returns true only if the component type was a class,
+         * otherwise it was resolved by the last parent
+         */
+        @Override
+        public boolean reset() {
+            return step == -1;
+        }
     }
 
     public static class Builder2 extends Builder<Object> {
@@ -431,7 +445,7 @@ public class ArraySpare extends BeanSpare<Object> {
                 Spare<?> spare = context.assign(type);
 
                 if (spare != null) {
-                    Factory member = spare.getFactory(type);
+                    Factory member = getFactory(spare, type);
                     return member == null ? null : member.attach(this);
                 }
                 throw new IOException(
@@ -490,5 +504,10 @@ public class ArraySpare extends BeanSpare<Object> {
         public void onDestroy() {
             target = null;
         }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
     }
 }
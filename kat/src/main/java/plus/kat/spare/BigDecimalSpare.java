@@ -74,7 +74,7 @@ public class BigDecimalSpare extends BaseSpare<BigDecimal> {
         @NotNull Object value
     ) throws IOException {
         flux.emit(
-            value.toString()
+            (BigDecimal) value
         );
     }
 }
@@ -74,7 +74,7 @@ public class BigIntegerSpare extends BaseSpare<BigInteger> {
         @NotNull Object value
     ) throws IOException {
         flux.emit(
-            value.toString()
+            (BigInteger) value
         );
     }
 }
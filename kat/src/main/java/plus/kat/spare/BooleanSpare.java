@@ -54,6 +54,19 @@ public class BooleanSpare extends BaseSpare<Boolean> {
         return value.toBoolean(null);
     }
 
+    /**
+     * Reads the {@link Value} as a boolean without boxing,
+     * returns false if the value is empty or literally `null`
+     *
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public boolean readBoolean(
+        @NotNull Flag flag,
+        @NotNull Value value
+    ) {
+        return value.toBoolean(false);
+    }
+
     @Override
     public void write(
         @NotNull Flux flux,
@@ -63,4 +76,15 @@ public class BooleanSpare extends BaseSpare<Boolean> {
             (Boolean) value
         );
     }
+
+    /**
+     * Writes the specified boolean without boxing
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void write(
+        @NotNull Flux flux, boolean value
+    ) throws IOException {
+        flux.emit(value);
+    }
 }
@@ -107,6 +107,33 @@ public interface Coder<T> {
         );
     }
 
+    /**
+     * Reads the view of the source buffer as {@link T}, which lies
+     * unescaped inside the flow and is only valid during this call,
+     * by default the view is copied into the value and then read
+     *
+     * @param flag   the specified {@link Flag}
+     * @param value  the value whose flag is set, used if copied
+     * @param flow   the source buffer of the view
+     * @param offset the begin index of the view
+     * @param length the length of the view
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the flag or value is null
+     * @see Pipe#onView(Alias, Space, Value, byte[], int, int)
+     */
+    @Nullable
+    default T read(
+        @NotNull Flag flag,
+        @NotNull Value value,
+        @NotNull byte[] flow, int offset, int length
+    ) throws IOException {
+        return read(
+            flag, value.load(
+                flow, offset, length
+            )
+        );
+    }
+
     /**
      * Writes the {@code value} to {@link Chan}
      *
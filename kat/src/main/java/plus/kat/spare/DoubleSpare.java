@@ -54,6 +54,19 @@ public class DoubleSpare extends BaseSpare<Double> {
         return value.toDouble(null);
     }
 
+    /**
+     * Reads the {@link Value} as a double without boxing,
+     * returns zero if the value is empty or literally `null`
+     *
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public double readDouble(
+        @NotNull Flag flag,
+        @NotNull Value value
+    ) {
+        return value.toDouble(0D);
+    }
+
     @Override
     public void write(
         @NotNull Flux flux,
@@ -63,4 +76,15 @@ public class DoubleSpare extends BaseSpare<Double> {
             (Double) value
         );
     }
+
+    /**
+     * Writes the specified double without boxing
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void write(
+        @NotNull Flux flux, double value
+    ) throws IOException {
+        flux.emit(value);
+    }
 }
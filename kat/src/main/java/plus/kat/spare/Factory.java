@@ -33,6 +33,16 @@ public abstract class Factory implements Pipe, Flag {
     protected Factory parent;
     protected Context context;
 
+    /**
+     * recycle etc.
+     */
+    @Getter(AccessLevel.NONE)
+    Parser holder;
+    @Getter(AccessLevel.NONE)
+    Coder<?> origin;
+    @Getter(AccessLevel.NONE)
+    Type model;
+
     /**
      * Attach this to the parent factory
      *
@@ -48,6 +58,7 @@ public abstract class Factory implements Pipe, Flag {
     ) throws IOException {
         if (parent == null) {
             parent = begin;
+            holder = begin.holder;
             context = begin.context;
         } else {
             throw new IOException(
@@ -93,7 +104,9 @@ public abstract class Factory implements Pipe, Flag {
         throws IOException;
 
     /**
-     * Detach this to the parent factory
+     * Detach this to the parent factory, and then returns this
+     * to the free list of the parser if it was obtained from
+     * {@link #getFactory(Coder, Type)} and {@link #reset()} is true
      *
      * @param alert the flag that can be thrown errors
      * @throws IOException              If a read error occurs
@@ -104,20 +117,72 @@ public abstract class Factory implements Pipe, Flag {
     public Pipe detach(
         @NotNull boolean alert
     ) throws IOException {
+        Factory target = parent;
         try {
             onDestroy();
-            return parent;
         } catch (
             Exception e
         ) {
             if (alert) {
+                holder = null;
+                parent = null;
+                context = null;
                 throw e;
             }
-            return parent;
-        } finally {
-            parent = null;
-            context = null;
         }
+
+        Parser keeper = holder;
+        holder = null;
+        parent = null;
+        context = null;
+
+        if (keeper != null &&
+            origin != null && reset()) {
+            keeper.recycle(this);
+        }
+        return target;
+    }
+
+    /**
+     * Resets this detached {@link Factory} so that it can be attached
+     * again for the same coder and type, the state of the last parsing
+     * must be released, returns false by default if it can't be reused
+     *
+     * @return true if this factory can be recycled
+     */
+    public boolean reset() {
+        return false;
+    }
+
+    /**
+     * Returns a factory of the specified coder and type, it is recycled
+     * from the free list of the parser if possible, otherwise it is
+     * created by {@link Coder#getFactory(Type)}
+     *
+     * @param coder the specified coder of the factory
+     * @param type  the specified type of the factory
+     */
+    @Nullable
+    protected Factory getFactory(
+        @NotNull Coder<?> coder,
+        @Nullable Type type
+    ) {
+        Parser keeper = holder;
+        if (keeper == null) {
+            return coder.getFactory(type);
+        }
+
+        Factory member =
+            keeper.obtain(coder, type);
+        if (member == null) {
+            member = coder.getFactory(type);
+            if (member != null &&
+                member.parent == null) {
+                member.origin = coder;
+                member.model = type;
+            }
+        }
+        return member;
     }
 
     /**
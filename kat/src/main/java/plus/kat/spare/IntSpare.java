@@ -54,6 +54,19 @@ public class IntSpare extends BaseSpare<Integer> {
         return value.toInt(null);
     }
 
+    /**
+     * Reads the {@link Value} as an int without boxing,
+     * returns zero if the value is empty or literally `null`
+     *
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public int readInt(
+        @NotNull Flag flag,
+        @NotNull Value value
+    ) {
+        return value.toInt(0);
+    }
+
     @Override
     public void write(
         @NotNull Flux flux,
@@ -63,4 +76,15 @@ public class IntSpare extends BaseSpare<Integer> {
             (Integer) value
         );
     }
+
+    /**
+     * Writes the specified int without boxing
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void write(
+        @NotNull Flux flux, int value
+    ) throws IOException {
+        flux.emit(value);
+    }
 }
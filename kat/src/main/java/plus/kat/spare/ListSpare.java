@@ -215,7 +215,7 @@ public class ListSpare extends BeanSpare<List> {
                 }
             }
 
-            Factory member = spare.getFactory(type);
+            Factory member = getFactory(spare, type);
             return member == null ? null : member.attach(this);
         }
 
@@ -263,5 +263,12 @@ public class ListSpare extends BeanSpare<List> {
         public void onDestroy() {
             bean = null;
         }
+
+        @Override
+        public boolean reset() {
+            valType = null;
+            valSpare = null;
+            return true;
+        }
     }
 }
@@ -54,6 +54,19 @@ public class LongSpare extends BaseSpare<Long> {
         return value.toLong(null);
     }
 
+    /**
+     * Reads the {@link Value} as a long without boxing,
+     * returns zero if the value is empty or literally `null`
+     *
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public long readLong(
+        @NotNull Flag flag,
+        @NotNull Value value
+    ) {
+        return value.toLong(0L);
+    }
+
     @Override
     public void write(
         @NotNull Flux flux,
@@ -63,4 +76,15 @@ public class LongSpare extends BaseSpare<Long> {
             (Long) value
         );
     }
+
+    /**
+     * Writes the specified long without boxing
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void write(
+        @NotNull Flux flux, long value
+    ) throws IOException {
+        flux.emit(value);
+    }
 }
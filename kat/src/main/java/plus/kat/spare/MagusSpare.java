@@ -0,0 +1,257 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.spare;
+
+import plus.kat.*;
+import plus.kat.flow.*;
+import plus.kat.actor.*;
+
+import java.lang.reflect.*;
+import java.util.Arrays;
+
+/**
+ * The base of the spares generated at compile time for the
+ * {@link Magus} types, the generated subclass accesses the
+ * properties directly and looks up them by the precomputed
+ * hashes instead of scanning the members with reflection
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public abstract class MagusSpare<T> extends BeanSpare<T> implements Subject<T> {
+
+    protected final String space;
+
+    /**
+     * Constructs a spare with the specified space
+     *
+     * @param space   the specified space of the type
+     * @param klass   the specified type of the bean
+     * @param context the specified context of the spare
+     * @throws NullPointerException If the specified klass or context is null
+     */
+    protected MagusSpare(
+        @Nilable String space,
+        @NotNull Class<T> klass,
+        @NotNull Context context
+    ) {
+        super(
+            klass, context
+        );
+        this.space = space;
+    }
+
+    @Override
+    public String getSpace() {
+        return space;
+    }
+
+    @Override
+    public Factory getFactory(
+        @Nullable Type type
+    ) {
+        return new Builder0<>(type, this);
+    }
+
+    @Override
+    public Segment arg(
+        @NotNull Object name
+    ) {
+        return null;
+    }
+
+    @Override
+    public Segment set(
+        @NotNull Object name
+    ) {
+        long h = SimpleSpare.hash1(name);
+        Segment segment = setter(h);
+        if (segment == null &&
+            h != (h = SimpleSpare.hash2(name))) {
+            segment = setter(h);
+        }
+        return segment;
+    }
+
+    @Override
+    public Segment get(
+        @NotNull Object name
+    ) {
+        long h = SimpleSpare.hash1(name);
+        Segment segment = getter(h);
+        if (segment == null &&
+            h != (h = SimpleSpare.hash2(name))) {
+            segment = getter(h);
+        }
+        return segment;
+    }
+
+    /**
+     * Returns the setter of the specified FNV-1a hash of its name
+     */
+    @Nullable
+    protected abstract Segment setter(
+        long hash
+    );
+
+    /**
+     * Returns the getter of the specified FNV-1a hash of its name
+     */
+    @Nullable
+    protected abstract Segment getter(
+        long hash
+    );
+
+    /**
+     * Returns a parameterized type of the specified
+     * raw class and type arguments without an owner
+     *
+     * @throws NullPointerException If the specified raw or args is null
+     */
+    @NotNull
+    protected static Type generic(
+        @NotNull Class<?> raw,
+        @NotNull Type... args
+    ) {
+        if (raw != null && args != null) {
+            return new Generic(raw, args);
+        }
+        throw new NullPointerException(
+            "Received: (" + raw + ", " + Arrays.toString(args) + ")"
+        );
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    public abstract static class Member implements Segment {
+
+        public final int index;
+        public final Type type;
+        public final Coder<?> coder;
+
+        public final String name;
+        public final Label label;
+
+        /**
+         * Constructs a member with the specified name and type
+         *
+         * @param index   the specified index in the spare
+         * @param name    the specified name of the member
+         * @param type    the specified type of the member
+         * @param context the specified context of the spare
+         */
+        protected Member(
+            int index,
+            @NotNull String name,
+            @NotNull Type type,
+            @NotNull Context context
+        ) {
+            this.index = index;
+            this.name = name;
+            this.type = type;
+            this.label = new Label(name);
+            if (type instanceof Class &&
+                (((Class<?>) type).isPrimitive() ||
+                    type == String.class)) {
+                coder = context.assign(type);
+            } else {
+                coder = null;
+            }
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+
+        @Override
+        public Coder<?> getCoder() {
+            return coder;
+        }
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Generic implements ParameterizedType {
+
+        final Class<?> raw;
+        final Type[] args;
+
+        Generic(
+            Class<?> raw, Type[] args
+        ) {
+            this.raw = raw;
+            this.args = args;
+        }
+
+        @Override
+        public Type getRawType() {
+            return raw;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return args.clone();
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(args) ^ raw.hashCode();
+        }
+
+        @Override
+        public boolean equals(
+            Object o
+        ) {
+            if (o == this) {
+                return true;
+            }
+            if (o instanceof ParameterizedType) {
+                ParameterizedType t = (ParameterizedType) o;
+                return raw == t.getRawType() &&
+                    t.getOwnerType() == null &&
+                    Arrays.equals(args, t.getActualTypeArguments());
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(
+                raw.getName()
+            );
+            sb.append('<');
+            for (int i = 0; i < args.length; i++) {
+                if (i != 0) {
+                    sb.append(", ");
+                }
+                sb.append(
+                    args[i].getTypeName()
+                );
+            }
+            return sb.append('>').toString();
+        }
+    }
+}
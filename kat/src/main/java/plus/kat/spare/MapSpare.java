@@ -226,7 +226,7 @@ public class MapSpare extends BeanSpare<Map> {
                 }
             }
 
-            Factory member = spare.getFactory(type);
+            Factory member = getFactory(spare, type);
             if (member == null) {
                 return null;
             }
@@ -322,5 +322,13 @@ public class MapSpare extends BeanSpare<Map> {
                 mark.clear();
             }
         }
+
+        @Override
+        public boolean reset() {
+            valType = null;
+            keySpace = null;
+            valSpace = null;
+            return true;
+        }
     }
 }
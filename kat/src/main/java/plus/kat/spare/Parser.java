@@ -63,6 +63,12 @@ public class Parser extends Factory implements Closeable {
     protected Solver podar, sodar;
     protected KatBuffer<Parser> buffer;
 
+    /**
+     * recycle etc.
+     */
+    protected int count;
+    protected Factory[] factories;
+
     /**
      * default
      */
@@ -102,6 +108,10 @@ public class Parser extends Factory implements Closeable {
         this.sodar = new Sodar(
             alias, space, value
         );
+        if (PARSER_FACTORY > 0) {
+            this.holder = this;
+            this.factories = new Factory[PARSER_FACTORY];
+        }
     }
 
     /**
@@ -252,7 +262,7 @@ public class Parser extends Factory implements Closeable {
         }
 
         Factory member =
-            coder.getFactory(type);
+            getFactory(coder, type);
         if (member != null) {
             return member.attach(this);
         }
@@ -320,6 +330,63 @@ public class Parser extends Factory implements Closeable {
         return target;
     }
 
+    /**
+     * Retrieves and removes a recycled factory of the specified
+     * coder and type, or returns {@code null} if there is none
+     *
+     * @param coder the specified coder of the factory
+     * @param type  the specified type of the factory
+     */
+    @Nullable
+    protected Factory obtain(
+        @NotNull Coder<?> coder,
+        @Nullable Type type
+    ) {
+        int i = count;
+        Factory[] list = factories;
+        while (--i >= 0) {
+            Factory member = list[i];
+            if (member.origin == coder) {
+                Type model = member.model;
+                if (model == type || (model != null
+                    && model.equals(type))) {
+                    int last = --count;
+                    list[i] = list[last];
+                    list[last] = null;
+                    return member;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inserts the specified detached factory into the free list,
+     * if the list is full, the oldest factory is dropped
+     *
+     * @param member the specified factory to recycle
+     */
+    protected void recycle(
+        @NotNull Factory member
+    ) {
+        Factory[] list = factories;
+        if (list != null) {
+            int i = count;
+            while (--i >= 0) {
+                if (list[i] == member) {
+                    return;
+                }
+            }
+            if ((i = count) == list.length) {
+                System.arraycopy(
+                    list, 1, list, 0, --i
+                );
+                count = i;
+            }
+            list[count++] = member;
+        }
+    }
+
     /**
      * Returns the type of factory to build
      */
@@ -478,7 +545,14 @@ public class Parser extends Factory implements Closeable {
         KatBuffer<Parser> node = buffer;
         if (node != null) {
             buffer = null;
+            // the token buffers may have grown
+            // for huge values, keep the pool small
+            alias.shrink(ALIAS_CAPACITY);
+            space.shrink(SPACE_CAPACITY);
+            value.shrink(VALUE_CAPACITY);
             if (node.resume(this)) {
+                // keep the recycled
+                // factories warm
                 return;
             }
 
@@ -495,6 +569,8 @@ public class Parser extends Factory implements Closeable {
                 alias = null;
                 space = null;
                 value = null;
+                factories = null;
+                count = 0;
             }
         }
     }
@@ -504,11 +580,14 @@ public class Parser extends Factory implements Closeable {
      */
     @NotNull
     public static Parser apply() {
-        KatBuffer<Parser> buffer = TABLE[Thread
-            .currentThread().hashCode() & MASK];
+        int i = KatBuffer.probe();
+        KatBuffer<Parser> buffer = TABLE[i & MASK];
 
         Parser target = buffer.borrow();
-        if (target == null) target = new Parser();
+        if (target == null) {
+            target = TABLE[i + 1 & MASK].borrow();
+            if (target == null) target = new Parser();
+        }
 
         target.buffer = buffer;
         return target;
@@ -20,6 +20,7 @@ import plus.kat.actor.*;
 
 import java.util.*;
 import java.lang.reflect.*;
+import java.lang.invoke.MethodHandle;
 
 import java.beans.Transient;
 
@@ -271,6 +272,7 @@ public class ProxySpare extends SimpleSpare<Object> {
 
         final String alias;
         final Method method;
+        final MethodHandle handle;
 
         public Handle(
             Magic magic,
@@ -316,6 +318,8 @@ public class ProxySpare extends SimpleSpare<Object> {
             if (!method.isAccessible()) {
                 method.setAccessible(true);
             }
+
+            handle = invoker(method, Object.class);
         }
 
         @Override
@@ -328,6 +332,10 @@ public class ProxySpare extends SimpleSpare<Object> {
                         ((Holder) bean).$_$()
                     ).get(alias);
                 } else {
+                    MethodHandle mh = handle;
+                    if (mh != null) {
+                        return (Object) mh.invokeExact(bean);
+                    }
                     return method.invoke(bean);
                 }
             } catch (IllegalStateException e) {
@@ -349,7 +357,12 @@ public class ProxySpare extends SimpleSpare<Object> {
                         (((Holder) bean).$_$())
                             .put(alias, value);
                     } else {
-                        method.invoke(bean, value);
+                        MethodHandle mh = handle;
+                        if (mh != null) {
+                            mh.invokeExact(bean, value);
+                        } else {
+                            method.invoke(bean, value);
+                        }
                     }
                     return true;
                 } catch (IllegalStateException e) {
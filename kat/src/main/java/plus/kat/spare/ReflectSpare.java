@@ -18,6 +18,7 @@ package plus.kat.spare;
 import plus.kat.*;
 import plus.kat.actor.*;
 
+import java.lang.invoke.*;
 import java.lang.reflect.*;
 import java.lang.annotation.*;
 
@@ -687,6 +688,12 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
     static final class FieldCaller extends Caller {
 
         private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private final Class<?> sort;
+        private final MethodHandle getter0;
+        private final MethodHandle setter0;
 
         public FieldCaller(
             int index, Magic magic,
@@ -703,6 +710,19 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             if (!field.isAccessible()) {
                 field.setAccessible(true);
             }
+
+            getter = getter(field, Object.class);
+            setter = setter(field, Object.class);
+
+            Class<?> kind = field.getType();
+            if (kind.isPrimitive()) {
+                sort = kind;
+                getter0 = getter(field, kind);
+                setter0 = setter(field, kind);
+            } else {
+                sort = null;
+                getter0 = setter0 = null;
+            }
         }
 
         @Override
@@ -710,6 +730,10 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             @NotNull Object bean
         ) {
             try {
+                MethodHandle mh = getter;
+                if (mh != null) {
+                    return (Object) mh.invokeExact(bean);
+                }
                 return field.get(bean);
             } catch (Throwable e) {
                 throw new IllegalStateException(
@@ -726,9 +750,16 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             // Not operate when value is null
             if (value != null) {
                 try {
-                    field.set(
-                        bean, value
-                    );
+                    MethodHandle mh = setter;
+                    if (mh != null) {
+                        mh.invokeExact(
+                            bean, value
+                        );
+                    } else {
+                        field.set(
+                            bean, value
+                        );
+                    }
                     return true;
                 } catch (Throwable e) {
                     throw new IllegalStateException(
@@ -738,6 +769,190 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             }
             return false;
         }
+
+        @Override
+        public int applyInt(
+            @NotNull Object bean
+        ) {
+            if (sort != int.class) {
+                return super.applyInt(bean);
+            }
+            try {
+                MethodHandle mh = getter0;
+                if (mh != null) {
+                    return (int) mh.invokeExact(bean);
+                }
+                return field.getInt(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    field + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean acceptInt(
+            @NotNull Object bean, int value
+        ) {
+            if (sort != int.class) {
+                return accept(bean, value);
+            }
+            try {
+                MethodHandle mh = setter0;
+                if (mh != null) {
+                    mh.invokeExact(
+                        bean, value
+                    );
+                } else {
+                    field.setInt(
+                        bean, value
+                    );
+                }
+                return true;
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    field + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public long applyLong(
+            @NotNull Object bean
+        ) {
+            if (sort != long.class) {
+                return super.applyLong(bean);
+            }
+            try {
+                MethodHandle mh = getter0;
+                if (mh != null) {
+                    return (long) mh.invokeExact(bean);
+                }
+                return field.getLong(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    field + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean acceptLong(
+            @NotNull Object bean, long value
+        ) {
+            if (sort != long.class) {
+                return accept(bean, value);
+            }
+            try {
+                MethodHandle mh = setter0;
+                if (mh != null) {
+                    mh.invokeExact(
+                        bean, value
+                    );
+                } else {
+                    field.setLong(
+                        bean, value
+                    );
+                }
+                return true;
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    field + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public double applyDouble(
+            @NotNull Object bean
+        ) {
+            if (sort != double.class) {
+                return super.applyDouble(bean);
+            }
+            try {
+                MethodHandle mh = getter0;
+                if (mh != null) {
+                    return (double) mh.invokeExact(bean);
+                }
+                return field.getDouble(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    field + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean acceptDouble(
+            @NotNull Object bean, double value
+        ) {
+            if (sort != double.class) {
+                return accept(bean, value);
+            }
+            try {
+                MethodHandle mh = setter0;
+                if (mh != null) {
+                    mh.invokeExact(
+                        bean, value
+                    );
+                } else {
+                    field.setDouble(
+                        bean, value
+                    );
+                }
+                return true;
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    field + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean applyBoolean(
+            @NotNull Object bean
+        ) {
+            if (sort != boolean.class) {
+                return super.applyBoolean(bean);
+            }
+            try {
+                MethodHandle mh = getter0;
+                if (mh != null) {
+                    return (boolean) mh.invokeExact(bean);
+                }
+                return field.getBoolean(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    field + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean acceptBoolean(
+            @NotNull Object bean, boolean value
+        ) {
+            if (sort != boolean.class) {
+                return accept(bean, value);
+            }
+            try {
+                MethodHandle mh = setter0;
+                if (mh != null) {
+                    mh.invokeExact(
+                        bean, value
+                    );
+                } else {
+                    field.setBoolean(
+                        bean, value
+                    );
+                }
+                return true;
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    field + " call 'invoke' failed", e
+                );
+            }
+        }
     }
 
     /**
@@ -747,6 +962,10 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
     static final class MethodCaller extends Caller {
 
         private final Method method;
+        private final MethodHandle handle;
+
+        private final Class<?> sort;
+        private final MethodHandle handle0;
 
         public MethodCaller(
             int index, Magic magic,
@@ -772,6 +991,18 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             if (!method.isAccessible()) {
                 method.setAccessible(true);
             }
+
+            handle = invoker(method, Object.class);
+
+            Class<?> kind = target == null
+                ? method.getReturnType() : target;
+            if (kind.isPrimitive()) {
+                sort = kind;
+                handle0 = invoker(method, kind);
+            } else {
+                sort = null;
+                handle0 = null;
+            }
         }
 
         @Override
@@ -779,6 +1010,10 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             @NotNull Object bean
         ) {
             try {
+                MethodHandle mh = handle;
+                if (mh != null) {
+                    return (Object) mh.invokeExact(bean);
+                }
                 return method.invoke(
                     bean, (Object[]) null
                 );
@@ -797,9 +1032,16 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             // Not operate when value is null
             if (value != null) {
                 try {
-                    method.invoke(
-                        bean, value
-                    );
+                    MethodHandle mh = handle;
+                    if (mh != null) {
+                        mh.invokeExact(
+                            bean, value
+                        );
+                    } else {
+                        method.invoke(
+                            bean, value
+                        );
+                    }
                     return true;
                 } catch (Throwable e) {
                     throw new IllegalStateException(
@@ -809,5 +1051,153 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             }
             return false;
         }
+
+        @Override
+        public int applyInt(
+            @NotNull Object bean
+        ) {
+            MethodHandle mh = handle0;
+            if (mh == null || sort != int.class) {
+                return super.applyInt(bean);
+            }
+            try {
+                return (int) mh.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    method + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean acceptInt(
+            @NotNull Object bean, int value
+        ) {
+            MethodHandle mh = handle0;
+            if (mh == null || sort != int.class) {
+                return accept(bean, value);
+            }
+            try {
+                mh.invokeExact(
+                    bean, value
+                );
+                return true;
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    method + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public long applyLong(
+            @NotNull Object bean
+        ) {
+            MethodHandle mh = handle0;
+            if (mh == null || sort != long.class) {
+                return super.applyLong(bean);
+            }
+            try {
+                return (long) mh.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    method + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean acceptLong(
+            @NotNull Object bean, long value
+        ) {
+            MethodHandle mh = handle0;
+            if (mh == null || sort != long.class) {
+                return accept(bean, value);
+            }
+            try {
+                mh.invokeExact(
+                    bean, value
+                );
+                return true;
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    method + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public double applyDouble(
+            @NotNull Object bean
+        ) {
+            MethodHandle mh = handle0;
+            if (mh == null || sort != double.class) {
+                return super.applyDouble(bean);
+            }
+            try {
+                return (double) mh.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    method + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean acceptDouble(
+            @NotNull Object bean, double value
+        ) {
+            MethodHandle mh = handle0;
+            if (mh == null || sort != double.class) {
+                return accept(bean, value);
+            }
+            try {
+                mh.invokeExact(
+                    bean, value
+                );
+                return true;
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    method + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean applyBoolean(
+            @NotNull Object bean
+        ) {
+            MethodHandle mh = handle0;
+            if (mh == null || sort != boolean.class) {
+                return super.applyBoolean(bean);
+            }
+            try {
+                return (boolean) mh.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    method + " call 'invoke' failed", e
+                );
+            }
+        }
+
+        @Override
+        public boolean acceptBoolean(
+            @NotNull Object bean, boolean value
+        ) {
+            MethodHandle mh = handle0;
+            if (mh == null || sort != boolean.class) {
+                return accept(bean, value);
+            }
+            try {
+                mh.invokeExact(
+                    bean, value
+                );
+                return true;
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                    method + " call 'invoke' failed", e
+                );
+            }
+        }
     }
 }
@@ -0,0 +1,545 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.spare;
+
+import plus.kat.actor.*;
+
+import plus.kat.*;
+import plus.kat.flow.*;
+import plus.kat.chain.*;
+
+import java.io.*;
+import java.util.*;
+
+import static plus.kat.lang.Uniform.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A compiled matcher of paths, which decodes only the selected
+ * properties while solving and lets the solver wipe every other subtree
+ *
+ * <pre>{@code
+ *  Selector selector = new Selector(
+ *      "$.order.id", "$.order.items[*].sku"
+ *  );
+ *  Map<String, Object> result = selector.select(
+ *      Algo.JSON, Flow.of(text)
+ *  );
+ *  Object id = result.get("$.order.id");
+ *  List<?> skus = (List<?>) result.get("$.order.items[*].sku");
+ * }</pre>
+ *
+ * The path supports the root {@code $}, the member {@code .name} or
+ * {@code ['name']}, the element {@code [0]} and the wildcard {@code .*}
+ * or {@code [*]}. The paths with a wildcard are always collected
+ * into a list, the others are only present when found, and
+ * {@link #apply(String...)} borrows a pooled selector for them
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class Selector extends Parser {
+
+    static final int KEY = -1, ANY = -2;
+
+    protected Path[] paths;
+    protected long[] masks;
+    protected int[] counts;
+
+    protected int depth;
+    protected long build;
+    protected Map<String, Object> result;
+
+    /**
+     * Compiles the specified paths
+     *
+     * @param paths the specified paths to be selected
+     * @throws NullPointerException     If the specified paths is null
+     * @throws IllegalArgumentException If the specified paths is illegal
+     */
+    public Selector(
+        @NotNull String... paths
+    ) {
+        super();
+        load(
+            compile(paths)
+        );
+    }
+
+    /**
+     * Constructs a selector without paths for the pool
+     */
+    Selector() {
+        super();
+    }
+
+    /**
+     * Compiles the specified paths
+     *
+     * @throws NullPointerException     If the specified paths is null
+     * @throws IllegalArgumentException If the specified paths is illegal
+     */
+    static Path[] compile(
+        @NotNull String... paths
+    ) {
+        int n = paths.length;
+        if (n != 0 && n <= 64) {
+            Path[] ps = new Path[n];
+            for (int i = 0; i < n; i++) {
+                ps[i] = new Path(paths[i]);
+            }
+            return ps;
+        } else {
+            throw new IllegalArgumentException(
+                "Received " + n + " paths, expected 1 to 64"
+            );
+        }
+    }
+
+    /**
+     * Replaces the paths of this selector, the
+     * masks and counts are kept if they are deep enough
+     */
+    void load(
+        @NotNull Path[] ps
+    ) {
+        int deep = 0;
+        for (Path p : ps) {
+            if (deep < p.size) {
+                deep = p.size;
+            }
+        }
+        paths = ps;
+        if (masks == null ||
+            masks.length <= deep) {
+            masks = new long[deep + 1];
+            counts = new int[deep + 1];
+        }
+    }
+
+    /**
+     * Resolves the {@link Flow} with specified {@link Algo}
+     * and returns the selected values keyed by their paths
+     *
+     * @param algo  the specified algo of flow
+     * @param datum the specified flow to be resolved
+     * @throws IOException If an I/O error or parsing error occurs
+     */
+    @NotNull
+    public Map<String, Object> select(
+        @NotNull Algo algo,
+        @NotNull Flow datum
+    ) throws IOException {
+        if (context == null) {
+            context = Supplier.ins();
+        }
+
+        depth = 0;
+        build = 0L;
+        Map<String, Object> map =
+            result = new LinkedHashMap<>();
+        for (Path p : paths) {
+            if (p.many) {
+                map.put(
+                    p.text, new ArrayList<>()
+                );
+            }
+        }
+
+        try {
+            solve(algo, datum);
+        } finally {
+            result = null;
+        }
+        return map;
+    }
+
+    @Override
+    public Pipe onOpen(
+        @NotNull Alias alias,
+        @NotNull Space space
+    ) throws IOException {
+        long full = 0L, part = 0L;
+        int d = depth;
+
+        if (d == 0) {
+            for (int i = 0; i < paths.length; i++) {
+                if (paths[i].size == 0) {
+                    full |= 1L << i;
+                } else {
+                    part |= 1L << i;
+                }
+            }
+        } else {
+            long m = masks[d];
+            int e = counts[d]++;
+            while (m != 0L) {
+                int i = Long.numberOfTrailingZeros(m);
+                m &= m - 1;
+                Path p = paths[i];
+                if (p.match(d - 1, alias, e)) {
+                    if (p.size == d) {
+                        full |= 1L << i;
+                    } else {
+                        part |= 1L << i;
+                    }
+                }
+            }
+        }
+
+        if (full != 0L) {
+            Spare<?> coder = context
+                .assign(Object.class, space);
+            if (coder == null) {
+                throw new IOException(
+                    "No spare is available"
+                );
+            }
+
+            Factory member =
+                getFactory(coder, Object.class);
+            if (member == null) {
+                throw new IOException(
+                    "No factory is available"
+                );
+            }
+
+            // the deeper paths are picked
+            // from the built value later
+            build = full | part;
+            return member.attach(this);
+        }
+
+        if (part == 0L) {
+            return null;
+        }
+
+        masks[++d] = part;
+        counts[depth = d] = 0;
+        return this;
+    }
+
+    @Override
+    public void onNext(
+        @NotNull Alias alias,
+        @NotNull Space space,
+        @NotNull Value value
+    ) throws IOException {
+        long full = 0L;
+        int d = depth;
+
+        if (d == 0) {
+            for (int i = 0; i < paths.length; i++) {
+                if (paths[i].size == 0) {
+                    full |= 1L << i;
+                }
+            }
+        } else {
+            long m = masks[d];
+            int e = counts[d]++;
+            while (m != 0L) {
+                int i = Long.numberOfTrailingZeros(m);
+                m &= m - 1;
+                Path p = paths[i];
+                if (p.size == d &&
+                    p.match(d - 1, alias, e)) {
+                    full |= 1L << i;
+                }
+            }
+        }
+
+        if (full != 0L) {
+            Spare<?> coder = context
+                .assign(Object.class, space);
+            if (coder == null) {
+                throw new IOException(
+                    "No spare is available"
+                );
+            }
+
+            Object data =
+                coder.read(flow, value);
+            while (full != 0L) {
+                int i = Long.numberOfTrailingZeros(full);
+                full &= full - 1;
+                accept(paths[i], data);
+            }
+        }
+    }
+
+    @Override
+    public void onNext(
+        @Nullable Object value
+    ) {
+        long m = build;
+        build = 0L;
+        int d = depth;
+        while (m != 0L) {
+            int i = Long.numberOfTrailingZeros(m);
+            m &= m - 1;
+            pick(paths[i], d, value);
+        }
+    }
+
+    @Override
+    public Pipe onClose(
+        boolean alert,
+        boolean state
+    ) {
+        if (state && depth != 0) {
+            depth--;
+            return this;
+        }
+        return null;
+    }
+
+    /**
+     * Returns a pooled instance of {@link Selector} with the specified
+     * paths, which is given back to the pool by {@link #close()}
+     *
+     * @param paths the specified paths to be selected
+     * @throws NullPointerException     If the specified paths is null
+     * @throws IllegalArgumentException If the specified paths is illegal
+     */
+    @NotNull
+    public static Selector apply(
+        @NotNull String... paths
+    ) {
+        Path[] ps = compile(paths);
+        int i = KatBuffer.probe();
+        KatBuffer<Parser> buffer = TABLE[i & MASK];
+
+        Parser target = buffer.borrow();
+        if (target == null) {
+            target = TABLE[i + 1 & MASK].borrow();
+            if (target == null) target = new Selector();
+        }
+
+        Selector selector = (Selector) target;
+        selector.load(ps);
+        selector.buffer = buffer;
+        return selector;
+    }
+
+    private static final int MASK;
+    private static final KatBuffer<Parser>[] TABLE;
+
+    static {
+        int g = PARSER_GROUP;
+        if ((g & (MASK = g - 1)) == 0) {
+            TABLE = new KatBuffer[g];
+            do {
+                TABLE[--g] = new KatBuffer<>();
+            } while (g > 0);
+        } else {
+            throw new Error(
+                "Received " + g + " is not a power of two"
+            );
+        }
+    }
+
+    /**
+     * Picks the rest of the specified path from the built value
+     */
+    protected void pick(
+        Path path, int level, Object node
+    ) {
+        if (level == path.size) {
+            accept(path, node);
+            return;
+        }
+
+        int slot = path.slots[level++];
+        if (node instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) node;
+            if (slot == KEY) {
+                Object key = path.keys[level - 1];
+                if (map.containsKey(key)) {
+                    pick(path, level, map.get(key));
+                }
+            } else {
+                int e = 0;
+                for (Object item : map.values()) {
+                    if (slot == ANY || slot == e++) {
+                        pick(path, level, item);
+                    }
+                }
+            }
+        } else if (node instanceof Collection) {
+            if (slot != KEY) {
+                int e = 0;
+                for (Object item : (Collection<?>) node) {
+                    if (slot == ANY || slot == e++) {
+                        pick(path, level, item);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Accepts the selected value of the specified path
+     */
+    @SuppressWarnings("unchecked")
+    protected void accept(
+        Path path, Object data
+    ) {
+        if (path.many) {
+            ((List<Object>) result.get(path.text)).add(data);
+        } else {
+            result.put(path.text, data);
+        }
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Path {
+
+        final int size;
+        final int[] slots;
+        final String text;
+        final String[] keys;
+        final byte[][] names;
+        final boolean many;
+
+        Path(
+            String text
+        ) {
+            int l = text.length();
+            if (l == 0 || text.charAt(0) != '$') {
+                throw new IllegalArgumentException(
+                    "Path `" + text + "` must start with `$`"
+                );
+            }
+
+            List<Object> segments = new ArrayList<>();
+            for (int i = 1; i < l; ) {
+                char c = text.charAt(i++);
+                if (c == '.') {
+                    int o = i;
+                    while (i < l) {
+                        c = text.charAt(i);
+                        if (c == '.' || c == '[') {
+                            break;
+                        }
+                        i++;
+                    }
+                    if (o == i) {
+                        throw illegal(text);
+                    }
+                    String name = text.substring(o, i);
+                    segments.add(
+                        name.equals("*") ? null : name
+                    );
+                } else if (c == '[' && i < l) {
+                    c = text.charAt(i);
+                    int e = text.indexOf(']', i);
+                    if (e < 0) {
+                        throw illegal(text);
+                    }
+                    if (c == '*' && e == i + 1) {
+                        segments.add(null);
+                    } else if (c == '\'' || c == '"') {
+                        if (e - i < 2 ||
+                            text.charAt(e - 1) != c) {
+                            throw illegal(text);
+                        }
+                        segments.add(
+                            text.substring(i + 1, e - 1)
+                        );
+                    } else {
+                        try {
+                            int index = Integer.parseInt(
+                                text.substring(i, e)
+                            );
+                            if (index < 0) {
+                                throw illegal(text);
+                            }
+                            segments.add(index);
+                        } catch (NumberFormatException n) {
+                            throw illegal(text);
+                        }
+                    }
+                    i = e + 1;
+                } else {
+                    throw illegal(text);
+                }
+            }
+
+            int n = size =
+                segments.size();
+            this.text = text;
+            this.slots = new int[n];
+            this.keys = new String[n];
+            this.names = new byte[n][];
+
+            boolean any = false;
+            for (int i = 0; i < n; i++) {
+                Object s = segments.get(i);
+                if (s == null) {
+                    any = true;
+                    slots[i] = ANY;
+                } else if (s instanceof Integer) {
+                    slots[i] = (int) s;
+                } else {
+                    slots[i] = KEY;
+                    keys[i] = (String) s;
+                    names[i] = keys[i].getBytes(UTF_8);
+                }
+            }
+            many = any;
+        }
+
+        /**
+         * Returns {@code true} if the specified property
+         * matches the segment of the specified level
+         */
+        boolean match(
+            int level, Alias alias, int element
+        ) {
+            int slot = slots[level];
+            if (slot == ANY) {
+                return true;
+            }
+            if (slot != KEY) {
+                return slot == element;
+            }
+
+            byte[] name = names[level];
+            int l = name.length;
+            if (l != alias.size()) {
+                return false;
+            }
+            byte[] it = alias.flow();
+            for (int i = 0; i < l; i++) {
+                if (it[i] != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static IllegalArgumentException illegal(
+            String text
+        ) {
+            return new IllegalArgumentException(
+                "Path `" + text + "` is illegal"
+            );
+        }
+    }
+}
@@ -16,10 +16,12 @@
 package plus.kat.spare;
 
 import plus.kat.*;
+import plus.kat.flow.*;
 import plus.kat.lang.*;
 import plus.kat.actor.*;
 
 import java.io.IOException;
+import java.lang.invoke.*;
 import java.lang.reflect.*;
 import java.lang.annotation.*;
 
@@ -92,15 +94,74 @@ public abstract class SimpleSpare<T> extends BeanSpare<T> implements Subject<T>
         @NotNull Chan chan,
         @NotNull Object value
     ) throws IOException {
-        for (Caller node = head; node != null; node = node.mate) {
-            chan.set(
-                node.name,
-                node.coder,
-                node.apply(value)
-            );
+        if (chan instanceof Stream) {
+            for (Caller node = head; node != null; node = node.mate) {
+                write(
+                    chan, node.label, node, value
+                );
+            }
+        } else {
+            for (Caller node = head; node != null; node = node.mate) {
+                write(
+                    chan, node.name, node, value
+                );
+            }
         }
     }
 
+    /**
+     * Writes the property of the specified caller, the int, long,
+     * double and boolean properties of the built-in spares are
+     * read and written without boxing
+     *
+     * @param chan the specified chan
+     * @param key  the specified key of the property
+     * @param node the specified caller of the property
+     * @param bean the specified bean to be read
+     * @throws IOException If an I/O error occurs
+     */
+    static void write(
+        @NotNull Chan chan,
+        @NotNull Object key,
+        @NotNull Caller node,
+        @NotNull Object bean
+    ) throws IOException {
+        Type type = node.type;
+        Coder<?> coder = node.coder;
+        if (type == int.class) {
+            if (coder == IntSpare.INSTANCE) {
+                chan.setInt(
+                    key, node.applyInt(bean)
+                );
+                return;
+            }
+        } else if (type == long.class) {
+            if (coder == LongSpare.INSTANCE) {
+                chan.setLong(
+                    key, node.applyLong(bean)
+                );
+                return;
+            }
+        } else if (type == double.class) {
+            if (coder == DoubleSpare.INSTANCE) {
+                chan.setDouble(
+                    key, node.applyDouble(bean)
+                );
+                return;
+            }
+        } else if (type == boolean.class) {
+            if (coder == BooleanSpare.INSTANCE) {
+                chan.setBoolean(
+                    key, node.applyBoolean(bean)
+                );
+                return;
+            }
+        }
+        chan.set(
+            key, coder, node.apply(bean)
+        );
+    }
+
     @Override
     public Segment arg(
         @NotNull Object name
@@ -400,6 +461,13 @@ public abstract class SimpleSpare<T> extends BeanSpare<T> implements Subject<T>
         if (name != null) {
             node.name = name;
             node.grade = grade;
+            if (name instanceof String) {
+                node.label = new Label(
+                    (String) name
+                );
+            } else {
+                node.label = name;
+            }
         } else {
             throw new IllegalStateException(
                 "Received name cannot be null"
@@ -502,6 +570,7 @@ public abstract class SimpleSpare<T> extends BeanSpare<T> implements Subject<T>
 
         Caller mate;
         Object name;
+        Object label;
 
         int grade;
         final int index;
@@ -624,5 +693,98 @@ public abstract class SimpleSpare<T> extends BeanSpare<T> implements Subject<T>
         ) {
             return element.getAnnotation(clazz);
         }
+
+        /**
+         * The lookup of the handles, or null if the handles
+         * are disabled by {@code katplus.caller.mode=reflect}
+         * or not supported by the vm, such as older Android
+         */
+        static final MethodHandles.Lookup LOOKUP;
+
+        static {
+            MethodHandles.Lookup lookup = null;
+            if (!"reflect".equals(CALLER_MODE)) {
+                try {
+                    lookup = MethodHandles.lookup();
+                } catch (Throwable e) {
+                    // Nothing
+                }
+            }
+            LOOKUP = lookup;
+        }
+
+        /**
+         * Returns the getter handle of type {@code (Object)type}
+         * of the specified accessible field, or null if unavailable
+         */
+        static MethodHandle getter(
+            @NotNull Field field,
+            @NotNull Class<?> type
+        ) {
+            MethodHandles.Lookup lookup = LOOKUP;
+            if (lookup != null) {
+                try {
+                    return lookup.unreflectGetter(field).asType(
+                        MethodType.methodType(type, Object.class)
+                    );
+                } catch (Throwable e) {
+                    // Nothing
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the setter handle of type {@code (Object,type)void}
+         * of the specified accessible field, or null if unavailable
+         */
+        static MethodHandle setter(
+            @NotNull Field field,
+            @NotNull Class<?> type
+        ) {
+            MethodHandles.Lookup lookup = LOOKUP;
+            if (lookup != null) {
+                try {
+                    return lookup.unreflectSetter(field).asType(
+                        MethodType.methodType(void.class, Object.class, type)
+                    );
+                } catch (Throwable e) {
+                    // Nothing
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the handle of the specified accessible getter or setter,
+         * of type {@code (Object)type} or {@code (Object,type)void},
+         * or null if unavailable
+         */
+        static MethodHandle invoker(
+            @NotNull Method method,
+            @NotNull Class<?> type
+        ) {
+            MethodHandles.Lookup lookup = LOOKUP;
+            if (lookup != null) {
+                try {
+                    MethodHandle mh = lookup.unreflect(method);
+                    switch (method.getParameterCount()) {
+                        case 0: {
+                            return mh.asType(
+                                MethodType.methodType(type, Object.class)
+                            );
+                        }
+                        case 1: {
+                            return mh.asType(
+                                MethodType.methodType(void.class, Object.class, type)
+                            );
+                        }
+                    }
+                } catch (Throwable e) {
+                    // Nothing
+                }
+            }
+            return null;
+        }
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.spare;
+
+import plus.kat.actor.*;
+
+import plus.kat.*;
+import plus.kat.core.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.StreamSupport;
+
+/**
+ * An iterator over the elements of the top-level array of a flow,
+ * each element is sliced by a {@link Slicer} and decoded lazily by
+ * the same {@link Parser} as the consumer pulls it, so that the memory
+ * stays constant regardless of the length of the array
+ *
+ * <pre>{@code
+ *  try (Streamer<User> it = supplier.iterate(
+ *      Algo.JSON, User.class, Flow.of(inputStream)
+ *  )) {
+ *      while (it.hasNext()) {
+ *          User user = it.next();
+ *      }
+ *  }
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class Streamer<T> implements Iterator<T>, Closeable {
+
+    protected int state;
+    protected Algo algo;
+    protected Parser parser;
+    protected Slicer slicer;
+
+    /**
+     * Constructs a streamer with the specified parser,
+     * which is closed together with this streamer
+     *
+     * @param algo   the specified algo of the flow
+     * @param flow   the specified flow to be decoded
+     * @param parser the specified parser of the elements
+     * @throws IOException          If the specified algo is not supported
+     * @throws NullPointerException If the specified arguments is null
+     */
+    public Streamer(
+        @NotNull Algo algo,
+        @NotNull Flow flow,
+        @NotNull Parser parser
+    ) throws IOException {
+        if (algo == null ||
+            flow == null ||
+            parser == null) {
+            throw new NullPointerException();
+        }
+        this.slicer = Slicer.of(
+            algo, flow
+        );
+        this.algo = algo;
+        this.parser = parser;
+    }
+
+    /**
+     * Returns {@code true} if the array has more elements
+     *
+     * @throws UncheckedIOException If a read error or parsing error occurs
+     */
+    @Override
+    public boolean hasNext() {
+        if (state == 0) {
+            Slicer s = slicer;
+            try {
+                state = s != null &&
+                    s.next() ? 1 : -1;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            if (state < 0) {
+                close();
+            }
+        }
+        return state > 0;
+    }
+
+    /**
+     * Decodes and returns the next element of the array
+     *
+     * @throws NoSuchElementException If the array has no more elements
+     * @throws UncheckedIOException   If a read error or parsing error occurs
+     */
+    @Override
+    public T next() {
+        if (hasNext()) {
+            state = 0;
+            try {
+                return parser.solve(
+                    algo, slicer.slice()
+                );
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+        throw new NoSuchElementException(
+            "No more elements"
+        );
+    }
+
+    /**
+     * Returns a sequential {@link java.util.stream.Stream}
+     * of the remaining elements, which closes this streamer
+     */
+    @NotNull
+    public java.util.stream.Stream<T> stream() {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                this, Spliterator.ORDERED
+            ), false
+        ).onClose(this::close);
+    }
+
+    /**
+     * Closes this streamer, the flow and the parser
+     */
+    @Override
+    public void close() {
+        state = -1;
+        Slicer s = slicer;
+        if (s != null) {
+            slicer = null;
+            s.close();
+        }
+        Parser p = parser;
+        if (p != null) {
+            parser = null;
+            p.close();
+        }
+    }
+}
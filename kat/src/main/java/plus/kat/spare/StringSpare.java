@@ -72,6 +72,29 @@ public class StringSpare extends BaseSpare<String> {
         return new String(v, 0, l, UTF_8);
     }
 
+    @Override
+    public String read(
+        @NotNull Flag flag,
+        @NotNull Value value,
+        @NotNull byte[] flow, int offset, int length
+    ) {
+        if (length == 0) {
+            return "";
+        }
+
+        if (length == 4 && value.flag() == 0
+            && flow[offset] == 'n'
+            && flow[offset + 1] == 'u'
+            && flow[offset + 2] == 'l'
+            && flow[offset + 3] == 'l') {
+            return null;
+        }
+
+        return new String(
+            flow, offset, length, UTF_8
+        );
+    }
+
     @Override
     public void write(
         @NotNull Flux flux,
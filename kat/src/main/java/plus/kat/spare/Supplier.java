@@ -18,6 +18,7 @@ package plus.kat.spare;
 import plus.kat.*;
 import plus.kat.Flow;
 
+import plus.kat.core.*;
 import plus.kat.flow.*;
 import plus.kat.lang.*;
 
@@ -28,8 +29,10 @@ import java.io.*;
 import java.math.*;
 import java.lang.reflect.*;
 import java.net.*;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.stream.StreamSupport;
 
 import static plus.kat.Algo.*;
 import static plus.kat.lang.Uniform.*;
@@ -254,6 +257,136 @@ public interface Supplier extends Context {
         }
     }
 
+    /**
+     * Returns an iterator of the elements of the top-level array, which
+     * are decoded lazily one by one by the same parser, so that the memory
+     * stays constant regardless of the length of the array
+     *
+     * <pre>{@code
+     *  try (Streamer<User> it = supplier.iterate(
+     *      Algo.JSON, User.class, Flow.of(inputStream)
+     *  )) {
+     *      while (it.hasNext()) {
+     *          User user = it.next();
+     *      }
+     *  }
+     * }</pre>
+     *
+     * @param algo the specified algo for solve
+     * @param type the specified type of the elements
+     * @param text the specified flow to be decoded
+     * @throws NullPointerException If the specified arguments is null
+     * @throws IOException          If the specified algo is not supported
+     * @see Streamer
+     */
+    @NotNull
+    default <T> Streamer<T> iterate(
+        @NotNull Algo algo,
+        @NotNull Type type,
+        @NotNull Flow text
+    ) throws IOException {
+        if (algo == null ||
+            type == null ||
+            text == null) {
+            throw new NullPointerException();
+        }
+
+        Parser op = Parser.apply();
+        try {
+            op.setType(type);
+            op.setContext(this);
+            return new Streamer<>(
+                algo, text, op
+            );
+        } catch (Exception e) {
+            op.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a parallel stream of the decoded records of the
+     * newline-delimited text, each record is decoded by a pooled
+     * parser of the worker over its own range of the text
+     *
+     * <pre>{@code
+     *  try (Stream<User> users = supplier.lines(
+     *      Algo.JSON, User.class, Lines.of(path), false
+     *  )) {
+     *      users.forEach(...);
+     *  }
+     * }</pre>
+     *
+     * @param algo    the specified algo for solve
+     * @param type    the specified type of the records
+     * @param text    the specified records to be decoded
+     * @param ordered the flag that the results keep the order of records
+     * @throws NullPointerException If the specified arguments is null
+     * @see Lines
+     */
+    @NotNull
+    default <T> java.util.stream.Stream<T> lines(
+        @NotNull Algo algo,
+        @NotNull Type type,
+        @NotNull Lines text,
+        boolean ordered
+    ) {
+        if (algo == null ||
+            type == null ||
+            text == null) {
+            throw new NullPointerException();
+        }
+
+        java.util.stream.Stream<T> stream =
+            StreamSupport.stream(text, true).map(flow -> {
+                try {
+                    return solve(
+                        algo, type, flow
+                    );
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        return ordered ? stream : stream.unordered();
+    }
+
+    /**
+     * Decodes only the specified paths of the text, every other
+     * subtree is skipped by the solver without being decoded
+     *
+     * <pre>{@code
+     *  Map<String, Object> result = supplier.select(
+     *      Algo.JSON, flow, "$.order.items[*].sku", "$.order.id"
+     *  );
+     * }</pre>
+     *
+     * @param algo  the specified algo for solve
+     * @param text  the specified flow to be decoded
+     * @param paths the specified paths to be selected
+     * @return the selected values keyed by their paths
+     * @throws NullPointerException     If the specified arguments is null
+     * @throws IOException              If an I/O error or parsing error occurs
+     * @throws IllegalArgumentException If the specified paths is illegal
+     * @see Selector
+     */
+    @NotNull
+    default Map<String, Object> select(
+        @NotNull Algo algo,
+        @NotNull Flow text,
+        @NotNull String... paths
+    ) throws IOException {
+        if (algo == null ||
+            text == null ||
+            paths == null) {
+            throw new NullPointerException();
+        } else {
+            try (Selector op = Selector.apply(paths)) {
+                op.setContext(this);
+                return op.select(algo, text);
+            }
+        }
+    }
+
     /**
      * Encodes the specified value to target {@link Chan} with the flags
      *
@@ -301,6 +434,125 @@ public interface Supplier extends Context {
         return chan;
     }
 
+    /**
+     * Resets the specified chan and encodes the specified value into it,
+     * so that a chan owned by the caller can be reused for every value
+     *
+     * <pre>{@code
+     *  Supplier supplier = ...
+     *  try (Json chan = new Json(flags, supplier)) {
+     *      for (Object value : values) {
+     *          supplier.encodeTo(chan, value);
+     *          out.write(chan.toBinary());
+     *      }
+     *  }
+     * }</pre>
+     *
+     * @param chan  the specified stream-based chan to be reused
+     * @param value the specified value to be encoded
+     * @return {@code true} if successful
+     * @throws IOException If an I/O error or analysis error occurs
+     * @see Stream#reset()
+     */
+    default <C extends Stream & Chan> boolean encodeTo(
+        @NotNull C chan,
+        @Nullable Object value
+    ) throws IOException {
+        chan.reset();
+        return chan.set(
+            null, value
+        );
+    }
+
+    /**
+     * Encodes the specified value to the specified stream with the flags,
+     * where calling {@link OutputStream#close()} will not be performed
+     *
+     * <pre>{@code
+     *  Supplier supplier = ...
+     *  try (OutputStream out = ...) {
+     *      supplier.telex(Algo.JSON, user, 0, out);
+     *  }
+     * }</pre>
+     *
+     * @param algo  the specified algo for telex
+     * @param flags the specified flags for serialize
+     * @param sink  the specified stream to be written
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable Object value, @NotNull long flags,
+        @NotNull OutputStream sink
+    ) throws IOException {
+        telex(
+            algo, value, flags, Stream.Sink.of(sink)
+        );
+    }
+
+    /**
+     * Encodes the specified value to the specified channel with the flags,
+     * where calling {@link WritableByteChannel#close()} will not be performed
+     *
+     * @param algo  the specified algo for telex
+     * @param flags the specified flags for serialize
+     * @param sink  the specified channel to be written
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable Object value, @NotNull long flags,
+        @NotNull WritableByteChannel sink
+    ) throws IOException {
+        telex(
+            algo, value, flags, Stream.Sink.of(sink)
+        );
+    }
+
+    /**
+     * Encodes the specified value to the specified sink with the flags,
+     * the buffered bytes are drained to the sink in segments
+     *
+     * @param algo  the specified algo for telex
+     * @param flags the specified flags for serialize
+     * @param sink  the specified sink to be written
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable Object value, @NotNull long flags,
+        @NotNull Stream.Sink sink
+    ) throws IOException {
+        Chan chan;
+        switch (algo.hashCode()) {
+            case kat: {
+                chan = new Kat(flags, this, sink);
+                break;
+            }
+            case doc: {
+                chan = new Doc(flags, this, sink);
+                break;
+            }
+            case json: {
+                chan = new Json(flags, this, sink);
+                break;
+            }
+            default: {
+                throw new IOException(
+                    "Not supported " + algo
+                );
+            }
+        }
+        try {
+            chan.set(
+                null, value
+            );
+            chan.flush();
+        } finally {
+            chan.close();
+        }
+    }
+
     /**
      * @author kraity
      * @since 0.0.6
@@ -449,6 +701,17 @@ public interface Supplier extends Context {
             @NotNull Type type,
             @NotNull Spare<?> spare
         ) {
+            if (type instanceof Class) {
+                Magus magus = ((Class<?>) type)
+                    .getAnnotation(Magus.class);
+                if (magus != null) {
+                    for (String name : magus.value()) {
+                        minor.putIfAbsent(
+                            name, (Class<?>) type
+                        );
+                    }
+                }
+            }
             return major.put(
                 type, spare
             );
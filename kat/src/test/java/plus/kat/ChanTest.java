@@ -2,7 +2,14 @@ package plus.kat;
 
 import org.junit.jupiter.api.Test;
 
+import plus.kat.flow.*;
+import plus.kat.spare.*;
+
+import java.io.InputStream;
 import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -53,4 +60,180 @@ public class ChanTest {
             assertArrayEquals(expected.getBytes(UTF_8), chan.toBinary());
         }
     }
+
+    @Test
+    public void test_to_sink() throws IOException {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "陆之岇");
+            item.put("tags", Arrays.asList("kat", "doc", "json"));
+            list.add(item);
+        }
+
+        Supplier supplier = Supplier.ins();
+        for (Algo algo : new Algo[]{Algo.KAT, Algo.DOC, Algo.JSON}) {
+            for (long flags : new long[]{0, Flag.PRETTY}) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                supplier.telex(
+                    algo, list, flags, out
+                );
+                try (Chan chan = supplier.telex(algo, list, flags)) {
+                    assertEquals(
+                        chan.toString(), new String(out.toByteArray(), UTF_8)
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_to_chunks() throws IOException {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "陆之岇");
+            list.add(item);
+        }
+
+        Supplier supplier = Supplier.ins();
+        for (Algo algo : new Algo[]{Algo.KAT, Algo.DOC, Algo.JSON}) {
+            String text;
+            try (Chan chan = supplier.telex(algo, list, 0)) {
+                text = chan.toString();
+            }
+
+            try (Chunks chunks = new Chunks()) {
+                supplier.telex(
+                    algo, list, 0, chunks
+                );
+                assertTrue(chunks.count() > 1);
+                assertEquals(text.getBytes(UTF_8).length, chunks.length());
+                assertEquals(text, chunks.toString());
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                for (ByteBuffer buf : chunks.toBuffers()) {
+                    out.write(
+                        buf.array(), buf.position(), buf.remaining()
+                    );
+                }
+                assertEquals(text, new String(out.toByteArray(), UTF_8));
+
+                out.reset();
+                int b;
+                byte[] tmp = new byte[1000];
+                InputStream in = chunks.toInputStream();
+                while ((b = in.read(tmp)) != -1) {
+                    out.write(tmp, 0, b);
+                }
+                assertEquals(-1, in.read());
+                assertEquals(text, new String(out.toByteArray(), UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void test_encode_to() throws IOException {
+        Supplier supplier = Supplier.ins();
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", 1);
+        item.put("tags", Arrays.asList("kat", "json"));
+
+        try (Kat chan = new Kat(Flag.PRETTY, supplier)) {
+            encodeTo(supplier, Algo.KAT, chan, item);
+        }
+        try (Doc chan = new Doc(Flag.PRETTY, supplier)) {
+            encodeTo(supplier, Algo.DOC, chan, item);
+        }
+        try (Json chan = new Json(Flag.PRETTY, supplier)) {
+            encodeTo(supplier, Algo.JSON, chan, item);
+        }
+    }
+
+    static <C extends Stream & Chan> void encodeTo(
+        Supplier supplier, Algo algo, C chan, Map<String, Object> item
+    ) throws IOException {
+        String text;
+        try (Chan tmp = supplier.telex(algo, item, Flag.PRETTY)) {
+            text = tmp.toString();
+        }
+        for (int n = 0; n < 3; n++) {
+            item.put("id", n);
+            assertTrue(supplier.encodeTo(chan, item));
+            assertEquals(text.replace("1", String.valueOf(n)), chan.toString());
+            item.put("id", 1);
+        }
+    }
+
+    @Test
+    public void test_set_primitive() throws IOException {
+        Supplier supplier = Supplier.ins();
+        for (long flags : new long[]{0, Flag.PRETTY, Flag.NORM | Flag.PRETTY}) {
+            Chan[][] chans = {
+                {new Kat(flags, supplier), new Kat(flags, supplier)},
+                {new Doc(flags, supplier), new Doc(flags, supplier)},
+                {new Json(flags, supplier), new Json(flags, supplier)}
+            };
+            for (Chan[] pair : chans) {
+                try (Chan c1 = pair[0]; Chan c2 = pair[1]) {
+                    Entity boxed = it -> {
+                        it.set("a", IntSpare.INSTANCE, -12);
+                        it.set("b", LongSpare.INSTANCE, Long.MIN_VALUE);
+                        it.set("c", DoubleSpare.INSTANCE, 0.25D);
+                        it.set("d", BooleanSpare.INSTANCE, true);
+                    };
+                    Entity unboxed = it -> {
+                        it.setInt("a", -12);
+                        it.setLong("b", Long.MIN_VALUE);
+                        it.setDouble("c", 0.25D);
+                        it.setBoolean("d", true);
+                    };
+                    c1.set(null, boxed);
+                    c2.set(null, unboxed);
+                    assertEquals(c1.toString(), c2.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_to_label() throws IOException {
+        Label label = new Label("陆之岇");
+        for (int i = 0; i < 2; i++) {
+            try (Chan chan = new Kat()) {
+                chan.set(null, it -> {
+                    it.set(label, null, 1);
+                });
+                assertEquals("{陆之岇=1}", chan.toString());
+            }
+            try (Chan chan = new Doc()) {
+                chan.set("User", it -> {
+                    it.set(label, null, 1);
+                });
+                assertEquals("<User><陆之岇>1</陆之岇></User>", chan.toString());
+            }
+            try (Chan chan = new Json()) {
+                chan.set(null, it -> {
+                    it.set(label, null, 1);
+                    it.set(label, (Coder<?>) null, null);
+                });
+                assertEquals("{\"陆之岇\":1,\"陆之岇\":null}", chan.toString());
+            }
+            try (Chan chan = new Json(Flag.UNICODE)) {
+                chan.set(null, it -> {
+                    it.set(label, null, 1);
+                });
+                assertEquals("{\"\\u9646\\u4E4B\\u5C87\":1}", chan.toString());
+            }
+        }
+
+        assertNotNull(label.get(0));
+        assertNotNull(label.get(1));
+        assertNotNull(label.get(2));
+        assertNull(label.get(3));
+        assertNull(label.get(4));
+        assertNotNull(label.get(5));
+    }
 }
@@ -1,6 +1,8 @@
 package plus.kat;
 
 import plus.kat.actor.*;
+import plus.kat.core.*;
+import plus.kat.chain.*;
 
 import java.io.*;
 import java.util.*;
@@ -489,4 +491,375 @@ public class CoreTest {
             assertEquals(text, chan.toString());
         }
     }
+
+    @Test
+    public void test_huge_value() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            sb.append((char) ('a' + i % 26));
+            if (i % 1000 == 0) sb.append('+');
+        }
+        String name = sb.toString();
+
+        Spare<User> spare =
+            Spare.of(User.class);
+        for (int n = 0; n < 3; n++) {
+            User u1 = spare.read(
+                Flow.of("{id=1,name=\"" + name + "\"}")
+            );
+            assertNotNull(u1);
+            assertEquals(name, u1.name);
+
+            User u2 = spare.read(
+                Flow.of("{id=1,name=" + name.replace("+", "") + "}")
+            );
+            assertNotNull(u2);
+            assertEquals(name.replace("+", ""), u2.name);
+
+            User u3 = spare.parse(
+                Flow.of("{\"id\":1,\"name\":\"" + name.replace("+", "\\u002B") + "\"}")
+            );
+            assertNotNull(u3);
+            assertEquals(name, u3.name);
+
+            User u4 = spare.down(
+                Flow.of("<User><id>1</id><name>" + name.replace("+", "&amp;") + "</name></User>")
+            );
+            assertNotNull(u4);
+            assertEquals(name.replace("+", "&"), u4.name);
+
+            User u5 = spare.parse(
+                Flow.of("{\"id\":" + name.length() + ",\"name\":null}")
+            );
+            assertNotNull(u5);
+            assertEquals(name.length(), u5.id);
+        }
+    }
+
+    @Test
+    public void test_view() throws IOException {
+        List<String> views = new ArrayList<>();
+        List<String> nexts = new ArrayList<>();
+        Pipe pipe = new Pipe() {
+            @Override
+            public Pipe onOpen(Alias alias, Space space) {
+                return this;
+            }
+
+            @Override
+            public void onNext(Alias alias, Space space, Value value) {
+                nexts.add(alias + "=" + value);
+            }
+
+            @Override
+            public void onView(Alias alias, Space space, Value value,
+                               byte[] flow, int offset, int length) {
+                views.add(alias + "=" + new String(flow, offset, length));
+            }
+
+            @Override
+            public Pipe onClose(boolean alert, boolean state) {
+                return state ? this : null;
+            }
+        };
+
+        Solver solver = Sodar.apply();
+        solver.solve(
+            Flow.of("{\"a\":\"kat\",\"b\":\"k\\u0061t\",\"c\":1}"), pipe
+        );
+        assertEquals(Collections.singletonList("a=kat"), views);
+        assertEquals(Arrays.asList("b=kat", "c=1"), nexts);
+
+        views.clear();
+        nexts.clear();
+        solver = Radar.apply();
+        solver.solve(
+            Flow.of("{a=\"kat\",b=\"k\\s\"}"), pipe
+        );
+        assertEquals(Collections.singletonList("a=kat"), views);
+        assertEquals(Collections.singletonList("b=k "), nexts);
+    }
+
+    @Test
+    public void test_view_grown() throws IOException {
+        char[] fill = new char[3000];
+        Arrays.fill(fill, 'x');
+        String x = new String(fill);
+
+        // the long view grows the value of the
+        // solver, the later scalars must not be
+        // written into its stale buffer
+        List<?> list = Json.decode(
+            List.class, Flow.of(
+                ("[\"" + x + "\",12345,\"ab\",678]").getBytes()
+            )
+        );
+        assertNotNull(list);
+        assertEquals(x, list.get(0));
+        assertEquals(12345, list.get(1));
+        assertEquals("ab", list.get(2));
+        assertEquals(678, list.get(3));
+
+        Map<?, ?> map = Json.decode(
+            Map.class, Flow.of(
+                ("{\"a\":\"" + x + "\",\"b\":42,\"c\":true}").getBytes()
+            )
+        );
+        assertNotNull(map);
+        assertEquals(x, map.get("a"));
+        assertEquals(42, map.get("b"));
+        assertEquals(true, map.get("c"));
+
+        map = Kat.decode(
+            Map.class, Flow.of(
+                ("{a=\"" + x + "\",b=42,c=true}").getBytes()
+            )
+        );
+        assertNotNull(map);
+        assertEquals(x, map.get("a"));
+        assertEquals("42", String.valueOf(map.get("b")));
+        assertEquals("true", String.valueOf(map.get("c")));
+    }
+
+    @Test
+    public void test_pretty() throws IOException {
+        Spare<User> spare =
+            Spare.of(User.class);
+        StringBuilder pad = new StringBuilder("\n");
+        for (int n = 0; n < 24; n++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                sb.append((char) ('a' + i % 26));
+            }
+            String name = sb + "\"" + sb;
+            String text = sb + "\\\"" + sb;
+
+            User u1 = spare.parse(
+                Flow.of("{" + pad + "\"id\" : " + n + "," + pad +
+                    "\"name\" : \"" + text + "\"" + pad + "}")
+            );
+            assertNotNull(u1);
+            assertEquals(n, u1.id);
+            assertEquals(name, u1.name);
+
+            User u2 = spare.read(
+                Flow.of("{" + pad + "id = " + n + "," + pad +
+                    "name = \"" + text + "\"" + pad + "}")
+            );
+            assertNotNull(u2);
+            assertEquals(n, u2.id);
+            assertEquals(name, u2.name);
+
+            User u3 = spare.down(
+                Flow.of("<User>" + pad + "<id>" + n + "</id>" + pad +
+                    "<name>" + sb + "</name>" + pad + "</User>")
+            );
+            assertNotNull(u3);
+            assertEquals(n, u3.id);
+            assertEquals(sb.toString(), u3.name);
+            pad.append(n % 3 == 0 ? '\t' : ' ');
+        }
+
+        assertThrows(IOException.class, () -> Sodar.apply().solve(
+            Flow.of("{\n        \u0001\"id\":1}"), new Pipe() {
+                @Override
+                public Pipe onOpen(Alias alias, Space space) {
+                    return this;
+                }
+
+                @Override
+                public void onNext(Alias alias, Space space, Value value) {
+                    // Nothing
+                }
+
+                @Override
+                public Pipe onClose(boolean alert, boolean state) {
+                    return null;
+                }
+            }
+        ));
+    }
+
+    static String trace(Cursor cursor) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            switch (cursor.next()) {
+                case Cursor.END:
+                    return sb.toString();
+                case Cursor.START_OBJECT:
+                    sb.append('{');
+                    break;
+                case Cursor.END_OBJECT:
+                    sb.append('}');
+                    break;
+                case Cursor.START_ARRAY:
+                    sb.append('[');
+                    break;
+                case Cursor.END_ARRAY:
+                    sb.append(']');
+                    break;
+                case Cursor.KEY:
+                    sb.append(cursor.alias()).append(':');
+                    break;
+                case Cursor.VALUE:
+                    sb.append(cursor.value()).append(';');
+                    break;
+            }
+        }
+    }
+
+    @Test
+    public void test_wipe() throws IOException {
+        Spare<User> spare =
+            Spare.of(User.class);
+        StringBuilder sb = new StringBuilder();
+        for (int n = 0; n < 48; n++) {
+            String it = sb.toString();
+            String json = "{\"meta\":{\"a\":[\"" + it + "]}\\\"\",'" + it + "{',{\"b\":[[" + n + "],{}]}]," +
+                "\"debug\":[\"" + it + "\"]},\"id\":" + n + ",\"name\":\"" + it + "\",\"tail\":[{\"" + it + "\":1}]}";
+            String kat = "{meta={a=[\"" + it + "]}\\\"\",'" + it + "{',#" + it + "}]#{b=[[" + n + "],{}]}]," +
+                "debug=[\"" + it + "\"]},id=" + n + ",name=\"" + it + "\",tail=[{x=\"" + it + "\"}]}";
+            String doc = "<User><meta a=\"" + it + ">\"><a>" + it + "</a><b/><c><d/><e>" + n + "</e></c></meta>" +
+                "<id>" + n + "</id><name>" + it + "</name><tail><x/></tail></User>";
+
+            for (int i = 0; i < 2; i++) {
+                User u1 = spare.parse(i == 0 ? Flow.of(json) :
+                    Flow.of(new ByteArrayInputStream(json.getBytes())));
+                assertNotNull(u1, json);
+                assertEquals(n, u1.id, json);
+                assertEquals(it, u1.name, json);
+
+                User u2 = spare.read(i == 0 ? Flow.of(kat) :
+                    Flow.of(new ByteArrayInputStream(kat.getBytes())));
+                assertNotNull(u2, kat);
+                assertEquals(n, u2.id, kat);
+                assertEquals(it, u2.name, kat);
+
+                User u3 = spare.down(i == 0 ? Flow.of(doc) :
+                    Flow.of(new ByteArrayInputStream(doc.getBytes())));
+                assertNotNull(u3, doc);
+                assertEquals(n, u3.id, doc);
+                assertEquals(it, u3.name, doc);
+            }
+            sb.append((char) ('a' + n % 26));
+        }
+
+        assertThrows(IOException.class, () -> spare.parse(
+            Flow.of("{\"meta\":{\"a\":[1}]},\"id\":1}")
+        ));
+    }
+
+    @Test
+    public void test_cursor() throws IOException {
+        String text = "{\"id\" : 1, \"name\":\"k\\u0061t\", \"tags\":[\"a\",[],{}," +
+            "{\"x\":[1,{\"y\":\"]}\\\"\"}]}],\"ok\":true, \"no\":null}";
+        try (Cursor cursor = Cursor.of(Algo.JSON, Flow.of(text))) {
+            assertEquals(
+                "{id:1;name:kat;tags:[a;[]{}{x:[1;{y:]}\";}]}]ok:true;no:null;}", trace(cursor)
+            );
+        }
+
+        try (Cursor cursor = Cursor.of(Algo.JSON, Flow.of(text))) {
+            assertEquals(Cursor.START_OBJECT, cursor.next());
+            while (cursor.next() == Cursor.KEY) {
+                if (cursor.alias().equals("id")) {
+                    assertEquals(Cursor.VALUE, cursor.next());
+                    assertEquals(1, cursor.value().toInt());
+                } else if (cursor.alias().equals("tags")) {
+                    assertEquals(Cursor.START_ARRAY, cursor.next());
+                    cursor.skipChildren();
+                    assertEquals(Cursor.END_ARRAY, cursor.token());
+                    assertEquals(1, cursor.depth());
+                } else {
+                    cursor.next();
+                    cursor.skipChildren();
+                }
+            }
+            assertEquals(Cursor.END_OBJECT, cursor.token());
+            assertEquals(Cursor.END, cursor.next());
+        }
+
+        try (Cursor cursor = Cursor.of(Algo.KAT, Flow.of("{id=1,name=kat,tags:Array=[a,b],meta={}}"))) {
+            assertEquals(
+                "{id:1;name:kat;tags:[a;b;]meta:{}}", trace(cursor)
+            );
+        }
+
+        try (Cursor cursor = Cursor.of(Algo.DOC, Flow.of("<User><id>1</id><name>kat</name></User>"))) {
+            assertEquals(
+                "User:{id:1;name:kat;}", trace(cursor)
+            );
+        }
+
+        Solver deep = (flow, pipe) -> {
+            Alias alias = new Alias(8);
+            Space space = new Space(8);
+            Value value = new Value(8);
+            for (int i = 0; i < 100; i++) {
+                pipe = pipe.onOpen(alias, space);
+            }
+            pipe.onNext(alias, space, value.load(
+                new byte[]{'1'}, 0, 1
+            ));
+            for (int i = 0; i < 100; i++) {
+                pipe = pipe.onClose(true, true);
+            }
+        };
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            path.insert(0, '{').append('}');
+        }
+        path.insert(100, "1;");
+        try (Cursor cursor = new SolverCursor(Flow.of("{}"), deep)) {
+            assertEquals(
+                path.toString(), trace(cursor)
+            );
+        }
+
+        for (String bad : new String[]{"{\"a\" 1}", "[1,]", "{\"a\":1", "[1}", "1 2"}) {
+            assertThrows(IOException.class, () -> {
+                try (Cursor cursor = Cursor.of(Algo.JSON, Flow.of(bad))) {
+                    trace(cursor);
+                }
+            }, bad);
+        }
+    }
+
+    @Test
+    public void test_lazy_doc() throws IOException {
+        byte[] text = ("{\"order\": {\"id\": 1024, \"paid\": true, \"no\": null," +
+            " \"items\": [{\"sku\": \"a\\u0062c\"}, {\"sku\": \"xyz\", \"price\": 1.5}]," +
+            " \"n\\u0061me\": \"\u964f\u4e4b\u5c87\", \"meta\": {\"x\": [[], {}]}}}").getBytes("UTF-8");
+
+        LazyDoc doc = LazyDoc.parse(text);
+        LazyNode root = doc.root();
+        assertTrue(root.isObject());
+        assertEquals(1, root.size());
+
+        LazyNode order = root.get("order");
+        assertNotNull(order);
+        assertEquals(6, order.size());
+        assertEquals(1024, order.get("id").toInt());
+        assertEquals(1024L, order.at("id").toLong());
+        assertTrue(order.get("paid").toBoolean());
+        assertTrue(order.get("no").isNull());
+        assertNull(order.get("none"));
+
+        LazyNode items = order.get("items");
+        assertTrue(items.isArray());
+        assertEquals(2, items.size());
+        assertEquals("abc", items.get(0).get("sku").toString());
+        assertEquals("xyz", root.at("order", "items", 1, "sku").toString());
+        assertEquals(1.5D, root.at("order", "items", 1, "price").toDouble());
+        assertNull(items.get(2));
+
+        assertEquals("\u964f\u4e4b\u5c87", order.get("name").toString());
+        assertEquals("{\"x\": [[], {}]}", order.get("meta").toString());
+        assertEquals(0, order.at("meta", "x", 0).size());
+
+        for (String bad : new String[]{"", "{", "{\"a\" 1}", "[1,]", "[1}", "1 2", "{\"a\":\"b}", "{1:2}"}) {
+            assertThrows(IOException.class, () -> LazyDoc.parse(bad.getBytes()), bad);
+        }
+        assertEquals(1, LazyDoc.parse(" 1 ".getBytes()).root().toInt());
+    }
 }
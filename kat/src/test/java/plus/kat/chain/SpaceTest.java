@@ -18,6 +18,26 @@ public class SpaceTest {
         return ins.slip(size);
     }
 
+    @Test
+    public void test_grow() {
+        Space space = new Space(4);
+        byte[] flow = space.flow();
+        flow[0] = 'k';
+        flow[1] = 'a';
+        assertSame(flow, space.grow(2, 4));
+
+        byte[] data = space.grow(2, 100);
+        assertNotSame(flow, data);
+        assertTrue(data.length >= 100);
+        assertSame(data, space.flow());
+        data[2] = 't';
+        assertEquals("kat", space.slip(3).toString());
+
+        space.shrink(4);
+        assertEquals(0, space.size());
+        assertEquals(4, space.flow().length);
+    }
+
     @Test
     public void test_set() {
         Space space = new Space(
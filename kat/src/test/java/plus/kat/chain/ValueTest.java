@@ -544,6 +544,71 @@ public class ValueTest {
         assertEquals(123.456D, value(v, "123.456").toDouble(null));
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void test_toDouble_Exact() {
+        String[] cases = {
+            "0", "-0", "0.0", "1e0", "1E+2", "1e-2", ".5", "5.", "00012.3400",
+            "9007199254740993", "9007199254740992.5", "1e23", "8.41e21",
+            "2.2250738585072011e-308", "2.2250738585072012e-308",
+            "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324",
+            "1.7976931348623157e308", "1.7976931348623158e308", "1.8e308",
+            "1e-400", "1e400", "7.038531e-26", "3.4028235e38", "3.4028236e38",
+            "1.00000005960464477550", "1.000000059604644775390625",
+            "123456789012345678901234567890", "0.1000000000000000055511151231257827",
+            "1x", "e1", "1e", "1e+", "-", ".", "0x1p3", "1d", "2F", "NaN", "-Infinity"
+        };
+        for (String text : cases) {
+            check(text);
+        }
+
+        Random r = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            check(Double.toString(Double.longBitsToDouble(r.nextLong())));
+            check(Float.toString(Float.intBitsToFloat(r.nextInt())));
+            StringBuilder sb = new StringBuilder();
+            for (int n = 1 + r.nextInt(24); n > 0; n--) {
+                sb.append((char) ('0' + r.nextInt(10)));
+            }
+            sb.insert(r.nextInt(sb.length()), '.');
+            sb.append('e').append(r.nextInt(700) - 350);
+            check(sb.toString());
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    static void check(String text) {
+        byte[] flow = new byte[text.length() + 2];
+        text.getBytes(0, text.length(), flow, 1);
+
+        Object d, f;
+        try {
+            d = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            d = e.getClass();
+        }
+        try {
+            f = Float.parseFloat(text);
+        } catch (NumberFormatException e) {
+            f = e.getClass();
+        }
+
+        Object x, y;
+        try {
+            x = Floating.toDouble(flow, 1, text.length());
+        } catch (NumberFormatException e) {
+            x = e.getClass();
+        }
+        try {
+            y = Floating.toFloat(flow, 1, text.length());
+        } catch (NumberFormatException e) {
+            y = e.getClass();
+        }
+
+        assertEquals(d, x, text);
+        assertEquals(f, y, text);
+    }
+
     @Test
     public void test_toNumber_Def() {
         Value v = new Value(64);
@@ -189,4 +189,55 @@ public class FlowTest {
             assertEquals(text, chan.toString());
         }
     }
+
+    @Test
+    public void test_MappedFileFlow() throws IOException {
+        byte[] bin = new byte[200000];
+        for (int i = 0; i < bin.length; i++) {
+            bin[i] = (byte) (i % 128);
+        }
+
+        File file = File.createTempFile("kat", ".flow");
+        try {
+            try (OutputStream out = new FileOutputStream(file)) {
+                out.write(bin);
+            }
+
+            Flow flow = Flow.of(file.toPath());
+            try {
+                for (int i = 0; i < bin.length; i++) {
+                    assertEquals(bin[i], flow.next());
+                }
+                assertFalse(flow.also());
+            } finally {
+                flow.close();
+            }
+
+            try (java.nio.channels.FileChannel channel =
+                     java.nio.channels.FileChannel.open(file.toPath())) {
+                channel.position(100000);
+                flow = Flow.of(channel);
+                assertTrue(flow.skip(99999));
+                assertEquals(bin[199999], flow.next());
+                assertFalse(flow.also());
+                flow.close();
+                assertTrue(channel.isOpen());
+            }
+
+            String text = "{id=1,name=\"陆之岇\"}";
+            try (OutputStream out = new FileOutputStream(file)) {
+                out.write(text.getBytes(UTF_8));
+            }
+
+            Model model = Kat.decode(
+                Model.class, Flow.of(file.toPath())
+            );
+            assertNotNull(model);
+            try (Chan chan = Kat.encode(model)) {
+                assertEquals(text, chan.toString());
+            }
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
 }
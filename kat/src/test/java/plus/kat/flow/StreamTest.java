@@ -2,9 +2,17 @@ package plus.kat.flow;
 
 import org.junit.jupiter.api.Test;
 
+import plus.kat.*;
+import plus.kat.lang.*;
+
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * @author kraity
@@ -151,4 +159,301 @@ public class StreamTest {
             );
         }
     }
+
+    @Test
+    public void test_escape() throws IOException {
+        Random random = new Random(1);
+        // dense and sparse escapes, the sparse
+        // ones leave long runs of clean words
+        for (int rate : new int[]{8, 64}) {
+            byte[] data = new byte[4096];
+            for (int i = 0; i < data.length; i++) {
+                if (random.nextInt(rate) == 0) {
+                    data[i] = (byte) random.nextInt(256);
+                } else {
+                    data[i] = (byte) ('a' + random.nextInt(26));
+                }
+            }
+
+            String text = new String(data, 0);
+            for (int i = 0; i < 4; i++) {
+                byte mode = (byte) (i & 1);
+                Stream[] its = new Stream[3];
+                for (int j = 0; j < 3; j++) {
+                    if (i < 2) {
+                        its[j] = new Stream() {{
+                            state = mode;
+                        }};
+                    } else {
+                        its[j] = new Doc() {{
+                            state = mode;
+                        }};
+                    }
+                }
+
+                Stream s1 = its[0], s2 = its[1], s3 = its[2];
+                for (byte b : data) s1.emit(b);
+                for (char c : text.toCharArray()) s1.emit(c);
+
+                s2.emit(data);
+                s2.emit(text);
+
+                s3.emit(new Binary(data));
+                s3.emit(text.toCharArray());
+
+                assertEquals(s1.toString(), s2.toString());
+                assertEquals(s1.toString(), s3.toString());
+                for (Stream it : its) it.close();
+            }
+        }
+    }
+
+    @Test
+    public void test_decimal() throws IOException {
+        try (Stream flux = new Stream()) {
+            for (double d : new double[]{
+                0D, -0D, 1D, -1D, 0.1D, 1E7D, 1E-3D, 1E-4D, 1E22D, 1E23D,
+                9999999D, 123456789D, 2E-323D, Double.MIN_VALUE, Double.MAX_VALUE,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+            }) {
+                flux.emit(d);
+                flux.emit(',');
+            }
+            for (float f : new float[]{
+                0F, -0F, 1F, 0.1F, 1E7F, 1E-3F, 1E-4F, 1E10F,
+                Float.MIN_VALUE, Float.MAX_VALUE, Float.NaN
+            }) {
+                flux.emit(f);
+                flux.emit(',');
+            }
+            assertEquals(
+                "0.0,-0.0,1.0,-1.0,0.1,1.0E7,0.001,1.0E-4,1.0E22,1.0E23," +
+                    "9999999.0,1.23456789E8,2.0E-323,4.9E-324,1.7976931348623157E308," +
+                    "NaN,Infinity,-Infinity," +
+                    "0.0,-0.0,1.0,0.1,1.0E7,0.001,1.0E-4,1.0E10," +
+                    "1.4E-45,3.4028235E38,NaN,", flux.toString()
+            );
+        }
+
+        try (Stream flux = new Stream(Flag.EXPONENT_AS_JSON)) {
+            flux.emit(1E7D);
+            flux.emit(',');
+            flux.emit(1.5E-7D);
+            flux.emit(',');
+            flux.emit(123.5D);
+            flux.emit(',');
+            flux.emit(1E10F);
+            assertEquals(
+                "1e7,1.5e-7,123.5,1e10", flux.toString()
+            );
+        }
+
+        Random random = new Random(1);
+        byte[] buf = new byte[32];
+        for (int i = 0; i < 100000; i++) {
+            double d = Double.longBitsToDouble(
+                random.nextLong()
+            );
+            String text = new String(
+                buf, 0, Decimal.write(buf, 0, d, false), UTF_8
+            );
+            if (Double.isNaN(d)) {
+                assertEquals("NaN", text);
+            } else {
+                assertEquals(d, Double.parseDouble(text));
+                assertTrue(text.length() <= Double.toString(d).length());
+            }
+
+            float f = Float.intBitsToFloat(
+                random.nextInt()
+            );
+            text = new String(
+                buf, 0, Decimal.write(buf, 0, f, false), UTF_8
+            );
+            if (Float.isNaN(f)) {
+                assertEquals("NaN", text);
+            } else {
+                assertEquals(f, Float.parseFloat(text));
+                assertTrue(text.length() <= Float.toString(f).length());
+            }
+        }
+    }
+
+    @Test
+    public void test_digits() throws IOException {
+        Random random = new Random(1);
+        byte[] buf = new byte[128];
+        for (int i = 0; i < 100000; i++) {
+            int n = random.nextInt() >> random.nextInt(32);
+            assertEquals(
+                Integer.toString(n), new String(buf, 0, Digits.write(buf, 0, n), UTF_8)
+            );
+            long l = random.nextLong() >> random.nextInt(64);
+            assertEquals(
+                Long.toString(l), new String(buf, 0, Digits.write(buf, 0, l), UTF_8)
+            );
+        }
+
+        for (long l : new long[]{
+            0L, 9L, 10L, 99L, 100L, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            Long.MAX_VALUE, Long.MIN_VALUE, 999999999999999999L, 1000000000000000000L
+        }) {
+            assertEquals(
+                Long.toString(l), new String(buf, 0, Digits.write(buf, 0, l), UTF_8)
+            );
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            BigInteger b = new BigInteger(
+                random.nextInt(300) + 1, random
+            );
+            if (random.nextBoolean()) {
+                b = b.negate();
+            }
+            assertEquals(
+                b.toString(), new String(buf, 0, Digits.write(buf, 0, b), UTF_8)
+            );
+
+            BigDecimal d = new BigDecimal(
+                b, random.nextInt(60) - 20
+            );
+            assertEquals(
+                d.toString(), new String(buf, 0, Digits.write(buf, 0, d), UTF_8)
+            );
+        }
+
+        for (BigInteger b : new BigInteger[]{
+            BigInteger.valueOf(Long.MIN_VALUE),
+            BigInteger.valueOf(Long.MAX_VALUE),
+            BigInteger.valueOf(Long.MIN_VALUE + 1)
+        }) {
+            for (int scale : new int[]{-30, -3, 0, 2, 30}) {
+                BigDecimal d = new BigDecimal(b, scale);
+                assertEquals(
+                    d.toString(), new String(buf, 0, Digits.write(buf, 0, d), UTF_8)
+                );
+            }
+        }
+
+        try (Stream flux = new Stream()) {
+            flux.emit(new BigDecimal("0.00"));
+            flux.emit(',');
+            flux.emit(new BigDecimal("-1.5E-10"));
+            flux.emit(',');
+            flux.emit(new BigDecimal("12E+3"));
+            flux.emit(',');
+            flux.emit(new BigDecimal("123.4500"));
+            flux.emit(',');
+            flux.emit(new BigInteger("-123456789012345678901234567890"));
+            assertEquals(
+                "0.00,-1.5E-10,1.2E+4,123.4500,-123456789012345678901234567890", flux.toString()
+            );
+        }
+    }
+
+    @Test
+    public void test_bucket() throws InterruptedException {
+        KatBucket bucket = new KatBucket(
+            2, 1024, 8192, 1, 4096 * 3, 0
+        );
+
+        byte[] a = bucket.apply(null, 0, 100);
+        assertEquals(1023, a.length);
+        assertEquals(0, bucket.hits());
+        assertEquals(1, bucket.misses());
+
+        // cached by the thread
+        a[0] = 'k';
+        byte[] b = bucket.apply(a, 1, 3000);
+        assertEquals(4095, b.length);
+        assertEquals('k', b[0]);
+        assertEquals(1023, bucket.retained());
+        assertSame(a, bucket.apply(null, 0, 1000));
+        assertEquals(0, bucket.retained());
+        assertEquals(1, bucket.hits());
+
+        // retained by the stripes
+        assertSame(Uniform.EMPTY_BYTES, bucket.store(b));
+        assertEquals(4095, bucket.retained());
+        assertSame(b, bucket.apply(null, 0, 2048));
+        assertEquals(0, bucket.retained());
+
+        // beyond the ceiling or foreign
+        byte[] c = bucket.apply(null, 0, 20000);
+        assertEquals(32767, c.length);
+        assertSame(c, bucket.store(c));
+        byte[] d = new byte[4096];
+        assertSame(d, bucket.store(d));
+
+        // bounded by the limit
+        byte[][] e = new byte[4][];
+        for (int i = 0; i < 4; i++) {
+            e[i] = new byte[4095];
+        }
+        for (int i = 0; i < 3; i++) {
+            assertSame(Uniform.EMPTY_BYTES, bucket.store(e[i]));
+        }
+        assertSame(e[3], bucket.store(e[3]));
+        assertEquals(4095 * 3, bucket.retained());
+
+        // unused since the last trim
+        bucket.trim();
+        assertEquals(4095 * 3, bucket.retained());
+        bucket.trim();
+        assertEquals(0, bucket.retained());
+
+        // cached by a terminated thread
+        Thread thread = new Thread(
+            () -> bucket.store(new byte[1023])
+        );
+        thread.start();
+        thread.join();
+        assertEquals(1023, bucket.retained());
+
+        thread = null;
+        for (int i = 0; i < 50 && bucket.retained() != 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+            bucket.trim();
+        }
+        assertEquals(0, bucket.retained());
+    }
+
+    @Test
+    public void test_buffer() throws InterruptedException {
+        KatBuffer<Object> buffer = new KatBuffer<>(4);
+        Object[] beans = new Object[5];
+        for (int i = 0; i < 5; i++) {
+            assertTrue(buffer.resume(beans[i] = new Object()));
+        }
+        assertFalse(buffer.resume(new Object()));
+
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    Object bean = buffer.borrow();
+                    if (bean != null &&
+                        !buffer.resume(bean)) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, errors.get());
+
+        Set<Object> set = Collections.newSetFromMap(
+            new IdentityHashMap<>()
+        );
+        Object bean;
+        while ((bean = buffer.borrow()) != null) {
+            assertTrue(set.add(bean));
+        }
+        assertEquals(5, set.size());
+    }
 }
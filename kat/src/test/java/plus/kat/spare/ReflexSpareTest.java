@@ -241,6 +241,163 @@ public class ReflexSpareTest {
         }
     }
 
+    static class Cell {
+        @Magic("id")
+        private long id;
+        @Magic("ratio")
+        private double ratio;
+        private boolean flag;
+
+        @Magic("flag")
+        public boolean isFlag() {
+            return flag;
+        }
+
+        @Magic("flag")
+        private void setFlag(
+            boolean flag
+        ) {
+            this.flag = flag;
+        }
+    }
+
+    @Test
+    public void test_handle_caller() throws IOException {
+        Spare<Cell> spare =
+            spare(Cell.class);
+
+        Cell cell = spare.read(
+            Flow.of("{id=6,ratio=0.5,flag=true}")
+        );
+
+        assertNotNull(cell);
+        assertEquals(6L, cell.id);
+        assertEquals(0.5D, cell.ratio);
+        assertTrue(cell.flag);
+
+        try (Chan chan = spare.write(cell)) {
+            assertEquals("{id=6,ratio=0.5,flag=true}", chan.toString());
+        }
+
+        Subject<Cell> subject =
+            (Subject<Cell>) spare;
+
+        assertTrue(
+            subject.set("id").accept(cell, 9L)
+        );
+        assertEquals(9L, subject.get("id").apply(cell));
+        assertTrue(
+            subject.set("flag").accept(cell, false)
+        );
+        assertEquals(false, subject.get("flag").apply(cell));
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> subject.set("id").accept(cell, "kat")
+        );
+        assertThrows(
+            IllegalStateException.class,
+            () -> subject.set("flag").accept(cell, 1)
+        );
+    }
+
+    @Test
+    public void test_primitive_segment() throws IOException {
+        Spare<Cell> spare =
+            spare(Cell.class);
+
+        Cell cell = spare.read(
+            Flow.of("{id=null,ratio=1.25,flag=true}")
+        );
+
+        assertNotNull(cell);
+        assertEquals(0L, cell.id);
+        assertEquals(1.25D, cell.ratio);
+        assertTrue(cell.flag);
+
+        // quoted values are handed over as views
+        Cell view = spare.read(
+            Flow.of("{id=\"9\",ratio=\"0.5\",flag=\"true\"}")
+        );
+
+        assertNotNull(view);
+        assertEquals(9L, view.id);
+        assertEquals(0.5D, view.ratio);
+        assertTrue(view.flag);
+
+        Subject<Cell> subject =
+            (Subject<Cell>) spare;
+
+        assertTrue(
+            subject.set("id").acceptLong(cell, 7L)
+        );
+        assertEquals(7L, subject.get("id").applyLong(cell));
+        assertTrue(
+            subject.set("ratio").acceptDouble(cell, 0.75D)
+        );
+        assertEquals(0.75D, subject.get("ratio").applyDouble(cell));
+        assertTrue(
+            subject.set("flag").acceptBoolean(cell, false)
+        );
+        assertFalse(subject.get("flag").applyBoolean(cell));
+        assertEquals(7, subject.get("id").applyInt(cell));
+
+        assertTrue(
+            subject.set("id").acceptInt(cell, 3)
+        );
+        assertEquals(3L, cell.id);
+        assertThrows(
+            IllegalStateException.class,
+            () -> subject.set("ratio").acceptBoolean(cell, true)
+        );
+        assertThrows(
+            IllegalStateException.class,
+            () -> subject.get("flag").applyLong(cell)
+        );
+    }
+
+    static class Base {
+        public String tag = "base";
+    }
+
+    static class Node extends Base {
+        @Magic("id")
+        private long id = 1;
+        @Magic("rate")
+        private float rate = 0.5F;
+        private char code = 'k';
+
+        @Magic("code")
+        private char getCode() {
+            return code;
+        }
+    }
+
+    @Test
+    public void test_write() throws IOException {
+        SimpleSpare<Cell> spare =
+            (SimpleSpare<Cell>) spare(Cell.class);
+
+        Cell cell = new Cell();
+        cell.id = 3;
+        cell.flag = true;
+        try (Chan chan = spare.write(cell)) {
+            assertEquals("{id=3,ratio=0.0,flag=true}", chan.toString());
+        }
+        try (Chan chan = spare.serial(cell)) {
+            assertEquals("{\"id\":3,\"ratio\":0.0,\"flag\":true}", chan.toString());
+        }
+        try (Chan chan = spare.mark(cell)) {
+            assertEquals("<plus.kat.spare.ReflexSpareTest$Cell><id>3</id><ratio>0.0</ratio><flag>true</flag></plus.kat.spare.ReflexSpareTest$Cell>", chan.toString());
+        }
+
+        SimpleSpare<Node> node =
+            (SimpleSpare<Node>) spare(Node.class);
+        try (Chan chan = node.write(new Node())) {
+            assertEquals("{tag=\"base\",id=1,rate=0.5,code=\"k\"}", chan.toString());
+        }
+    }
+
     @Test
     public void test_with_multi_args() throws IOException {
         Spare<Model> spare =
@@ -263,6 +420,36 @@ public class ReflexSpareTest {
         }
     }
 
+    @Test
+    public void test_recycle_factory() throws IOException {
+        try (Parser op = new Parser()) {
+            op.setSpare(
+                Supplier.ins().assign(Model[].class)
+            );
+
+            for (int i = 0; i < 2; i++) {
+                Model[] models = op.solve(
+                    Algo.KAT, Flow.of(
+                        "[{id=1,name=kat,tag=a},{id=2},{id=3,name=plus}]"
+                    )
+                );
+
+                assertNotNull(models);
+                assertEquals(3, models.length);
+                assertNotSame(models[0], models[1]);
+                assertEquals(1, models[0].id);
+                assertEquals("kat", models[0].name);
+                assertEquals("a", models[0].tag);
+                assertEquals(2, models[1].id);
+                assertNull(models[1].name);
+                assertNull(models[1].tag);
+                assertEquals(3, models[2].id);
+                assertEquals("plus", models[2].name);
+                assertTrue(op.count > 0);
+            }
+        }
+    }
+
     static class A {
         public B b;
         public C c;
@@ -7,8 +7,9 @@ import plus.kat.Flow;
 
 import plus.kat.actor.*;
 import plus.kat.chain.*;
+import plus.kat.core.*;
 
-import java.io.IOException;
+import java.io.*;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.*;
@@ -522,6 +523,187 @@ public class SupplierTest {
         assertEquals("kraity", map.get("name"));
     }
 
+    @Test
+    public void test_iterate() throws IOException {
+        Supplier context = Supplier.ins();
+
+        HashMap<Algo, String> data = new HashMap<>();
+        data.put(
+            KAT, "User[{id=0,name=kraity},#note#{id=1,name=\"k]a,t\"}, {id=2,name=kraity}]"
+        );
+        data.put(
+            DOC, "<?xml version=\"1.0\"?><data><!-- <user> --><user><id>0</id><name>kraity</name></user><user><id>1</id><name>k]a,t</name></user>\n<user><id>2</id><name>kraity</name><tag></tag></user></data>"
+        );
+        data.put(
+            JSON, "[{\"id\":0,\"name\":\"kraity\"} , {\"id\":1,\"name\":\"k]a,t\",\"tags\":[[],{}]},\n{\"id\":2,\"name\":\"kraity\"}]"
+        );
+
+        for (Map.Entry<Algo, String> entry : data.entrySet()) {
+            String text = entry.getValue();
+            try (Streamer<User> it = context.iterate(
+                entry.getKey(), User.class, Flow.of(
+                    new ByteArrayInputStream(text.getBytes(UTF_8))
+                )
+            )) {
+                for (int i = 0; i < 3; i++) {
+                    assertTrue(it.hasNext(), text);
+                    User user = it.next();
+                    assertNotNull(user, text);
+                    assertEquals(i, user.id, text);
+                    assertEquals(i == 1 ? "k]a,t" : "kraity", user.name, text);
+                }
+                assertFalse(it.hasNext(), text);
+                assertThrows(NoSuchElementException.class, it::next);
+            }
+        }
+
+        try (Streamer<Integer> it = context.iterate(
+            JSON, Integer.class, Flow.of("[]")
+        )) {
+            assertFalse(it.hasNext());
+        }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 10000; i++) {
+            if (i != 0) sb.append(',');
+            sb.append(i);
+        }
+        sb.append(']');
+
+        Spare<Integer> spare = context.assign(Integer.class);
+        try (java.util.stream.Stream<Integer> stream = spare.stream(
+            JSON, Flow.of(new StringReader(sb.toString()))
+        )) {
+            assertEquals(49995000L, stream.mapToLong(i -> i).sum());
+        }
+
+        assertThrows(UncheckedIOException.class, () -> context.iterate(
+            JSON, User.class, Flow.of("{\"id\":1}")
+        ).hasNext());
+    }
+
+    @Test
+    public void test_lines() throws IOException {
+        Supplier context = Supplier.ins();
+
+        int size = 20000;
+        StringBuilder json = new StringBuilder();
+        StringBuilder kat = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            json.append("{\"id\":").append(i)
+                .append(",\"name\":\"kraity\"}")
+                .append(i % 3 == 0 ? "\r\n" : "\n");
+            kat.append("{id=").append(i)
+                .append(",name=kraity}\n");
+            if (i % 100 == 0) {
+                json.append("\n  \n");
+            }
+        }
+
+        byte[] text = json.toString().getBytes(UTF_8);
+        List<User> users = context.<User>lines(
+            JSON, User.class, Lines.of(text), true
+        ).collect(java.util.stream.Collectors.toList());
+
+        assertEquals(size, users.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, users.get(i).id);
+            assertEquals("kraity", users.get(i).name);
+        }
+
+        assertEquals(
+            (long) size * (size - 1) / 2,
+            context.<User>lines(
+                KAT, User.class, Lines.of(kat.toString().getBytes(UTF_8)), false
+            ).mapToLong(u -> u.id).sum()
+        );
+
+        File file = File.createTempFile("kat", ".ndjson");
+        try {
+            try (OutputStream out = new FileOutputStream(file)) {
+                out.write(text);
+            }
+            Spare<User> spare = context.assign(User.class);
+            assertEquals(
+                (long) size * (size - 1) / 2,
+                spare.lines(
+                    JSON, Lines.of(file.toPath()), false
+                ).mapToLong(u -> u.id).sum()
+            );
+        } finally {
+            file.delete();
+        }
+
+        assertThrows(UncheckedIOException.class, () -> context.lines(
+            JSON, User.class, Lines.of("{\"id\":1}\n{\"id\"".getBytes(UTF_8)), true
+        ).count());
+    }
+
+    @Test
+    public void test_select() throws IOException {
+        Supplier context = Supplier.ins();
+
+        HashMap<Algo, String> data = new HashMap<>();
+        data.put(
+            KAT, "{order={id=7,note={skip=[1,2,{deep=3}]},items=[{sku=a1,qty=1},{sku=b2,qty=2}],owner={name=kraity}}}"
+        );
+        data.put(
+            JSON, "{\"order\":{\"id\":7,\"note\":{\"skip\":[1,2,{\"deep\":3}]},\"items\":[{\"sku\":\"a1\",\"qty\":1},{\"sku\":\"b2\",\"qty\":2}],\"owner\":{\"name\":\"kraity\"}}}"
+        );
+
+        for (Map.Entry<Algo, String> entry : data.entrySet()) {
+            Map<String, Object> result = context.select(
+                entry.getKey(), Flow.of(
+                    entry.getValue()
+                ),
+                "$.order.items[*].sku",
+                "$.order.id",
+                "$.order.items[1]",
+                "$['order'].owner",
+                "$.order.owner.name",
+                "$.order.missing"
+            );
+
+            String text = entry.getValue();
+            assertEquals(7, ((Number) result.get("$.order.id")).intValue(), text);
+            assertEquals(Arrays.asList("a1", "b2"), result.get("$.order.items[*].sku"), text);
+            assertEquals("b2", ((Map<String, Object>) result.get("$.order.items[1]")).get("sku"), text);
+            assertEquals("kraity", ((Map<String, Object>) result.get("$['order'].owner")).get("name"), text);
+            assertEquals("kraity", result.get("$.order.owner.name"), text);
+            assertFalse(result.containsKey("$.order.missing"), text);
+        }
+
+        Map<String, Object> result = context.select(
+            JSON, Flow.of(
+                "[{\"id\":1},{\"id\":2},{\"id\":3}]"
+            ), "$[*].id", "$[2]", "$"
+        );
+        assertEquals(Arrays.asList(1, 2, 3), result.get("$[*].id"));
+        assertEquals(3, ((Map<String, Object>) result.get("$[2]")).get("id"));
+        assertEquals(3, ((List<Object>) result.get("$")).size());
+
+        // pooled selectors are reloaded with the new paths
+        for (int i = 0; i < 4; i++) {
+            String path = i % 2 == 0 ? "$.a.b.c" : "$.a";
+            try (Selector op = Selector.apply(path)) {
+                op.setContext(context);
+                result = op.select(
+                    JSON, Flow.of("{\"a\":{\"b\":{\"c\":" + i + "}}}")
+                );
+            }
+            assertEquals(1, result.size());
+            if (i % 2 == 0) {
+                assertEquals(i, result.get(path));
+            } else {
+                assertTrue(result.get(path) instanceof Map);
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> context.select(JSON, Flow.of("{}"), "order.id"));
+        assertThrows(IllegalArgumentException.class, () -> context.select(JSON, Flow.of("{}"), "$.order["));
+        assertThrows(IllegalArgumentException.class, () -> context.select(JSON, Flow.of("{}"), "$.order[x]"));
+    }
+
     @Magus("plus.kat.supplier.UserVO")
     static class UserVO extends User {
         public boolean blocked;